@@ -0,0 +1,17 @@
+// CurrentUser.java
+package com.autoprime.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a JwtPrincipal handler parameter to the authenticated caller.
+ * Resolves to null on anonymous requests, which the security rules keep
+ * away from handlers that need a caller.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
@@ -1,17 +1,25 @@
 package com.autoprime.config;
 
+import com.autoprime.util.JwtFilter;
+import com.autoprime.util.JwtVerifier;
+import com.autoprime.util.RateLimitFilter;
+import com.autoprime.util.RateLimiter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -19,10 +27,11 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private RateLimiter rateLimiter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -31,21 +40,51 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Not a bean, so Boot does not also register it as a plain servlet filter
+            .addFilterBefore(new JwtFilter(jwtVerifier), UsernamePasswordAuthenticationFilter.class)
+            // After JwtFilter, so signed-in callers are counted per user
+            .addFilterAfter(new RateLimitFilter(rateLimiter), JwtFilter.class)
+            .exceptionHandling(handling -> handling
+                .authenticationEntryPoint((request, response, e) -> {
+                    Object reason = request.getAttribute(JwtFilter.ERROR_ATTRIBUTE);
+                    writeError(response, HttpServletResponse.SC_UNAUTHORIZED,
+                            reason != null ? reason.toString() : "Authentication required");
+                })
+                .accessDeniedHandler((request, response, e) ->
+                    writeError(response, HttpServletResponse.SC_FORBIDDEN, "Access denied")))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/api/cars/**").permitAll()
-                .requestMatchers("/api/bookings/**").permitAll()
-                .requestMatchers("/api/payments/**").permitAll()
-                .requestMatchers("/api/contact/**").permitAll()
-                .requestMatchers("/api/reviews/**").permitAll()
-                .requestMatchers("/api/wishlist/**").permitAll()
-                .requestMatchers("/api/users/**").permitAll() // Temporarily permit all for testing
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers("/error", "/actuator/health/**").permitAll()
+                .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh").permitAll()
+                // The refresh token alone ends a session whose access token has expired
+                .requestMatchers(HttpMethod.POST, "/api/auth/logout").permitAll()
+                .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
+                .requestMatchers("/api/host/**").hasAnyRole("HOST", "ADMIN")
+                // Browsing the catalog, reviews and quotes needs no account
+                .requestMatchers(HttpMethod.GET, "/api/cars/**", "/api/reviews/**").permitAll()
+                .requestMatchers("/api/pricing/**").permitAll()
+                // Only on their own cars; CarController checks the owner
+                .requestMatchers("/api/cars/**").hasAnyRole("HOST", "ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/contact").permitAll()
+                .requestMatchers("/api/contact/**").hasRole("ADMIN")
+                // Listings across every user
+                .requestMatchers(HttpMethod.GET, "/api/users", "/api/bookings", "/api/bookings/status/**",
+                        "/api/payments", "/api/payments/status/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PATCH, "/api/payments/*/status").hasRole("ADMIN")
+                // Bookings, payments, wishlists and users by id: the controllers load the
+                // resource and require its owner or an admin
                 .anyRequest().authenticated()
             );
 
         return http.build();
     }
 
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -4,10 +4,22 @@
 package com.autoprime.controller;
 
 import com.autoprime.service.AdminService;
+import com.autoprime.service.AvailabilityIndex;
+import com.autoprime.service.CarCache;
+import com.autoprime.service.CarStats;
+import com.autoprime.service.DashboardMetrics;
+import com.autoprime.service.ReportService;
+import com.autoprime.service.RevenueCube;
+import com.autoprime.util.ReportFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 @RestController
@@ -18,6 +30,24 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
     
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+    
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+    
+    @Autowired
+    private ReportService reportService;
+    
+    @Autowired
+    private RevenueCube revenueCube;
+    
+    @Autowired
+    private CarCache carCache;
+    
+    @Autowired
+    private CarStats carStats;
+    
     @GetMapping("/dashboard")
     public ResponseEntity<?> getAdminDashboard() {
         try {
@@ -29,14 +59,95 @@ public class AdminController {
         }
     }
     
+    @PostMapping("/dashboard/rebuild")
+    public ResponseEntity<?> rebuildDashboard() {
+        dashboardMetrics.rebuild();
+        return ResponseEntity.ok(adminService.getAdminDashboard());
+    }
+    
     @GetMapping("/reports/{reportType}")
-    public ResponseEntity<?> getReports(@PathVariable String reportType) {
+    public ResponseEntity<?> getReports(
+            @PathVariable String reportType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            Map<String, Object> report = adminService.getReports(reportType);
+            Map<String, Object> report = adminService.getReports(reportType, page, size);
             return ResponseEntity.ok(report);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage()));
         }
     }
+    
+    /**
+     * Download a whole report as CSV or NDJSON, streamed as it is read
+     */
+    @GetMapping("/reports/{reportType}/export")
+    public ResponseEntity<StreamingResponseBody> exportReport(
+            @PathVariable String reportType,
+            @RequestParam(defaultValue = "csv") String format) {
+        String type = reportService.checkReportType(reportType);
+        ReportFormat reportFormat = ReportFormat.parse(format);
+        String filename = type.toLowerCase() + "-report." + reportFormat.getExtension();
+        
+        StreamingResponseBody body = out -> reportService.export(type, reportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(reportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Revenue by day, week or month, optionally grouped by host, location and type
+     */
+    @GetMapping("/analytics/revenue")
+    public ResponseEntity<?> getRevenueAnalytics(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(adminService.getRevenueAnalytics(groupBy, granularity, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/analytics/revenue/rebuild")
+    public ResponseEntity<?> rebuildRevenueAnalytics() {
+        revenueCube.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Revenue cube rebuilt"));
+    }
+    
+    @GetMapping("/cache/cars")
+    public ResponseEntity<?> getCarCacheStatistics() {
+        return ResponseEntity.ok(carCache.statistics());
+    }
+    
+    @PostMapping("/cache/cars/evict")
+    public ResponseEntity<?> evictCarCache() {
+        carCache.evictAll();
+        return ResponseEntity.ok(carCache.statistics());
+    }
+    
+    /**
+     * Recompute every car's rating and trip count from reviews and bookings
+     */
+    @PostMapping("/cars/stats/recompute")
+    public ResponseEntity<?> recomputeCarStats() {
+        int cars = carStats.recompute();
+        return ResponseEntity.ok(Map.of("message", "Car stats recomputed", "cars", cars));
+    }
+    
+    @GetMapping("/availability-index/verify")
+    public ResponseEntity<?> verifyAvailabilityIndex() {
+        return ResponseEntity.ok(availabilityIndex.verify());
+    }
+    
+    @PostMapping("/availability-index/rebuild")
+    public ResponseEntity<?> rebuildAvailabilityIndex() {
+        availabilityIndex.warm();
+        return ResponseEntity.ok(availabilityIndex.verify());
+    }
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.autoprime.controller;
 
+import com.autoprime.config.CurrentUser;
 import com.autoprime.dto.*;
+import com.autoprime.exception.TooManyRequestsException;
 import com.autoprime.service.AuthService;
+import com.autoprime.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +26,10 @@ public class AuthController {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage()));
@@ -32,9 +41,69 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage()));
         }
     }
+    
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        try {
+            AuthResponse response = authService.refresh(request.getRefreshToken());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Revoke the caller's access token and, if sent, their refresh token.
+     * Open to anonymous callers, who must then send the refresh token.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@CurrentUser JwtPrincipal user,
+                                    @RequestBody(required = false) RefreshRequest request) {
+        String refreshToken = request == null ? null : request.getRefreshToken();
+        if (user == null && (refreshToken == null || refreshToken.isBlank())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Authentication required"));
+        }
+        authService.logout(user, refreshToken);
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+    
+    @PostMapping("/change-password")
+    public ResponseEntity<?> changePassword(@CurrentUser JwtPrincipal user,
+                                            @RequestBody ChangePasswordRequest request) {
+        try {
+            AuthResponse response = authService.changePassword(user, request);
+            return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * The caller as the token describes them, without a database lookup
+     */
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@CurrentUser JwtPrincipal user) {
+        return ResponseEntity.ok(Map.of(
+            "id", user.userId(),
+            "email", user.email(),
+            "role", user.role(),
+            "expiresAt", user.expiresAt().toString()
+        ));
+    }
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.autoprime.controller;
 
+import com.autoprime.config.CurrentUser;
 import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
 import com.autoprime.service.BookingService;
+import com.autoprime.service.CarService;
+import com.autoprime.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,15 +22,29 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
     
+    @Autowired
+    private CarService carService;
+    
     @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<?> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookingService.getAllBookings(cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<?> getBookingById(@PathVariable Long id) {
+    public ResponseEntity<?> getBookingById(@PathVariable Long id, @CurrentUser JwtPrincipal user) {
         try {
             Booking booking = bookingService.getBookingById(id);
+            if (!user.canActFor(booking.getUser().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             return ResponseEntity.ok(booking);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -34,7 +53,11 @@ public class BookingController {
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getBookingsByUser(@PathVariable Long userId) {
+    public ResponseEntity<?> getBookingsByUser(@PathVariable Long userId, @CurrentUser JwtPrincipal user) {
+        if (!user.canActFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
             List<Booking> bookings = bookingService.getBookingsByUser(userId);
             return ResponseEntity.ok(bookings);
@@ -45,8 +68,13 @@ public class BookingController {
     }
     
     @GetMapping("/car/{carId}")
-    public ResponseEntity<?> getBookingsByCar(@PathVariable Long carId) {
+    public ResponseEntity<?> getBookingsByCar(@PathVariable Long carId, @CurrentUser JwtPrincipal user) {
         try {
+            // The car's host sees who booked it
+            if (!user.canActFor(carService.getCarById(carId).getOwner().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             List<Booking> bookings = bookingService.getBookingsByCar(carId);
             return ResponseEntity.ok(bookings);
         } catch (RuntimeException e) {
@@ -57,16 +85,25 @@ public class BookingController {
     
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(bookingService.getBookingsByStatus(status));
+        return ResponseEntity.ok(bookingService.getBookingsByStatus(BookingStatus.parse(status)));
     }
     
+    /**
+     * Book for the caller; admins may book on behalf of another user
+     */
     @PostMapping
     public ResponseEntity<?> createBooking(
             @RequestBody Booking booking,
-            @RequestParam Long userId,
-            @RequestParam Long carId) {
+            @RequestParam(required = false) Long userId,
+            @RequestParam Long carId,
+            @CurrentUser JwtPrincipal user) {
+        Long bookerId = userId != null ? userId : user.userId();
+        if (!user.canActFor(bookerId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
-            Booking savedBooking = bookingService.createBooking(booking, userId, carId);
+            Booking savedBooking = bookingService.createBooking(booking, bookerId, carId);
             return ResponseEntity.ok(savedBooking);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -74,12 +111,22 @@ public class BookingController {
         }
     }
     
+    /**
+     * Admins set any status; a customer may only cancel their own booking
+     */
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateBookingStatus(
             @PathVariable Long id,
-            @RequestParam String status) {
+            @RequestParam String status,
+            @CurrentUser JwtPrincipal user) {
         try {
-            Booking booking = bookingService.updateBookingStatus(id, status);
+            BookingStatus newStatus = BookingStatus.parse(status);
+            if (!user.isAdmin() && (newStatus != BookingStatus.CANCELLED
+                    || !user.canActFor(bookingService.getBookingById(id).getUser().getId()))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
+            Booking booking = bookingService.updateBookingStatus(id, newStatus);
             return ResponseEntity.ok(booking);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -88,8 +135,12 @@ public class BookingController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteBooking(@PathVariable Long id) {
+    public ResponseEntity<?> deleteBooking(@PathVariable Long id, @CurrentUser JwtPrincipal user) {
         try {
+            if (!user.canActFor(bookingService.getBookingById(id).getUser().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             bookingService.deleteBooking(id);
             return ResponseEntity.ok(Map.of("message", "Booking deleted successfully"));
         } catch (RuntimeException e) {
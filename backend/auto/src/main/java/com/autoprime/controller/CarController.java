@@ -1,11 +1,18 @@
 package com.autoprime.controller;
 
+import com.autoprime.config.CurrentUser;
 import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
+import com.autoprime.service.CarFilter;
 import com.autoprime.service.CarService;
+import com.autoprime.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -18,8 +25,30 @@ public class CarController {
     private CarService carService;
     
     @GetMapping
-    public ResponseEntity<List<Car>> getAllCars() {
-        return ResponseEntity.ok(carService.getAllCars());
+    public ResponseEntity<?> getAllCars(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(carService.getAllCars(cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Paged catalog for list views, with only the first image of each car
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getCarSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(carService.getCarSummaries(page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
     
     @GetMapping("/available")
@@ -27,6 +56,43 @@ public class CarController {
         return ResponseEntity.ok(carService.getAvailableCars());
     }
     
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailableCarsForDates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(carService.getAvailableCars(from, to, type, location, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Bookable cars within radiusKm of a pickup point, nearest first,
+     * optionally only those free for the whole of [from, to]
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyCars(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(carService.getNearbyCars(lat, lon, radiusKm, from, to, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<?> getCarById(@PathVariable Long id) {
         try {
@@ -48,6 +114,50 @@ public class CarController {
         return ResponseEntity.ok(carService.searchCars(name));
     }
     
+    /**
+     * Ranked, typo-tolerant search with facet counts by type, fuel, seats and price
+     */
+    @GetMapping("/search/ranked")
+    public ResponseEntity<?> searchCatalog(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(carService.searchCatalog(q, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Any combination of attribute filters, e.g.
+     * ?type=SUV,MPV&location=Chennai&maxPrice=3000&minSeats=7&sort=rating
+     */
+    @GetMapping("/query")
+    public ResponseEntity<?> queryCars(
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) List<String> location,
+            @RequestParam(required = false) List<String> fuel,
+            @RequestParam(required = false) List<String> transmission,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minSeats,
+            @RequestParam(required = false) Integer maxSeats,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CarFilter.Query filters = new CarFilter.Query(type, location, fuel, transmission,
+                    minPrice, maxPrice, minSeats, maxSeats);
+            return ResponseEntity.ok(carService.queryCars(filters, sort, direction, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/price-range")
     public ResponseEntity<List<Car>> getCarsByPriceRange(
             @RequestParam Double minPrice,
@@ -71,10 +181,21 @@ public class CarController {
         }
     }
     
+    /**
+     * List a car owned by the caller; admins may list one for another host
+     */
     @PostMapping
-    public ResponseEntity<?> addCar(@RequestBody Car car, @RequestParam Long ownerId) {
+    public ResponseEntity<?> addCar(
+            @RequestBody Car car,
+            @RequestParam(required = false) Long ownerId,
+            @CurrentUser JwtPrincipal user) {
+        Long hostId = ownerId != null ? ownerId : user.userId();
+        if (!user.canActFor(hostId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
-            Car savedCar = carService.addCar(car, ownerId);
+            Car savedCar = carService.addCar(car, hostId);
             return ResponseEntity.ok(savedCar);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -83,8 +204,12 @@ public class CarController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCar(@PathVariable Long id, @RequestBody Car car) {
+    public ResponseEntity<?> updateCar(@PathVariable Long id, @RequestBody Car car, @CurrentUser JwtPrincipal user) {
         try {
+            if (!user.canActFor(carService.getCarById(id).getOwner().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             Car updatedCar = carService.updateCar(id, car);
             return ResponseEntity.ok(updatedCar);
         } catch (RuntimeException e) {
@@ -96,9 +221,14 @@ public class CarController {
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateCarStatus(
             @PathVariable Long id,
-            @RequestParam String status) {
+            @RequestParam String status,
+            @CurrentUser JwtPrincipal user) {
         try {
-            Car car = carService.updateCarStatus(id, status);
+            if (!user.canActFor(carService.getCarById(id).getOwner().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
+            Car car = carService.updateCarStatus(id, CarStatus.parse(status));
             return ResponseEntity.ok(car);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -107,8 +237,12 @@ public class CarController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCar(@PathVariable Long id) {
+    public ResponseEntity<?> deleteCar(@PathVariable Long id, @CurrentUser JwtPrincipal user) {
         try {
+            if (!user.canActFor(carService.getCarById(id).getOwner().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             carService.deleteCar(id);
             return ResponseEntity.ok(Map.of("message", "Car deleted successfully"));
         } catch (RuntimeException e) {
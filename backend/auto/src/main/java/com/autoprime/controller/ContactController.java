@@ -31,8 +31,15 @@ public class ContactController {
     }
     
     @GetMapping
-    public ResponseEntity<?> getAllMessages() {
-        return ResponseEntity.ok(contactService.getAllMessages());
+    public ResponseEntity<?> getAllMessages(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(contactService.getAllMessages(cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
     
     @GetMapping("/status/{status}")
@@ -1,8 +1,11 @@
 // HostController.java
 package com.autoprime.controller;
 
+import com.autoprime.config.CurrentUser;
 import com.autoprime.service.HostService;
+import com.autoprime.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,7 +20,11 @@ public class HostController {
     private HostService hostService;
     
     @GetMapping("/dashboard/{hostId}")
-    public ResponseEntity<?> getHostDashboard(@PathVariable Long hostId) {
+    public ResponseEntity<?> getHostDashboard(@PathVariable Long hostId, @CurrentUser JwtPrincipal user) {
+        if (!user.canActFor(hostId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
             Map<String, Object> dashboard = hostService.getHostDashboard(hostId);
             return ResponseEntity.ok(dashboard);
@@ -28,7 +35,11 @@ public class HostController {
     }
     
     @GetMapping("/{hostId}/cars")
-    public ResponseEntity<?> getHostCars(@PathVariable Long hostId) {
+    public ResponseEntity<?> getHostCars(@PathVariable Long hostId, @CurrentUser JwtPrincipal user) {
+        if (!user.canActFor(hostId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
             return ResponseEntity.ok(hostService.getHostCars(hostId));
         } catch (RuntimeException e) {
@@ -38,7 +49,11 @@ public class HostController {
     }
     
     @GetMapping("/{hostId}/bookings")
-    public ResponseEntity<?> getHostBookings(@PathVariable Long hostId) {
+    public ResponseEntity<?> getHostBookings(@PathVariable Long hostId, @CurrentUser JwtPrincipal user) {
+        if (!user.canActFor(hostId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
             return ResponseEntity.ok(hostService.getHostBookings(hostId));
         } catch (RuntimeException e) {
@@ -1,8 +1,13 @@
 package com.autoprime.controller;
 
+import com.autoprime.config.CurrentUser;
 import com.autoprime.model.Payment;
+import com.autoprime.model.PaymentStatus;
+import com.autoprime.service.BookingService;
 import com.autoprime.service.PaymentService;
+import com.autoprime.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,15 +22,29 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
     
+    @Autowired
+    private BookingService bookingService;
+    
     @GetMapping
-    public ResponseEntity<List<Payment>> getAllPayments() {
-        return ResponseEntity.ok(paymentService.getAllPayments());
+    public ResponseEntity<?> getAllPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(paymentService.getAllPayments(cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<?> getPaymentById(@PathVariable Long id) {
+    public ResponseEntity<?> getPaymentById(@PathVariable Long id, @CurrentUser JwtPrincipal user) {
         try {
             Payment payment = paymentService.getPaymentById(id);
+            if (!user.canActFor(payment.getBooking().getUser().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             return ResponseEntity.ok(payment);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -34,8 +53,12 @@ public class PaymentController {
     }
     
     @GetMapping("/booking/{bookingId}")
-    public ResponseEntity<?> getPaymentByBooking(@PathVariable Long bookingId) {
+    public ResponseEntity<?> getPaymentByBooking(@PathVariable Long bookingId, @CurrentUser JwtPrincipal user) {
         try {
+            if (!user.canActFor(bookingService.getBookingById(bookingId).getUser().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             Payment payment = paymentService.getPaymentByBooking(bookingId);
             return ResponseEntity.ok(payment);
         } catch (RuntimeException e) {
@@ -46,14 +69,19 @@ public class PaymentController {
     
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Payment>> getPaymentsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(paymentService.getPaymentsByStatus(status));
+        return ResponseEntity.ok(paymentService.getPaymentsByStatus(PaymentStatus.parse(status)));
     }
     
     @PostMapping
     public ResponseEntity<?> createPayment(
             @RequestParam Long bookingId,
-            @RequestParam String paymentMethod) {
+            @RequestParam String paymentMethod,
+            @CurrentUser JwtPrincipal user) {
         try {
+            if (!user.canActFor(bookingService.getBookingById(bookingId).getUser().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             Payment payment = paymentService.createPayment(bookingId, paymentMethod);
             return ResponseEntity.ok(payment);
         } catch (RuntimeException e) {
@@ -63,8 +91,12 @@ public class PaymentController {
     }
     
     @PostMapping("/{id}/process")
-    public ResponseEntity<?> processPayment(@PathVariable Long id) {
+    public ResponseEntity<?> processPayment(@PathVariable Long id, @CurrentUser JwtPrincipal user) {
         try {
+            if (!user.canActFor(paymentService.getPaymentById(id).getBooking().getUser().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             Payment payment = paymentService.processPayment(id);
             return ResponseEntity.ok(Map.of(
                 "message", "Payment processed successfully",
@@ -81,7 +113,7 @@ public class PaymentController {
             @PathVariable Long id,
             @RequestParam String status) {
         try {
-            Payment payment = paymentService.updatePaymentStatus(id, status);
+            Payment payment = paymentService.updatePaymentStatus(id, PaymentStatus.parse(status));
             return ResponseEntity.ok(payment);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -0,0 +1,29 @@
+// PricingController.java
+package com.autoprime.controller;
+
+import com.autoprime.dto.QuoteRequest;
+import com.autoprime.service.PricingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/pricing")
+@CrossOrigin(origins = "*")
+public class PricingController {
+    
+    @Autowired
+    private PricingService pricingService;
+    
+    @PostMapping("/quotes")
+    public ResponseEntity<?> getQuotes(@RequestBody QuoteRequest request) {
+        try {
+            return ResponseEntity.ok(pricingService.quote(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -1,9 +1,12 @@
 // ReviewController.java
 package com.autoprime.controller;
 
+import com.autoprime.config.CurrentUser;
 import com.autoprime.model.Review;
 import com.autoprime.service.ReviewService;
+import com.autoprime.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
@@ -16,6 +19,18 @@ public class ReviewController {
     @Autowired
     private ReviewService reviewService;
     
+    @GetMapping
+    public ResponseEntity<?> getAllReviews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(reviewService.getAllReviews(cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/car/{carId}")
     public ResponseEntity<?> getCarReviews(@PathVariable Long carId) {
         try {
@@ -29,10 +44,16 @@ public class ReviewController {
     @PostMapping
     public ResponseEntity<?> addReview(
             @RequestBody Review review,
-            @RequestParam Long userId,
-            @RequestParam Long carId) {
+            @RequestParam(required = false) Long userId,
+            @RequestParam Long carId,
+            @CurrentUser JwtPrincipal user) {
+        Long authorId = userId != null ? userId : user.userId();
+        if (!user.canActFor(authorId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
-            Review saved = reviewService.addReview(userId, carId, review);
+            Review saved = reviewService.addReview(authorId, carId, review);
             return ResponseEntity.ok(Map.of(
                 "message", "Review added successfully",
                 "review", saved
@@ -1,9 +1,12 @@
 // WishlistController.java
 package com.autoprime.controller;
 
+import com.autoprime.config.CurrentUser;
 import com.autoprime.model.Wishlist;
 import com.autoprime.service.WishlistService;
+import com.autoprime.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
@@ -17,7 +20,11 @@ public class WishlistController {
     private WishlistService wishlistService;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getUserWishlist(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserWishlist(@PathVariable Long userId, @CurrentUser JwtPrincipal user) {
+        if (!user.canActFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
             return ResponseEntity.ok(wishlistService.getUserWishlist(userId));
         } catch (RuntimeException e) {
@@ -28,10 +35,16 @@ public class WishlistController {
     
     @PostMapping
     public ResponseEntity<?> addToWishlist(
-            @RequestParam Long userId,
-            @RequestParam Long carId) {
+            @RequestParam(required = false) Long userId,
+            @RequestParam Long carId,
+            @CurrentUser JwtPrincipal user) {
+        Long ownerId = userId != null ? userId : user.userId();
+        if (!user.canActFor(ownerId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+        }
         try {
-            Wishlist wishlist = wishlistService.addToWishlist(userId, carId);
+            Wishlist wishlist = wishlistService.addToWishlist(ownerId, carId);
             return ResponseEntity.ok(Map.of(
                 "message", "Added to wishlist",
                 "wishlist", wishlist
@@ -43,8 +56,12 @@ public class WishlistController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> removeFromWishlist(@PathVariable Long id) {
+    public ResponseEntity<?> removeFromWishlist(@PathVariable Long id, @CurrentUser JwtPrincipal user) {
         try {
+            if (!user.canActFor(wishlistService.getWishlistById(id).getUser().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Access denied"));
+            }
             wishlistService.removeFromWishlist(id);
             return ResponseEntity.ok(Map.of("message", "Removed from wishlist"));
         } catch (Exception e) {
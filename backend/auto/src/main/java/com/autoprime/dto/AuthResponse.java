@@ -2,6 +2,7 @@ package com.autoprime.dto;
 
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private String message;
     private UserDTO user;
 
@@ -14,10 +15,20 @@ public class AuthResponse {
         this.user = user;
     }
 
+    public AuthResponse(String token, String refreshToken, String message, UserDTO user) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.message = message;
+        this.user = user;
+    }
+
     // Getters and Setters
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
 
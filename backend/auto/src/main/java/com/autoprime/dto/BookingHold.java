@@ -0,0 +1,10 @@
+// BookingHold.java
+package com.autoprime.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an unpaid booking and when its hold runs out.
+ */
+public record BookingHold(Long bookingId, LocalDateTime holdExpiresAt) {
+}
@@ -0,0 +1,11 @@
+// BookingInterval.java
+package com.autoprime.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a booking's car and dates, used to warm
+ * in-memory availability structures without loading full entities.
+ */
+public record BookingInterval(Long bookingId, Long carId, LocalDate startDate, LocalDate endDate) {
+}
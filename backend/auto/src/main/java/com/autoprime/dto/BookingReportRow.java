@@ -0,0 +1,29 @@
+// BookingReportRow.java
+package com.autoprime.dto;
+
+import com.autoprime.model.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the bookings report, flattened with the customer and car names.
+ */
+public record BookingReportRow(
+        Long id,
+        Long userId,
+        String userName,
+        Long carId,
+        String carName,
+        LocalDate startDate,
+        LocalDate endDate,
+        Integer days,
+        Double subtotal,
+        Double discount,
+        Double gst,
+        Double total,
+        BookingStatus status,
+        String pickupLocation,
+        String dropLocation,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,10 @@
+// CarAttributes.java
+package com.autoprime.dto;
+
+import com.autoprime.model.CarStatus;
+
+/**
+ * Projection of the car columns used by in-memory catalog indexes.
+ */
+public record CarAttributes(Long id, String type, String location, CarStatus status) {
+}
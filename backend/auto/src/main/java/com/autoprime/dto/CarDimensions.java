@@ -0,0 +1,8 @@
+// CarDimensions.java
+package com.autoprime.dto;
+
+/**
+ * Projection of the car attributes revenue is broken down by.
+ */
+public record CarDimensions(Long id, Long ownerId, String ownerName, String location, String type) {
+}
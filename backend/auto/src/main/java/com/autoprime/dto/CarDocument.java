@@ -0,0 +1,46 @@
+// CarDocument.java
+package com.autoprime.dto;
+
+import com.autoprime.model.Car;
+import org.hibernate.Hibernate;
+
+import java.util.List;
+
+/**
+ * The car attributes the search index covers. Null feature lists mean
+ * "unknown, keep what is indexed", for cars whose collections were not
+ * loaded when they changed.
+ */
+public record CarDocument(
+        Long id,
+        String name,
+        String type,
+        String fuel,
+        String transmission,
+        String location,
+        Integer seats,
+        Double pricePerDay,
+        List<String> features,
+        List<String> safetyFeatures) {
+
+    // Used by the JPQL projection; features are filled in afterwards
+    public CarDocument(Long id, String name, String type, String fuel, String transmission, String location,
+                       Integer seats, Double pricePerDay) {
+        this(id, name, type, fuel, transmission, location, seats, pricePerDay, null, null);
+    }
+
+    public static CarDocument of(Car car) {
+        return new CarDocument(car.getId(), car.getName(), car.getType(), car.getFuel(), car.getTransmission(),
+                car.getLocation(), car.getSeats(), car.getPricePerDay(),
+                loaded(car.getFeatures()), loaded(car.getSafetyFeatures()));
+    }
+
+    private static List<String> loaded(List<String> values) {
+        return values != null && Hibernate.isInitialized(values) ? List.copyOf(values) : null;
+    }
+
+    public CarDocument withFeatures(List<String> features, List<String> safetyFeatures) {
+        return new CarDocument(id, name, type, fuel, transmission, location, seats, pricePerDay,
+                features, safetyFeatures);
+    }
+}
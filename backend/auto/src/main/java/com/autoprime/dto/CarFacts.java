@@ -0,0 +1,27 @@
+// CarFacts.java
+package com.autoprime.dto;
+
+import com.autoprime.model.Car;
+
+/**
+ * The car columns the attribute filter covers; see CarFilter.
+ */
+public record CarFacts(
+        Long id,
+        String type,
+        String location,
+        String fuel,
+        String transmission,
+        Double pricePerDay,
+        Integer seats,
+        Double rating,
+        long ratingSum,
+        int ratingCount,
+        Integer totalTrips) {
+
+    public static CarFacts of(Car car) {
+        return new CarFacts(car.getId(), car.getType(), car.getLocation(), car.getFuel(), car.getTransmission(),
+                car.getPricePerDay(), car.getSeats(), car.getRating(), car.getRatingSum(), car.getRatingCount(),
+                car.getTotalTrips());
+    }
+}
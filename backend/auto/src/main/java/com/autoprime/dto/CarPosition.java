@@ -0,0 +1,10 @@
+// CarPosition.java
+package com.autoprime.dto;
+
+import com.autoprime.model.CarStatus;
+
+/**
+ * Where a car can be picked up; see CarLocator.
+ */
+public record CarPosition(Long id, Double latitude, Double longitude, CarStatus status) {
+}
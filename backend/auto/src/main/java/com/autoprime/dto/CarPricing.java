@@ -0,0 +1,8 @@
+// CarPricing.java
+package com.autoprime.dto;
+
+/**
+ * Projection of the car columns needed to price a booking.
+ */
+public record CarPricing(Long id, String name, Double pricePerDay, Double weekendExtra) {
+}
@@ -0,0 +1,16 @@
+// CarQuote.java
+package com.autoprime.dto;
+
+/**
+ * One car's line in a bulk price quote.
+ */
+public record CarQuote(
+        Long carId,
+        String name,
+        double pricePerDay,
+        double weekendExtra,
+        double subtotal,
+        double discount,
+        double gst,
+        double total) {
+}
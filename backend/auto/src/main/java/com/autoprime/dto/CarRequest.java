@@ -13,6 +13,8 @@ public class CarRequest {
     private Double weekendExtra;
     private String fuel;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private List<String> images;
     private List<String> features;
     private List<String> safetyFeatures;
@@ -51,6 +53,12 @@ public class CarRequest {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public List<String> getImages() { return images; }
     public void setImages(List<String> images) { this.images = images; }
     
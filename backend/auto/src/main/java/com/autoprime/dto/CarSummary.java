@@ -0,0 +1,39 @@
+// CarSummary.java
+package com.autoprime.dto;
+
+import com.autoprime.model.CarStatus;
+
+/**
+ * Flat catalog row for list views: scalar car columns, the owner and only
+ * the first image.
+ */
+public record CarSummary(
+        Long id,
+        String name,
+        String type,
+        String transmission,
+        Integer seats,
+        String fuel,
+        Double pricePerDay,
+        Double weekendExtra,
+        String location,
+        CarStatus status,
+        Double rating,
+        Integer totalTrips,
+        Long ownerId,
+        String ownerName,
+        String image) {
+
+    // Used by the JPQL projection; the image is filled in afterwards
+    public CarSummary(Long id, String name, String type, String transmission, Integer seats, String fuel,
+                      Double pricePerDay, Double weekendExtra, String location, CarStatus status,
+                      Double rating, Integer totalTrips, Long ownerId, String ownerName) {
+        this(id, name, type, transmission, seats, fuel, pricePerDay, weekendExtra, location, status,
+                rating, totalTrips, ownerId, ownerName, null);
+    }
+
+    public CarSummary withImage(String image) {
+        return new CarSummary(id, name, type, transmission, seats, fuel, pricePerDay, weekendExtra, location,
+                status, rating, totalTrips, ownerId, ownerName, image);
+    }
+}
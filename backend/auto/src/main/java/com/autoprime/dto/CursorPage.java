@@ -0,0 +1,10 @@
+// CursorPage.java
+package com.autoprime.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list; nextCursor is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, int size) {
+}
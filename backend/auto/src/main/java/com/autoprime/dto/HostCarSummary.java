@@ -0,0 +1,20 @@
+// HostCarSummary.java
+package com.autoprime.dto;
+
+import com.autoprime.model.CarStatus;
+
+/**
+ * One of a host's cars with its booking count and paid earnings.
+ */
+public record HostCarSummary(
+        Long id,
+        String name,
+        String type,
+        String location,
+        CarStatus status,
+        Double pricePerDay,
+        Double rating,
+        Integer totalTrips,
+        Long bookings,
+        Double earnings) {
+}
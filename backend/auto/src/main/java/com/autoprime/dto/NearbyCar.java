@@ -0,0 +1,10 @@
+// NearbyCar.java
+package com.autoprime.dto;
+
+import com.autoprime.model.Car;
+
+/**
+ * A car and its great-circle distance from the searched point.
+ */
+public record NearbyCar(Car car, double distanceKm) {
+}
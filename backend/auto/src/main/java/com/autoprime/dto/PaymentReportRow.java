@@ -0,0 +1,19 @@
+// PaymentReportRow.java
+package com.autoprime.dto;
+
+import com.autoprime.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the revenue report.
+ */
+public record PaymentReportRow(
+        Long id,
+        Long bookingId,
+        Double amount,
+        String paymentMethod,
+        PaymentStatus status,
+        String transactionId,
+        LocalDateTime createdAt) {
+}
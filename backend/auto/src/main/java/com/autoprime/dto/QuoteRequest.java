@@ -0,0 +1,43 @@
+// QuoteRequest.java
+package com.autoprime.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class QuoteRequest {
+    
+    private LocalDate startDate;
+    private LocalDate endDate;
+    
+    // Either an explicit list of cars...
+    private List<Long> carIds;
+    
+    // ...or a filter over the catalog
+    private String type;
+    private String location;
+    
+    // Page of the filter's matches, PricingService.MAX_CARS_PER_QUOTE at a time
+    private Integer page;
+    
+    // Constructors
+    public QuoteRequest() {}
+    
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public List<Long> getCarIds() { return carIds; }
+    public void setCarIds(List<Long> carIds) { this.carIds = carIds; }
+    
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public Integer getPage() { return page; }
+    public void setPage(Integer page) { this.page = page; }
+}
@@ -0,0 +1,17 @@
+package com.autoprime.dto;
+
+public class RefreshRequest {
+    
+    private String refreshToken;
+    
+    // Constructors
+    public RefreshRequest() {}
+    
+    public RefreshRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    // Getters and Setters
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
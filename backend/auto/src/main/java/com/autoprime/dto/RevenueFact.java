@@ -0,0 +1,10 @@
+// RevenueFact.java
+package com.autoprime.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One paid booking as the revenue analytics cube sees it.
+ */
+public record RevenueFact(Long carId, LocalDate bookedOn, Integer days, Double total) {
+}
@@ -0,0 +1,22 @@
+// RevenueRow.java
+package com.autoprime.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * Revenue for one period and one combination of the grouped dimensions;
+ * dimensions that were not grouped by are left out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RevenueRow(
+        LocalDate period,
+        Long hostId,
+        String hostName,
+        String location,
+        String type,
+        double revenue,
+        long bookings,
+        long rentalDays) {
+}
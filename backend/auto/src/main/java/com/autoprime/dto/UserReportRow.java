@@ -0,0 +1,18 @@
+// UserReportRow.java
+package com.autoprime.dto;
+
+import com.autoprime.model.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the users report; deliberately leaves out credentials.
+ */
+public record UserReportRow(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        Role role,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,109 @@
+// BookingEvent.java
+package com.autoprime.event;
+
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Published by BookingService whenever a booking is created, changes
+ * status or is deleted, so in-memory views of the bookings table can
+ * stay current without re-querying it.
+ */
+public record BookingEvent(
+        Type type,
+        Long bookingId,
+        Long carId,
+        LocalDate startDate,
+        LocalDate endDate,
+        BookingStatus previousStatus,
+        BookingStatus status,
+        double total,
+        LocalDate bookedOn) {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    public static BookingEvent created(Booking booking) {
+        return new BookingEvent(Type.CREATED, booking.getId(), booking.getCar().getId(),
+                booking.getStartDate(), booking.getEndDate(), null, booking.getStatus(),
+                total(booking), bookedOn(booking));
+    }
+
+    public static BookingEvent statusChanged(Booking booking, BookingStatus previousStatus) {
+        return new BookingEvent(Type.STATUS_CHANGED, booking.getId(), booking.getCar().getId(),
+                booking.getStartDate(), booking.getEndDate(), previousStatus, booking.getStatus(),
+                total(booking), bookedOn(booking));
+    }
+
+    public static BookingEvent deleted(Booking booking) {
+        return new BookingEvent(Type.DELETED, booking.getId(), booking.getCar().getId(),
+                booking.getStartDate(), booking.getEndDate(), booking.getStatus(), null,
+                total(booking), bookedOn(booking));
+    }
+
+    /**
+     * Whether the booking blocks its dates before this event
+     */
+    public boolean wasActive() {
+        return isActive(previousStatus);
+    }
+
+    /**
+     * Whether the booking blocks its dates after this event
+     */
+    public boolean isActive() {
+        return isActive(status);
+    }
+
+    /**
+     * The event that undoes this one, used to roll back in-memory views
+     * when the surrounding transaction does not commit
+     */
+    public BookingEvent inverse() {
+        Type inverseType = switch (type) {
+            case CREATED -> Type.DELETED;
+            case DELETED -> Type.CREATED;
+            case STATUS_CHANGED -> Type.STATUS_CHANGED;
+        };
+        return new BookingEvent(inverseType, bookingId, carId, startDate, endDate, status, previousStatus,
+                total, bookedOn);
+    }
+
+    /**
+     * Apply this event to an in-memory view right away, so the change is visible
+     * before commit, and apply the inverse if the surrounding transaction rolls back
+     */
+    public void applyUntilRollback(Consumer<BookingEvent> view) {
+        view.accept(this);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int completionStatus) {
+                    if (completionStatus != STATUS_COMMITTED) {
+                        view.accept(inverse());
+                    }
+                }
+            });
+        }
+    }
+
+    public static boolean isActive(BookingStatus status) {
+        return status != null && status.isActive();
+    }
+    
+    private static double total(Booking booking) {
+        return booking.getTotal() == null ? 0.0 : booking.getTotal();
+    }
+    
+    private static LocalDate bookedOn(Booking booking) {
+        return booking.getCreatedAt() == null ? null : booking.getCreatedAt().toLocalDate();
+    }
+}
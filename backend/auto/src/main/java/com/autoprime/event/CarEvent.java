@@ -0,0 +1,30 @@
+// CarEvent.java
+package com.autoprime.event;
+
+import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
+
+/**
+ * Published when a car is added, edited, changes status or is deleted,
+ * so in-memory catalog views can follow along. previousStatus is null
+ * for a new car and status is null for a deleted one.
+ */
+public record CarEvent(Type type, Car car, CarStatus previousStatus, CarStatus status) {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+
+    public static CarEvent added(Car car) {
+        return new CarEvent(Type.SAVED, car, null, car.getStatus());
+    }
+
+    public static CarEvent saved(Car car, CarStatus previousStatus) {
+        return new CarEvent(Type.SAVED, car, previousStatus, car.getStatus());
+    }
+
+    public static CarEvent deleted(Car car) {
+        return new CarEvent(Type.DELETED, car, car.getStatus(), null);
+    }
+}
@@ -0,0 +1,28 @@
+// CarStatsEvent.java
+package com.autoprime.event;
+
+import java.util.Map;
+
+/**
+ * Published by CarStats when buffered rating and trip deltas are written
+ * to the cars table (APPLIED, with the deltas per car id), or when every
+ * car's figures are recomputed from the tables (RECOMPUTED, no deltas).
+ */
+public record CarStatsEvent(Type type, Map<Long, Change> changes) {
+
+    public enum Type {
+        APPLIED,
+        RECOMPUTED
+    }
+
+    public record Change(long ratingSum, int ratingCount, int trips) {
+    }
+
+    public static CarStatsEvent applied(Map<Long, Change> changes) {
+        return new CarStatsEvent(Type.APPLIED, changes);
+    }
+
+    public static CarStatsEvent recomputed() {
+        return new CarStatsEvent(Type.RECOMPUTED, Map.of());
+    }
+}
@@ -0,0 +1,24 @@
+// PaymentEvent.java
+package com.autoprime.event;
+
+import com.autoprime.model.Payment;
+import com.autoprime.model.PaymentStatus;
+
+/**
+ * Published by PaymentService when a payment is created or changes
+ * status. previousStatus is null for a new payment.
+ */
+public record PaymentEvent(Long paymentId, double amount, PaymentStatus previousStatus, PaymentStatus status) {
+
+    public static PaymentEvent created(Payment payment) {
+        return new PaymentEvent(payment.getId(), amount(payment), null, payment.getStatus());
+    }
+
+    public static PaymentEvent statusChanged(Payment payment, PaymentStatus previousStatus) {
+        return new PaymentEvent(payment.getId(), amount(payment), previousStatus, payment.getStatus());
+    }
+
+    private static double amount(Payment payment) {
+        return payment.getAmount() == null ? 0.0 : payment.getAmount();
+    }
+}
@@ -0,0 +1,24 @@
+// UserEvent.java
+package com.autoprime.event;
+
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+
+/**
+ * Published when a user account is registered or deleted.
+ */
+public record UserEvent(Type type, Long userId, Role role) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    public static UserEvent created(User user) {
+        return new UserEvent(Type.CREATED, user.getId(), user.getRole());
+    }
+
+    public static UserEvent deleted(User user) {
+        return new UserEvent(Type.DELETED, user.getId(), user.getRole());
+    }
+}
@@ -0,0 +1,19 @@
+// TooManyRequestsException.java
+package com.autoprime.exception;
+
+/**
+ * The server is shedding load; the client should retry after the given delay
+ */
+public class TooManyRequestsException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,11 +1,14 @@
 package com.autoprime.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+       indexes = @Index(name = "idx_bookings_created_at_id", columnList = "createdAt, id"))
 public class Booking {
     
     @Id
@@ -39,13 +42,17 @@ public class Booking {
     @Column(nullable = false)
     private Double total;
     
-    @Column(nullable = false)
-    private String status; // PENDING, CONFIRMED, COMPLETED, CANCELLED
+    @Column(nullable = false, columnDefinition = "CHAR(1)")
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private BookingStatus status; // PENDING, CONFIRMED, COMPLETED, CANCELLED
     
     private String pickupLocation;
     
     private String dropLocation;
     
+    // Unpaid PENDING bookings are cancelled once this passes
+    private LocalDateTime holdExpiresAt;
+    
     @Column(nullable = false)
     private LocalDateTime createdAt;
     
@@ -54,7 +61,7 @@ public class Booking {
     // Constructors
     public Booking() {
         this.createdAt = LocalDateTime.now();
-        this.status = "PENDING";
+        this.status = BookingStatus.PENDING;
     }
     
     // Getters and Setters
@@ -90,8 +97,8 @@ public class Booking {
     public Double getTotal() { return total; }
     public void setTotal(Double total) { this.total = total; }
     
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public BookingStatus getStatus() { return status; }
+    public void setStatus(BookingStatus status) { this.status = status; }
     
     public String getPickupLocation() { return pickupLocation; }
     public void setPickupLocation(String pickupLocation) { 
@@ -103,6 +110,11 @@ public class Booking {
         this.dropLocation = dropLocation; 
     }
     
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { 
+        this.holdExpiresAt = holdExpiresAt; 
+    }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { 
         this.createdAt = createdAt; 
@@ -0,0 +1,70 @@
+package com.autoprime.model;
+
+import com.autoprime.exception.ValidationException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum BookingStatus implements StatusCode {
+    PENDING('P'),
+    CONFIRMED('C'),
+    COMPLETED('D'),
+    CANCELLED('X');
+
+    /**
+     * Statuses whose bookings block the car for their dates
+     */
+    public static final Set<BookingStatus> ACTIVE = EnumSet.of(PENDING, CONFIRMED);
+
+    /**
+     * Statuses whose bookings count towards revenue
+     */
+    public static final Set<BookingStatus> PAID = EnumSet.of(CONFIRMED, COMPLETED);
+
+    private final char code;
+
+    private Set<BookingStatus> next;
+
+    static {
+        PENDING.next = EnumSet.of(CONFIRMED, CANCELLED);
+        CONFIRMED.next = EnumSet.of(COMPLETED, CANCELLED);
+        COMPLETED.next = EnumSet.noneOf(BookingStatus.class);
+        CANCELLED.next = EnumSet.noneOf(BookingStatus.class);
+    }
+
+    BookingStatus(char code) {
+        this.code = code;
+    }
+
+    @Override
+    public char getCode() { return code; }
+
+    /**
+     * Whether a booking in this status can move to target; staying put is always allowed
+     */
+    public boolean canTransitionTo(BookingStatus target) {
+        return target == this || next.contains(target);
+    }
+
+    public void checkTransitionTo(BookingStatus target) {
+        if (!canTransitionTo(target)) {
+            throw new ValidationException("Booking cannot move from " + this + " to " + target);
+        }
+    }
+
+    public boolean isActive() {
+        return ACTIVE.contains(this);
+    }
+
+    public boolean isPaid() {
+        return PAID.contains(this);
+    }
+
+    public static BookingStatus parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid booking status: " + value);
+        }
+    }
+}
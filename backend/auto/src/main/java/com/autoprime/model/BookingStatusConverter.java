@@ -0,0 +1,11 @@
+package com.autoprime.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class BookingStatusConverter extends StatusCodeConverter<BookingStatus> {
+
+    public BookingStatusConverter() {
+        super(BookingStatus.class);
+    }
+}
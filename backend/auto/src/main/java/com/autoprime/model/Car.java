@@ -1,13 +1,23 @@
 package com.autoprime.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "cars")
+@Table(name = "cars",
+       indexes = @Index(name = "idx_cars_created_at_id", columnList = "createdAt, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "car")
 public class Car {
+
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,17 +52,25 @@ public class Car {
     
     private String drive; // FWD, RWD, AWD
     
+    // Collections load for up to 100 cars (one list page) per query, never as a
+    // join; subselect fetching would ignore a page's limit
     @ElementCollection
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "car-images")
     @CollectionTable(name = "car_images", joinColumns = @JoinColumn(name = "car_id"))
     @Column(name = "image_url")
     private List<String> images = new ArrayList<>();
     
     @ElementCollection
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "car-features")
     @CollectionTable(name = "car_features", joinColumns = @JoinColumn(name = "car_id"))
     @Column(name = "feature")
     private List<String> features = new ArrayList<>();
     
     @ElementCollection
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "car-safety")
     @CollectionTable(name = "car_safety", joinColumns = @JoinColumn(name = "car_id"))
     @Column(name = "safety_feature")
     private List<String> safetyFeatures = new ArrayList<>();
@@ -61,13 +79,30 @@ public class Car {
     @JoinColumn(name = "owner_id")
     private User owner;
     
-    @Column(nullable = false)
-    private String status; // AVAILABLE, BOOKED, MAINTENANCE
+    @Column(nullable = false, columnDefinition = "CHAR(1)")
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private CarStatus status; // AVAILABLE, BOOKED, MAINTENANCE
     
     private String location;
     
+    // Pickup point in degrees (WGS84); either both or neither are set
+    private Double latitude;
+    
+    private Double longitude;
+    
+    // Maintained by CarStats with direct updates, never through the entity
+    @Column(updatable = false)
     private Double rating;
     
+    @Column(nullable = false, updatable = false)
+    @JsonIgnore
+    private long ratingSum;
+    
+    @Column(nullable = false, updatable = false)
+    private int ratingCount;
+    
+    // Completed bookings
+    @Column(updatable = false)
     private Integer totalTrips;
     
     @Column(name = "km_limit")
@@ -81,10 +116,14 @@ public class Car {
     
     private LocalDateTime updatedAt;
     
+    @Version
+    @JsonIgnore
+    private long version;
+    
     // Constructors
     public Car() {
         this.createdAt = LocalDateTime.now();
-        this.status = "AVAILABLE";
+        this.status = CarStatus.AVAILABLE;
         this.rating = 0.0;
         this.totalTrips = 0;
     }
@@ -151,15 +190,27 @@ public class Car {
     public User getOwner() { return owner; }
     public void setOwner(User owner) { this.owner = owner; }
     
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public CarStatus getStatus() { return status; }
+    public void setStatus(CarStatus status) { this.status = status; }
     
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public Double getRating() { return rating; }
     public void setRating(Double rating) { this.rating = rating; }
     
+    public long getRatingSum() { return ratingSum; }
+    public void setRatingSum(long ratingSum) { this.ratingSum = ratingSum; }
+    
+    public int getRatingCount() { return ratingCount; }
+    public void setRatingCount(int ratingCount) { this.ratingCount = ratingCount; }
+    
     public Integer getTotalTrips() { return totalTrips; }
     public void setTotalTrips(Integer totalTrips) { 
         this.totalTrips = totalTrips; 
@@ -183,6 +234,9 @@ public class Car {
         this.updatedAt = updatedAt; 
     }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,57 @@
+package com.autoprime.model;
+
+import com.autoprime.exception.ValidationException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum CarStatus implements StatusCode {
+    AVAILABLE('A'),
+    BOOKED('B'),
+    MAINTENANCE('M');
+
+    private final char code;
+
+    private Set<CarStatus> next;
+
+    static {
+        AVAILABLE.next = EnumSet.of(BOOKED, MAINTENANCE);
+        BOOKED.next = EnumSet.of(AVAILABLE, MAINTENANCE);
+        MAINTENANCE.next = EnumSet.of(AVAILABLE);
+    }
+
+    CarStatus(char code) {
+        this.code = code;
+    }
+
+    @Override
+    public char getCode() { return code; }
+
+    /**
+     * Whether a car in this status can move to target; staying put is always allowed
+     */
+    public boolean canTransitionTo(CarStatus target) {
+        return target == this || next.contains(target);
+    }
+
+    public void checkTransitionTo(CarStatus target) {
+        if (!canTransitionTo(target)) {
+            throw new ValidationException("Car cannot move from " + this + " to " + target);
+        }
+    }
+
+    /**
+     * Whether new bookings may be taken for the car at all
+     */
+    public boolean isBookable() {
+        return this != MAINTENANCE;
+    }
+
+    public static CarStatus parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid car status: " + value);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.autoprime.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class CarStatusConverter extends StatusCodeConverter<CarStatus> {
+
+    public CarStatusConverter() {
+        super(CarStatus.class);
+    }
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contact_messages")
+@Table(name = "contact_messages",
+       indexes = @Index(name = "idx_contact_messages_created_at_id", columnList = "createdAt, id"))
 public class ContactMessage {
     
     @Id
@@ -0,0 +1,45 @@
+package com.autoprime.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One checkpointed dashboard counter, e.g. bookings.count.CONFIRMED.
+ * Money is stored in paise so sums stay exact.
+ */
+@Entity
+@Table(name = "dashboard_metrics")
+public class DashboardMetric {
+    
+    @Id
+    @Column(length = 64)
+    private String metric;
+    
+    @Column(name = "metric_value", nullable = false)
+    private long value;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public DashboardMetric() {
+    }
+    
+    public DashboardMetric(String metric, long value) {
+        this.metric = metric;
+        this.value = value;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+    
+    public long getValue() { return value; }
+    public void setValue(long value) { this.value = value; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { 
+        this.updatedAt = updatedAt; 
+    }
+}
@@ -1,10 +1,13 @@
 package com.autoprime.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments",
+       indexes = @Index(name = "idx_payments_created_at_id", columnList = "createdAt, id"))
 public class Payment {
     
     @Id
@@ -21,8 +24,9 @@ public class Payment {
     @Column(nullable = false)
     private String paymentMethod; // UPI, CARD, NET_BANKING
     
-    @Column(nullable = false)
-    private String status; // PENDING, SUCCESS, FAILED
+    @Column(nullable = false, columnDefinition = "CHAR(1)")
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private PaymentStatus status; // PENDING, SUCCESS, FAILED
     
     private String transactionId;
     
@@ -34,7 +38,7 @@ public class Payment {
     // Constructors
     public Payment() {
         this.createdAt = LocalDateTime.now();
-        this.status = "PENDING";
+        this.status = PaymentStatus.PENDING;
     }
     
     // Getters and Setters
@@ -52,8 +56,8 @@ public class Payment {
         this.paymentMethod = paymentMethod; 
     }
     
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public PaymentStatus getStatus() { return status; }
+    public void setStatus(PaymentStatus status) { this.status = status; }
     
     public String getTransactionId() { return transactionId; }
     public void setTransactionId(String transactionId) { 
@@ -0,0 +1,50 @@
+package com.autoprime.model;
+
+import com.autoprime.exception.ValidationException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum PaymentStatus implements StatusCode {
+    PENDING('P'),
+    SUCCESS('S'),
+    FAILED('F');
+
+    private final char code;
+
+    private Set<PaymentStatus> next;
+
+    static {
+        PENDING.next = EnumSet.of(SUCCESS, FAILED);
+        SUCCESS.next = EnumSet.noneOf(PaymentStatus.class);
+        FAILED.next = EnumSet.noneOf(PaymentStatus.class);
+    }
+
+    PaymentStatus(char code) {
+        this.code = code;
+    }
+
+    @Override
+    public char getCode() { return code; }
+
+    /**
+     * Whether a payment in this status can move to target; staying put is always allowed
+     */
+    public boolean canTransitionTo(PaymentStatus target) {
+        return target == this || next.contains(target);
+    }
+
+    public void checkTransitionTo(PaymentStatus target) {
+        if (!canTransitionTo(target)) {
+            throw new ValidationException("Payment cannot move from " + this + " to " + target);
+        }
+    }
+
+    public static PaymentStatus parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid payment status: " + value);
+        }
+    }
+}
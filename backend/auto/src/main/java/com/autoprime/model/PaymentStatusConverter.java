@@ -0,0 +1,11 @@
+package com.autoprime.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class PaymentStatusConverter extends StatusCodeConverter<PaymentStatus> {
+
+    public PaymentStatusConverter() {
+        super(PaymentStatus.class);
+    }
+}
@@ -0,0 +1,76 @@
+// RefreshToken.java
+package com.autoprime.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token, by the SHA-256 of its value. Each use revokes it and
+ * issues a successor in the same family; presenting a revoked one again
+ * means it leaked, and revokes the family.
+ */
+@Entity
+@Table(name = "refresh_tokens",
+       indexes = {
+           @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+           @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+           @Index(name = "idx_refresh_tokens_expires", columnList = "expiresAt")
+       })
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(nullable = false, unique = true, length = 64, columnDefinition = "CHAR(64)")
+    private String tokenHash;
+    
+    @Column(nullable = false, length = 36, columnDefinition = "CHAR(36)")
+    private String familyId;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    private LocalDateTime revokedAt;
+    
+    // Constructors
+    public RefreshToken() {
+    }
+    
+    public RefreshToken(User user, String tokenHash, String familyId, LocalDateTime expiresAt) {
+        this.user = user;
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+    
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(LocalDateTime revokedAt) { this.revokedAt = revokedAt; }
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+       indexes = @Index(name = "idx_reviews_created_at_id", columnList = "createdAt, id"))
 public class Review {
     
     @Id
@@ -0,0 +1,52 @@
+// RevokedToken.java
+package com.autoprime.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An access token revoked before its expiry, by its jti split into two
+ * longs. Dropped once the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+       uniqueConstraints = @UniqueConstraint(name = "uk_revoked_tokens_jti", columnNames = {"jtiHigh", "jtiLow"}),
+       indexes = @Index(name = "idx_revoked_tokens_expires", columnList = "expiresAt"))
+public class RevokedToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private long jtiHigh;
+    
+    @Column(nullable = false)
+    private long jtiLow;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Constructors
+    public RevokedToken() {
+    }
+    
+    public RevokedToken(long jtiHigh, long jtiLow, LocalDateTime expiresAt) {
+        this.jtiHigh = jtiHigh;
+        this.jtiLow = jtiLow;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public long getJtiHigh() { return jtiHigh; }
+    public void setJtiHigh(long jtiHigh) { this.jtiHigh = jtiHigh; }
+    
+    public long getJtiLow() { return jtiLow; }
+    public void setJtiLow(long jtiLow) { this.jtiLow = jtiLow; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
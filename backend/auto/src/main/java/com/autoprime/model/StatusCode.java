@@ -0,0 +1,9 @@
+package com.autoprime.model;
+
+/**
+ * A status enum stored as a single-character code instead of its name
+ */
+public interface StatusCode {
+
+    char getCode();
+}
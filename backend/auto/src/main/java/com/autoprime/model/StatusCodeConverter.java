@@ -0,0 +1,43 @@
+package com.autoprime.model;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Maps a status enum to its CHAR(1) column code. Full names written before
+ * the switch to codes are still read, so old rows load until migrated.
+ */
+public abstract class StatusCodeConverter<E extends Enum<E> & StatusCode> implements AttributeConverter<E, String> {
+
+    private final Class<E> type;
+
+    // Indexed by code, so reads are an array lookup
+    private final Object[] byCode = new Object[128];
+
+    protected StatusCodeConverter(Class<E> type) {
+        this.type = type;
+        for (E status : type.getEnumConstants()) {
+            byCode[status.getCode()] = status;
+        }
+    }
+
+    @Override
+    public String convertToDatabaseColumn(E status) {
+        return status == null ? null : String.valueOf(status.getCode());
+    }
+
+    @Override
+    public E convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return null;
+        }
+        if (column.length() == 1) {
+            char code = column.charAt(0);
+            Object status = code < byCode.length ? byCode[code] : null;
+            if (status == null) {
+                throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " code: " + column);
+            }
+            return type.cast(status);
+        }
+        return Enum.valueOf(type, column);
+    }
+}
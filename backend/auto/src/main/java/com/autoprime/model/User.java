@@ -1,10 +1,21 @@
 package com.autoprime.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+       indexes = {
+           @Index(name = "idx_users_created_at_id", columnList = "createdAt, id"),
+           @Index(name = "idx_users_tokens_not_before", columnList = "tokensNotBefore")
+       })
+@Cacheable
+// Cached so a cached Car can resolve its owner without a query
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
     
     @Id
@@ -18,6 +29,7 @@ public class User {
     private String email;
     
     @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     
     @Column(nullable = false)
@@ -36,6 +48,11 @@ public class User {
     
     private LocalDateTime updatedAt;
     
+    // Access tokens issued before this are refused; set by SessionService, never through the entity
+    @Column(insertable = false, updatable = false)
+    @JsonIgnore
+    private LocalDateTime tokensNotBefore;
+    
     // Constructors
     public User() {
         this.createdAt = LocalDateTime.now();
@@ -90,6 +107,8 @@ public class User {
         this.updatedAt = updatedAt; 
     }
     
+    public LocalDateTime getTokensNotBefore() { return tokensNotBefore; }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
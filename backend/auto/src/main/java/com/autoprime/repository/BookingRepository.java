@@ -1,13 +1,28 @@
 package com.autoprime.repository;
 
+import com.autoprime.dto.BookingHold;
+import com.autoprime.dto.BookingInterval;
+import com.autoprime.dto.BookingReportRow;
+import com.autoprime.dto.RevenueFact;
 import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
 import com.autoprime.model.Car;
 import com.autoprime.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -16,11 +31,67 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     List<Booking> findByCar(Car car);
     
-    List<Booking> findByStatus(String status);
+    List<Booking> findByStatus(BookingStatus status);
     
-    List<Booking> findByUserAndStatus(User user, String status);
+    List<Booking> findByUserAndStatus(User user, BookingStatus status);
+    
+    // Rows of {status, count, sum of totals in paise}, each total rounded as it is counted live
+    @Query("SELECT b.status, COUNT(b), SUM(ROUND(b.total * 100, 0)) FROM Booking b GROUP BY b.status")
+    List<Object[]> totalsGroupedByStatus();
+    
+    // Rows of {day booked, sum of totals in paise}
+    @Query("SELECT CAST(b.createdAt AS LocalDate), SUM(ROUND(b.total * 100, 0)) FROM Booking b " +
+           "WHERE b.status IN :statuses GROUP BY CAST(b.createdAt AS LocalDate)")
+    List<Object[]> totalsGroupedByDayForStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.autoprime.dto.RevenueFact(b.car.id, CAST(b.createdAt AS LocalDate), b.days, b.total) " +
+           "FROM Booking b WHERE b.status IN :statuses")
+    Stream<RevenueFact> streamRevenueFactsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
     
     List<Booking> findByCarAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
         Car car, LocalDate endDate, LocalDate startDate
     );
-}
\ No newline at end of file
+    
+    boolean existsByCarAndStatusIn(Car car, Collection<BookingStatus> statuses);
+    
+    boolean existsByCarAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+        Car car, Collection<BookingStatus> statuses, LocalDate endDate, LocalDate startDate
+    );
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.autoprime.dto.BookingInterval(b.id, b.car.id, b.startDate, b.endDate) " +
+           "FROM Booking b WHERE b.status IN :statuses")
+    Stream<BookingInterval> streamIntervalsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.autoprime.dto.BookingHold(b.id, b.holdExpiresAt) " +
+           "FROM Booking b WHERE b.status = :status AND b.holdExpiresAt IS NOT NULL")
+    Stream<BookingHold> streamHoldsByStatus(@Param("status") BookingStatus status);
+    
+    String REPORT_ROW = "SELECT new com.autoprime.dto.BookingReportRow(b.id, u.id, u.name, c.id, c.name, " +
+                        "b.startDate, b.endDate, b.days, b.subtotal, b.discount, b.gst, b.total, b.status, " +
+                        "b.pickupLocation, b.dropLocation, b.createdAt) " +
+                        "FROM Booking b JOIN b.user u JOIN b.car c";
+    
+    @Query(value = REPORT_ROW, countQuery = "SELECT COUNT(b) FROM Booking b")
+    Page<BookingReportRow> findReportRows(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(REPORT_ROW + " ORDER BY b.id")
+    Stream<BookingReportRow> streamReportRows();
+    
+    @Query(REPORT_ROW + " WHERE c.owner.id = :ownerId ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingReportRow> findReportRowsByCarOwnerId(@Param("ownerId") Long ownerId);
+    
+    // Keyset pages, newest first; see KeysetPager
+    @EntityGraph(attributePaths = { "user", "car", "car.owner" })
+    @Query("SELECT b FROM Booking b ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findFirstPage(Pageable limit);
+    
+    @EntityGraph(attributePaths = { "user", "car", "car.owner" })
+    @Query("SELECT b FROM Booking b WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                Pageable limit);
+}
@@ -1,24 +1,165 @@
 package com.autoprime.repository;
 
+import com.autoprime.dto.CarAttributes;
+import com.autoprime.dto.CarDimensions;
+import com.autoprime.dto.CarDocument;
+import com.autoprime.dto.CarFacts;
+import com.autoprime.dto.CarPosition;
+import com.autoprime.dto.CarPricing;
+import com.autoprime.dto.CarSummary;
+import com.autoprime.dto.HostCarSummary;
+import com.autoprime.model.BookingStatus;
 import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
 import com.autoprime.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CarRepository extends JpaRepository<Car, Long> {
     
-    List<Car> findByStatus(String status);
+    // Catalog finders go through the query cache; Hibernate invalidates their
+    // results whenever the cars table is written. The owner is joined in the
+    // same statement and the collections load by subselect.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "owner")
+    List<Car> findAll();
     
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    List<Car> findAllById(Iterable<Long> ids);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "owner")
+    List<Car> findByStatus(CarStatus status);
+    
+    // Rows of {status, count}
+    @Query("SELECT c.status, COUNT(c) FROM Car c GROUP BY c.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "owner")
     List<Car> findByType(String type);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "owner")
     List<Car> findByOwner(User owner);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "owner")
     List<Car> findByNameContainingIgnoreCase(String name);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "owner")
     List<Car> findByPricePerDayBetween(Double minPrice, Double maxPrice);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "owner")
     List<Car> findByLocation(String location);
-}
\ No newline at end of file
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Car c WHERE c.id = :id")
+    Optional<Car> findByIdForUpdate(@Param("id") Long id);
+    
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Car c WHERE c.id = :id")
+    Optional<Car> findByIdWithVersionBump(@Param("id") Long id);
+    
+    @Query("SELECT new com.autoprime.dto.CarAttributes(c.id, c.type, c.location, c.status) " +
+           "FROM Car c ORDER BY c.id")
+    List<CarAttributes> findAllAttributes();
+    
+    @Query("SELECT new com.autoprime.dto.CarDimensions(c.id, o.id, o.name, c.location, c.type) " +
+           "FROM Car c LEFT JOIN c.owner o ORDER BY c.id")
+    List<CarDimensions> findAllDimensions();
+    
+    /**
+     * Every car of one owner with its booking count and the total of its paid bookings
+     */
+    @Query("SELECT new com.autoprime.dto.HostCarSummary(c.id, c.name, c.type, c.location, c.status, " +
+           "c.pricePerDay, c.rating, c.totalTrips, COUNT(b), " +
+           "COALESCE(SUM(CASE WHEN b.status IN :paid THEN b.total ELSE 0.0 END), 0.0)) " +
+           "FROM Car c LEFT JOIN Booking b ON b.car = c WHERE c.owner.id = :ownerId " +
+           "GROUP BY c.id, c.name, c.type, c.location, c.status, c.pricePerDay, c.rating, c.totalTrips " +
+           "ORDER BY c.id")
+    List<HostCarSummary> findHostCarSummaries(@Param("ownerId") Long ownerId,
+                                              @Param("paid") Collection<BookingStatus> paid);
+    
+    @Query("SELECT new com.autoprime.dto.CarPricing(c.id, c.name, c.pricePerDay, c.weekendExtra) " +
+           "FROM Car c WHERE c.id IN :ids")
+    List<CarPricing> findPricingByIdIn(@Param("ids") Collection<Long> ids);
+    
+    String PRICING_FILTER = "FROM Car c WHERE (:type IS NULL OR c.type = :type) " +
+                            "AND (:location IS NULL OR c.location = :location)";
+    
+    @Query(value = "SELECT new com.autoprime.dto.CarPricing(c.id, c.name, c.pricePerDay, c.weekendExtra) " +
+                   PRICING_FILTER + " ORDER BY c.id",
+           countQuery = "SELECT COUNT(c) " + PRICING_FILTER)
+    Page<CarPricing> findPricingByFilter(@Param("type") String type, @Param("location") String location,
+                                         Pageable pageable);
+    
+    @Query(value = "SELECT new com.autoprime.dto.CarSummary(c.id, c.name, c.type, c.transmission, c.seats, " +
+                   "c.fuel, c.pricePerDay, c.weekendExtra, c.location, c.status, c.rating, c.totalTrips, " +
+                   "o.id, o.name) FROM Car c LEFT JOIN c.owner o",
+           countQuery = "SELECT COUNT(c) FROM Car c")
+    Page<CarSummary> findSummaries(Pageable pageable);
+    
+    // Rows of {carId, imageUrl} in collection order
+    @Query("SELECT c.id, i FROM Car c JOIN c.images i WHERE c.id IN :ids")
+    List<Object[]> findImagesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Search index contents; see CarSearch
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.autoprime.dto.CarDocument(c.id, c.name, c.type, c.fuel, c.transmission, c.location, " +
+           "c.seats, c.pricePerDay) FROM Car c ORDER BY c.id")
+    List<CarDocument> findAllDocuments();
+    
+    // Rows of {carId, feature}
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT c.id, f FROM Car c JOIN c.features f")
+    List<Object[]> findAllFeatures();
+    
+    // Rows of {carId, safety feature}
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT c.id, s FROM Car c JOIN c.safetyFeatures s")
+    List<Object[]> findAllSafetyFeatures();
+    
+    // Attribute filter contents; see CarFilter
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.autoprime.dto.CarFacts(c.id, c.type, c.location, c.fuel, c.transmission, " +
+           "c.pricePerDay, c.seats, c.rating, c.ratingSum, c.ratingCount, c.totalTrips) FROM Car c ORDER BY c.id")
+    List<CarFacts> findAllFacts();
+    
+    // Spatial index contents; see CarLocator
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.autoprime.dto.CarPosition(c.id, c.latitude, c.longitude, c.status) FROM Car c " +
+           "WHERE c.latitude IS NOT NULL AND c.longitude IS NOT NULL")
+    List<CarPosition> findAllPositions();
+    
+    // Keyset pages, newest first; see KeysetPager
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT c FROM Car c ORDER BY c.createdAt DESC, c.id DESC")
+    List<Car> findFirstPage(Pageable limit);
+    
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT c FROM Car c WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Car> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                            Pageable limit);
+}
@@ -2,13 +2,26 @@
 package com.autoprime.repository;
 
 import com.autoprime.model.ContactMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ContactRepository extends JpaRepository<ContactMessage, Long> {
     List<ContactMessage> findByStatus(String status);
     List<ContactMessage> findByEmailContainingIgnoreCase(String email);
+    
+    // Keyset pages, newest first; see KeysetPager
+    @Query("SELECT m FROM ContactMessage m ORDER BY m.createdAt DESC, m.id DESC")
+    List<ContactMessage> findFirstPage(Pageable limit);
+    
+    @Query("SELECT m FROM ContactMessage m WHERE m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ContactMessage> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable limit);
 }
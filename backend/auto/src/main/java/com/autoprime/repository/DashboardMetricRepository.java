@@ -0,0 +1,9 @@
+package com.autoprime.repository;
+
+import com.autoprime.model.DashboardMetric;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DashboardMetricRepository extends JpaRepository<DashboardMetric, String> {
+}
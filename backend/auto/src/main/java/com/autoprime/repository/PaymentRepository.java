@@ -1,19 +1,55 @@
 package com.autoprime.repository;
 
+import com.autoprime.dto.PaymentReportRow;
 import com.autoprime.model.Payment;
 import com.autoprime.model.Booking;
+import com.autoprime.model.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Optional<Payment> findByBooking(Booking booking);
     
-    List<Payment> findByStatus(String status);
+    List<Payment> findByStatus(PaymentStatus status);
+    
+    // Rows of {status, count, sum of amounts in paise}
+    @Query("SELECT p.status, COUNT(p), SUM(ROUND(p.amount * 100, 0)) FROM Payment p GROUP BY p.status")
+    List<Object[]> totalsGroupedByStatus();
     
     Optional<Payment> findByTransactionId(String transactionId);
-}
\ No newline at end of file
+    
+    String REPORT_ROW = "SELECT new com.autoprime.dto.PaymentReportRow(p.id, p.booking.id, p.amount, " +
+                        "p.paymentMethod, p.status, p.transactionId, p.createdAt) FROM Payment p";
+    
+    @Query(value = REPORT_ROW, countQuery = "SELECT COUNT(p) FROM Payment p")
+    Page<PaymentReportRow> findReportRows(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(REPORT_ROW + " ORDER BY p.id")
+    Stream<PaymentReportRow> streamReportRows();
+    
+    // Keyset pages, newest first; see KeysetPager
+    @EntityGraph(attributePaths = { "booking", "booking.user", "booking.car", "booking.car.owner" })
+    @Query("SELECT p FROM Payment p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findFirstPage(Pageable limit);
+    
+    @EntityGraph(attributePaths = { "booking", "booking.user", "booking.car", "booking.car.owner" })
+    @Query("SELECT p FROM Payment p WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                Pageable limit);
+}
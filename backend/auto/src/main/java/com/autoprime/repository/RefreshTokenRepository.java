@@ -0,0 +1,37 @@
+// RefreshTokenRepository.java
+package com.autoprime.repository;
+
+import com.autoprime.model.RefreshToken;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    @EntityGraph(attributePaths = "user")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    // Revoke one token unless already revoked; 0 means another request used it first
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+    int revoke(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
@@ -4,9 +4,14 @@ package com.autoprime.repository;
 import com.autoprime.model.Review;
 import com.autoprime.model.Car;
 import com.autoprime.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,4 +19,15 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByCar(Car car);
     List<Review> findByUser(User user);
     List<Review> findByCarOrderByCreatedAtDesc(Car car);
-}
\ No newline at end of file
+    
+    // Keyset pages, newest first; see KeysetPager
+    @EntityGraph(attributePaths = { "user", "car", "car.owner" })
+    @Query("SELECT r FROM Review r ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findFirstPage(Pageable limit);
+    
+    @EntityGraph(attributePaths = { "user", "car", "car.owner" })
+    @Query("SELECT r FROM Review r WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                               Pageable limit);
+}
@@ -0,0 +1,26 @@
+// RevokedTokenRepository.java
+package com.autoprime.repository;
+
+import com.autoprime.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    
+    boolean existsByJtiHighAndJtiLow(long jtiHigh, long jtiLow);
+    
+    // Rows of {jtiHigh, jtiLow}
+    @Query("SELECT t.jtiHigh, t.jtiLow FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<Object[]> findUnexpiredIds(@Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
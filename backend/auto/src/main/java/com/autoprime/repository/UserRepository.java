@@ -1,12 +1,22 @@
 package com.autoprime.repository;
 
+import com.autoprime.dto.UserReportRow;
 import com.autoprime.model.User;
 import com.autoprime.model.Role;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,4 +28,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     
     List<User> findByNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+    
+    // Rows of {role, count}
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countGroupedByRole();
+    
+    String REPORT_ROW = "SELECT new com.autoprime.dto.UserReportRow(u.id, u.name, u.email, u.phone, " +
+                        "u.role, u.createdAt) FROM User u";
+    
+    @Query(value = REPORT_ROW, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserReportRow> findReportRows(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(REPORT_ROW + " ORDER BY u.id")
+    Stream<UserReportRow> streamReportRows();
+    
+    @Modifying
+    @Query("UPDATE User u SET u.tokensNotBefore = :cutoff WHERE u.id = :userId")
+    int updateTokensNotBefore(@Param("userId") Long userId, @Param("cutoff") LocalDateTime cutoff);
+    
+    // Rows of {id, tokensNotBefore}
+    @Query("SELECT u.id, u.tokensNotBefore FROM User u WHERE u.tokensNotBefore > :after")
+    List<Object[]> findTokenCutoffsAfter(@Param("after") LocalDateTime after);
+    
+    // Keyset pages, newest first; see KeysetPager
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findFirstPage(Pageable limit);
+    
+    @Query("SELECT u FROM User u WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                             Pageable limit);
+}
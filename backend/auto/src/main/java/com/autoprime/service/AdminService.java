@@ -4,20 +4,30 @@ package com.autoprime.service;
 
 import com.autoprime.model.User;
 import com.autoprime.model.Car;
-import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.CarStatus;
 import com.autoprime.model.Payment;
+import com.autoprime.model.PaymentStatus;
+import com.autoprime.model.Role;
 import com.autoprime.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class AdminService {
     
+    static final int MAX_REPORT_PAGE_SIZE = 500;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -30,33 +40,43 @@ public class AdminService {
     @Autowired
     private PaymentRepository paymentRepository;
     
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+    
+    @Autowired
+    private RevenueCube revenueCube;
+    
     public Map<String, Object> getAdminDashboard() {
         Map<String, Object> dashboard = new HashMap<>();
         
         // User statistics
-        long totalUsers = userRepository.count();
-        long totalHosts = userRepository.findByRole(com.autoprime.model.Role.HOST).size();
+        long totalUsers = dashboardMetrics.totalUsers();
+        long totalHosts = dashboardMetrics.users(Role.HOST);
         
         // Car statistics
-        long totalCars = carRepository.count();
-        long availableCars = carRepository.findByStatus("AVAILABLE").size();
+        long totalCars = dashboardMetrics.totalCars();
+        long availableCars = dashboardMetrics.cars(CarStatus.AVAILABLE);
         
         // Booking statistics
-        long totalBookings = bookingRepository.count();
-        long activeBookings = bookingRepository.findByStatus("CONFIRMED").size();
-        long completedBookings = bookingRepository.findByStatus("COMPLETED").size();
+        long totalBookings = dashboardMetrics.totalBookings();
+        long activeBookings = dashboardMetrics.bookings(BookingStatus.CONFIRMED);
+        long completedBookings = dashboardMetrics.bookings(BookingStatus.COMPLETED);
         
         // Revenue statistics
-        double totalRevenue = bookingRepository.findAll().stream()
-                .filter(b -> "COMPLETED".equals(b.getStatus()) || "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getTotal)
-                .sum();
+        double totalRevenue = dashboardMetrics.paidRevenue();
+        double todayRevenue = dashboardMetrics.paidRevenueOn(LocalDate.now());
+        
+        Map<String, Long> bookingsByStatus = new LinkedHashMap<>();
+        Map<String, Double> revenueByStatus = new LinkedHashMap<>();
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingsByStatus.put(status.name(), dashboardMetrics.bookings(status));
+            revenueByStatus.put(status.name(), dashboardMetrics.bookingRevenue(status));
+        }
         
-        double todayRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getCreatedAt().toLocalDate().equals(LocalDate.now()))
-                .filter(b -> "COMPLETED".equals(b.getStatus()) || "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getTotal)
-                .sum();
+        Map<String, Long> paymentsByStatus = new LinkedHashMap<>();
+        for (PaymentStatus status : PaymentStatus.values()) {
+            paymentsByStatus.put(status.name(), dashboardMetrics.payments(status));
+        }
         
         dashboard.put("totalUsers", totalUsers);
         dashboard.put("totalHosts", totalHosts);
@@ -67,42 +87,67 @@ public class AdminService {
         dashboard.put("completedBookings", completedBookings);
         dashboard.put("totalRevenue", totalRevenue);
         dashboard.put("todayRevenue", todayRevenue);
+        dashboard.put("bookingsByStatus", bookingsByStatus);
+        dashboard.put("revenueByStatus", revenueByStatus);
+        dashboard.put("paymentsByStatus", paymentsByStatus);
         
         return dashboard;
     }
     
-    public Map<String, Object> getReports(String reportType) {
+    /**
+     * One page of a report with its headline figures; full reports are
+     * exported through ReportService
+     */
+    public Map<String, Object> getReports(String reportType, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_REPORT_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_REPORT_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
         Map<String, Object> report = new HashMap<>();
         
         switch (reportType.toUpperCase()) {
             case "USERS":
-                report.put("users", userRepository.findAll());
-                report.put("totalUsers", userRepository.count());
+                report.put("users", userRepository.findReportRows(pageable).getContent());
+                report.put("totalUsers", dashboardMetrics.totalUsers());
                 break;
                 
             case "BOOKINGS":
-                List<Booking> bookings = bookingRepository.findAll();
-                report.put("bookings", bookings);
-                report.put("totalBookings", bookings.size());
-                report.put("revenue", bookings.stream()
-                        .filter(b -> "COMPLETED".equals(b.getStatus()))
-                        .mapToDouble(Booking::getTotal)
-                        .sum());
+                report.put("bookings", bookingRepository.findReportRows(pageable).getContent());
+                report.put("totalBookings", dashboardMetrics.totalBookings());
+                report.put("revenue", dashboardMetrics.bookingRevenue(BookingStatus.COMPLETED));
                 break;
                 
             case "REVENUE":
-                double revenue = bookingRepository.findAll().stream()
-                        .filter(b -> "COMPLETED".equals(b.getStatus()) || "CONFIRMED".equals(b.getStatus()))
-                        .mapToDouble(Booking::getTotal)
-                        .sum();
-                report.put("totalRevenue", revenue);
-                report.put("payments", paymentRepository.findAll());
+                report.put("totalRevenue", dashboardMetrics.paidRevenue());
+                report.put("payments", paymentRepository.findReportRows(pageable).getContent());
                 break;
                 
             default:
                 throw new RuntimeException("Invalid report type");
         }
         
+        report.put("page", page);
+        report.put("size", size);
         return report;
     }
+    
+    /**
+     * Paid revenue rolled up by period and any of host, location and type;
+     * defaults to the year ending today, by month
+     */
+    public Map<String, Object> getRevenueAnalytics(String groupBy, String granularity,
+                                                   LocalDate from, LocalDate to) {
+        Set<RevenueCube.Dimension> dimensions = RevenueCube.Dimension.parseAll(groupBy);
+        RevenueCube.Granularity period = RevenueCube.Granularity.parse(granularity);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+        
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("from", start);
+        analytics.put("to", end);
+        analytics.put("granularity", period.name());
+        analytics.put("groupBy", dimensions.stream().map(Enum::name).collect(Collectors.toList()));
+        analytics.put("rows", revenueCube.revenue(dimensions, period, start, end));
+        return analytics;
+    }
 }
\ No newline at end of file
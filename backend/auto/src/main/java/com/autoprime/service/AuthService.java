@@ -1,12 +1,17 @@
 package com.autoprime.service;
 
 import com.autoprime.dto.*;
+import com.autoprime.event.UserEvent;
+import com.autoprime.exception.ValidationException;
 import com.autoprime.model.Role;
 import com.autoprime.model.User;
 import com.autoprime.repository.UserRepository;
+import com.autoprime.util.JwtPrincipal;
 import com.autoprime.util.JwtUtil;
+import com.autoprime.util.PasswordHasher;
+import com.autoprime.util.ValidationUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -16,11 +21,20 @@ public class AuthService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private SessionService sessionService;
+    
+    @Autowired
+    private UserService userService;
+    
     public AuthResponse register(RegisterRequest request) {
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -31,7 +45,7 @@ public class AuthService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.encode(request.getPassword()));
         user.setPhone(request.getPhone());
         user.setLicenseNumber(request.getLicense());
         user.setAddress(request.getAddress());
@@ -39,14 +53,9 @@ public class AuthService {
         
         // Save user
         user = userRepository.save(user);
+        eventPublisher.publishEvent(UserEvent.created(user));
         
-        // Generate token
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
-        
-        // Create UserDTO
-        UserDTO userDTO = convertToDTO(user);
-        
-        return new AuthResponse(token, "User registered successfully!", userDTO);
+        return newSession(user, "User registered successfully!");
     }
     
     public AuthResponse login(LoginRequest request) {
@@ -55,17 +64,54 @@ public class AuthService {
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
         
         // Check password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid email or password");
         }
         
-        // Generate token
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
-        
-        // Create UserDTO
-        UserDTO userDTO = convertToDTO(user);
+        // The password is known only now, so this is when a hash made at an old cost is replaced
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(request.getPassword()));
+            user = userRepository.save(user);
+        }
         
-        return new AuthResponse(token, "Login successful!", userDTO);
+        return newSession(user, "Login successful!");
+    }
+    
+    /**
+     * A new access token for a refresh token, which is used up and replaced
+     */
+    public AuthResponse refresh(String refreshToken) {
+        SessionService.Rotation rotation = sessionService.rotate(refreshToken);
+        if (rotation == null) {
+            throw new RuntimeException("Invalid or expired refresh token");
+        }
+        User user = rotation.user();
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+        return new AuthResponse(token, rotation.refreshToken(), "Token refreshed", convertToDTO(user));
+    }
+    
+    public void logout(JwtPrincipal principal, String refreshToken) {
+        sessionService.logout(principal, refreshToken);
+    }
+    
+    /**
+     * Change the caller's password, ending every session including this
+     * one, and start a new session for the caller
+     */
+    public AuthResponse changePassword(JwtPrincipal principal, ChangePasswordRequest request) {
+        if (!ValidationUtil.isValidPassword(request.getNewPassword())) {
+            throw new ValidationException("Password must be at least 6 characters");
+        }
+        User user = userService.updatePassword(principal.userId(), request.getCurrentPassword(),
+                request.getNewPassword());
+        sessionService.revokeAccessToken(principal);
+        return newSession(user, "Password changed successfully!");
+    }
+    
+    private AuthResponse newSession(User user, String message) {
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+        String refreshToken = sessionService.issueRefreshToken(user);
+        return new AuthResponse(token, refreshToken, message, convertToDTO(user));
     }
     
     private UserDTO convertToDTO(User user) {
@@ -0,0 +1,422 @@
+// AvailabilityCalendar.java
+package com.autoprime.service;
+
+import com.autoprime.dto.BookingInterval;
+import com.autoprime.dto.CarAttributes;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.repository.CarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Per-car day bitmaps over a rolling window starting today. Bit i of a
+ * car's row is set when an active booking covers day (origin + i), so a
+ * date-range search is a handful of word-level ANDs per car.
+ */
+@Service
+public class AvailabilityCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityCalendar.class);
+
+    public static final int WINDOW_DAYS = 365;
+
+    // 6 x 64 = 384 bits, enough to cover the whole window
+    static final int WORDS = (WINDOW_DAYS + 63) / 64;
+
+    private static final int NO_FILTER = -1;
+    private static final int UNKNOWN = -2;
+
+    public record Page(List<Long> carIds, int total) {
+    }
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Epoch day of bit 0
+    private int origin;
+
+    // Slot-major columns; a car keeps its slot for its lifetime
+    private long[] bits = new long[0];
+    private long[] carIds = new long[0];
+    private int[] typeCodes = new int[0];
+    private int[] locationCodes = new int[0];
+    private boolean[] bookable = new boolean[0];
+    private int slotCount;
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private final Map<Long, Integer> slotByCar = new HashMap<>();
+
+    private final Map<String, Integer> typeDictionary = new HashMap<>();
+    private final Map<String, Integer> locationDictionary = new HashMap<>();
+
+    // Active bookings per car as bookingId -> {startEpochDay, endEpochDay}, kept so
+    // a row can be rebuilt when one of several overlapping bookings goes away
+    private final Map<Long, Map<Long, int[]>> bookingsByCar = new HashMap<>();
+
+    // Changes applied while a warm-up is loading, replayed onto the fresh
+    // snapshot; both only touched under the write lock
+    private boolean warming;
+    private final Queue<Runnable> replay = new ArrayDeque<>();
+
+    /**
+     * Load all cars and active bookings, replacing the current contents.
+     * Changes made while loading are replayed on top, so none is lost
+     * whether or not the load saw it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warm() {
+        lock.writeLock().lock();
+        try {
+            warming = true;
+            replay.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<CarAttributes> cars = carRepository.findAllAttributes();
+        List<BookingInterval> intervals;
+        try (Stream<BookingInterval> active = bookingRepository.streamIntervalsByStatusIn(BookingStatus.ACTIVE)) {
+            intervals = active.toList();
+        }
+
+        lock.writeLock().lock();
+        try {
+            origin = today();
+            slotCount = 0;
+            freeSlots.clear();
+            slotByCar.clear();
+            bookingsByCar.clear();
+            ensureCapacity(cars.size());
+            Arrays.fill(bits, 0L);
+            for (CarAttributes car : cars) {
+                upsertCar(car.id(), car.type(), car.location(), car.status());
+            }
+            for (BookingInterval i : intervals) {
+                addBooking(i.carId(), i.bookingId(),
+                        (int) i.startDate().toEpochDay(), (int) i.endDate().toEpochDay());
+            }
+            while (!replay.isEmpty()) {
+                replay.poll().run();
+            }
+            warming = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Availability calendar warmed with {} cars", cars.size());
+    }
+
+    /**
+     * Find cars of the given type and location (either may be null) that have
+     * no active booking on any day of [from, to]
+     */
+    public Page findAvailable(LocalDate from, LocalDate to, String type, String location,
+                              int offset, int limit) {
+        rollIfNeeded();
+        lock.readLock().lock();
+        try {
+            int fromBit = fromBit(from, to);
+            int toBit = (int) to.toEpochDay() - origin;
+
+            int typeCode = code(typeDictionary, type);
+            int locationCode = code(locationDictionary, location);
+            if (typeCode == UNKNOWN || locationCode == UNKNOWN) {
+                return new Page(List.of(), 0);
+            }
+
+            // Range masks are the same for every car, so build them once
+            int firstWord = fromBit >>> 6;
+            long[] masks = masks(fromBit, toBit);
+
+            List<Long> page = new ArrayList<>(Math.min(limit, 256));
+            int total = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (!bookable[slot]
+                        || (typeCode != NO_FILTER && typeCodes[slot] != typeCode)
+                        || (locationCode != NO_FILTER && locationCodes[slot] != locationCode)) {
+                    continue;
+                }
+                if (isFree(slot, firstWord, masks)) {
+                    if (total >= offset && page.size() < limit) {
+                        page.add(carIds[slot]);
+                    }
+                    total++;
+                }
+            }
+            return new Page(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Those of the given cars that are bookable and have no active booking
+     * on any day of [from, to], in the given order
+     */
+    public List<Long> retainAvailable(List<Long> candidates, LocalDate from, LocalDate to) {
+        rollIfNeeded();
+        lock.readLock().lock();
+        try {
+            int fromBit = fromBit(from, to);
+            int toBit = (int) to.toEpochDay() - origin;
+            int firstWord = fromBit >>> 6;
+            long[] masks = masks(fromBit, toBit);
+
+            List<Long> available = new ArrayList<>();
+            for (Long carId : candidates) {
+                Integer slot = slotByCar.get(carId);
+                if (slot != null && bookable[slot] && isFree(slot, firstWord, masks)) {
+                    available.add(carId);
+                }
+            }
+            return available;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bit of from in the window, once the whole range is known to fit it
+    private int fromBit(LocalDate from, LocalDate to) {
+        int fromBit = (int) from.toEpochDay() - origin;
+        int toBit = (int) to.toEpochDay() - origin;
+        if (fromBit < 0 || toBit < fromBit || toBit >= WINDOW_DAYS) {
+            throw new RuntimeException("Date range must fall within the next " + WINDOW_DAYS + " days");
+        }
+        return fromBit;
+    }
+
+    private static long[] masks(int fromBit, int toBit) {
+        int firstWord = fromBit >>> 6;
+        int lastWord = toBit >>> 6;
+        long[] masks = new long[lastWord - firstWord + 1];
+        for (int w = firstWord; w <= lastWord; w++) {
+            masks[w - firstWord] = rangeMask(w, fromBit, toBit);
+        }
+        return masks;
+    }
+
+    private boolean isFree(int slot, int firstWord, long[] masks) {
+        int base = slot * WORDS + firstWord;
+        for (int m = 0; m < masks.length; m++) {
+            if ((bits[base + m] & masks[m]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        event.applyUntilRollback(this::apply);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarEvent(CarEvent event) {
+        Car car = event.car();
+        Long carId = car.getId();
+        if (event.type() == CarEvent.Type.DELETED) {
+            record(() -> removeCar(carId));
+        } else {
+            String type = car.getType();
+            String location = car.getLocation();
+            CarStatus status = event.status();
+            record(() -> upsertCar(carId, type, location, status));
+        }
+    }
+
+    void apply(BookingEvent event) {
+        rollIfNeeded();
+        if (event.type() != BookingEvent.Type.DELETED && event.isActive()) {
+            record(() -> addBooking(event.carId(), event.bookingId(),
+                    (int) event.startDate().toEpochDay(), (int) event.endDate().toEpochDay()));
+        } else {
+            record(() -> removeBooking(event.carId(), event.bookingId()));
+        }
+    }
+
+    private void record(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (warming) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int today() {
+        return (int) LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * Slide the window forward when the day changes, dropping past bookings
+     */
+    private void rollIfNeeded() {
+        if (today() == origin) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int now = today();
+            if (now == origin) {
+                return;
+            }
+            origin = now;
+            Arrays.fill(bits, 0L);
+            for (Map.Entry<Long, Map<Long, int[]>> entry : bookingsByCar.entrySet()) {
+                Integer slot = slotByCar.get(entry.getKey());
+                Iterator<int[]> ranges = entry.getValue().values().iterator();
+                while (ranges.hasNext()) {
+                    int[] range = ranges.next();
+                    if (range[1] < origin) {
+                        ranges.remove();
+                    } else if (slot != null) {
+                        setRange(slot, range[0], range[1]);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertCar(Long carId, String type, String location, CarStatus status) {
+        Integer slot = slotByCar.get(carId);
+        if (slot == null) {
+            if (!freeSlots.isEmpty()) {
+                slot = freeSlots.remove(freeSlots.size() - 1);
+            } else {
+                ensureCapacity(slotCount + 1);
+                slot = slotCount++;
+            }
+            slotByCar.put(carId, slot);
+            Arrays.fill(bits, slot * WORDS, slot * WORDS + WORDS, 0L);
+            Map<Long, int[]> bookings = bookingsByCar.get(carId);
+            if (bookings != null) {
+                for (int[] range : bookings.values()) {
+                    setRange(slot, range[0], range[1]);
+                }
+            }
+        }
+        carIds[slot] = carId;
+        typeCodes[slot] = intern(typeDictionary, type);
+        locationCodes[slot] = intern(locationDictionary, location);
+        bookable[slot] = status != null && status.isBookable();
+    }
+
+    private void removeCar(Long carId) {
+        Integer slot = slotByCar.remove(carId);
+        bookingsByCar.remove(carId);
+        if (slot != null) {
+            bookable[slot] = false;
+            carIds[slot] = 0L;
+            Arrays.fill(bits, slot * WORDS, slot * WORDS + WORDS, 0L);
+            freeSlots.add(slot);
+        }
+    }
+
+    private void addBooking(Long carId, Long bookingId, int start, int end) {
+        if (end < origin) {
+            return;
+        }
+        bookingsByCar.computeIfAbsent(carId, id -> new HashMap<>()).put(bookingId, new int[] { start, end });
+        Integer slot = slotByCar.get(carId);
+        if (slot != null) {
+            setRange(slot, start, end);
+        }
+    }
+
+    private void removeBooking(Long carId, Long bookingId) {
+        Map<Long, int[]> bookings = bookingsByCar.get(carId);
+        if (bookings == null || bookings.remove(bookingId) == null) {
+            return;
+        }
+        Integer slot = slotByCar.get(carId);
+        if (slot == null) {
+            return;
+        }
+        // Rebuild the row, since the freed days may still be covered by another booking
+        Arrays.fill(bits, slot * WORDS, slot * WORDS + WORDS, 0L);
+        for (int[] range : bookings.values()) {
+            setRange(slot, range[0], range[1]);
+        }
+    }
+
+    private void setRange(int slot, int startDay, int endDay) {
+        int fromBit = Math.max(startDay - origin, 0);
+        int toBit = Math.min(endDay - origin, WORDS * 64 - 1);
+        if (toBit < fromBit) {
+            return;
+        }
+        int base = slot * WORDS;
+        for (int w = fromBit >>> 6; w <= toBit >>> 6; w++) {
+            bits[base + w] |= rangeMask(w, fromBit, toBit);
+        }
+    }
+
+    /**
+     * Bits of word w that fall inside [fromBit, toBit]
+     */
+    static long rangeMask(int w, int fromBit, int toBit) {
+        int lo = Math.max(fromBit - (w << 6), 0);
+        int hi = Math.min(toBit - (w << 6), 63);
+        long upTo = hi == 63 ? -1L : (1L << (hi + 1)) - 1;
+        return upTo & (-1L << lo);
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots <= carIds.length) {
+            return;
+        }
+        int capacity = Math.max(slots, Math.max(16, carIds.length * 2));
+        bits = Arrays.copyOf(bits, capacity * WORDS);
+        carIds = Arrays.copyOf(carIds, capacity);
+        typeCodes = Arrays.copyOf(typeCodes, capacity);
+        locationCodes = Arrays.copyOf(locationCodes, capacity);
+        bookable = Arrays.copyOf(bookable, capacity);
+    }
+
+    private static int intern(Map<String, Integer> dictionary, String value) {
+        String key = value == null ? "" : value.trim().toLowerCase();
+        return dictionary.computeIfAbsent(key, k -> dictionary.size());
+    }
+
+    private static int code(Map<String, Integer> dictionary, String value) {
+        if (value == null || value.isBlank()) {
+            return NO_FILTER;
+        }
+        return dictionary.getOrDefault(value.trim().toLowerCase(), UNKNOWN);
+    }
+}
@@ -0,0 +1,239 @@
+// AvailabilityIndex.java
+package com.autoprime.service;
+
+import com.autoprime.dto.BookingInterval;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.util.IntervalTree;
+import com.autoprime.util.StripedLocks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory per-car interval index of PENDING and CONFIRMED bookings,
+ * so booking conflict checks do not have to hit the bookings table.
+ * Trees are guarded by locks striped by car id rather than by monitors,
+ * so a virtual thread waiting for one does not pin its carrier.
+ */
+@Service
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private volatile Map<Long, IntervalTree> trees = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    private final StripedLocks treeLocks = new StripedLocks(256);
+
+    // Events seen while a warm-up is loading, replayed onto the fresh snapshot
+    private final ReentrantLock warmLock = new ReentrantLock();
+    private boolean warming;
+    private final Queue<BookingEvent> replay = new ArrayDeque<>();
+
+    /**
+     * Whether the index has been loaded and can answer conflict checks
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Check whether any active booking of the car overlaps [startDate, endDate]
+     */
+    public boolean hasConflict(Long carId, LocalDate startDate, LocalDate endDate) {
+        IntervalTree tree = trees.get(carId);
+        if (tree == null) {
+            return false;
+        }
+        ReentrantLock lock = treeLocks.get(carId);
+        lock.lock();
+        try {
+            return tree.findOverlap((int) startDate.toEpochDay(), (int) endDate.toEpochDay()) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of active bookings currently held by the index
+     */
+    public long size() {
+        long total = 0;
+        for (Map.Entry<Long, IntervalTree> entry : trees.entrySet()) {
+            ReentrantLock lock = treeLocks.get(entry.getKey());
+            lock.lock();
+            try {
+                total += entry.getValue().size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Load all active bookings from the database, replacing the current contents
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warm() {
+        warmLock.lock();
+        try {
+            warming = true;
+            replay.clear();
+        } finally {
+            warmLock.unlock();
+        }
+
+        Map<Long, IntervalTree> loaded = new ConcurrentHashMap<>();
+        long count = 0;
+        try (Stream<BookingInterval> intervals = bookingRepository.streamIntervalsByStatusIn(BookingStatus.ACTIVE)) {
+            for (BookingInterval interval : (Iterable<BookingInterval>) intervals::iterator) {
+                loaded.computeIfAbsent(interval.carId(), id -> new IntervalTree())
+                        .put(interval.bookingId(),
+                             (int) interval.startDate().toEpochDay(),
+                             (int) interval.endDate().toEpochDay());
+                count++;
+            }
+        }
+
+        warmLock.lock();
+        try {
+            trees = loaded;
+            while (!replay.isEmpty()) {
+                applyTo(loaded, replay.poll());
+            }
+            warming = false;
+        } finally {
+            warmLock.unlock();
+        }
+        ready = true;
+        log.info("Availability index warmed with {} active bookings across {} cars", count, loaded.size());
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        // Bookings become visible to conflict checks as soon as they are written
+        event.applyUntilRollback(this::apply);
+    }
+
+    void apply(BookingEvent event) {
+        warmLock.lock();
+        try {
+            if (warming) {
+                replay.add(event);
+            }
+        } finally {
+            warmLock.unlock();
+        }
+        applyTo(trees, event);
+    }
+
+    private void applyTo(Map<Long, IntervalTree> target, BookingEvent event) {
+        ReentrantLock lock = treeLocks.get(event.carId());
+        if (event.type() != BookingEvent.Type.DELETED && event.isActive()) {
+            IntervalTree tree = target.computeIfAbsent(event.carId(), id -> new IntervalTree());
+            lock.lock();
+            try {
+                tree.put(event.bookingId(),
+                         (int) event.startDate().toEpochDay(),
+                         (int) event.endDate().toEpochDay());
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            IntervalTree tree = target.get(event.carId());
+            if (tree != null) {
+                lock.lock();
+                try {
+                    tree.remove(event.bookingId());
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare the index against the bookings table and report any drift
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> verify() {
+        Map<Long, IntervalTree> snapshot = trees;
+        Set<Long> seen = new HashSet<>();
+        long checked = 0;
+        long missing = 0;
+        long mismatched = 0;
+
+        try (Stream<BookingInterval> intervals = bookingRepository.streamIntervalsByStatusIn(BookingStatus.ACTIVE)) {
+            for (BookingInterval interval : (Iterable<BookingInterval>) intervals::iterator) {
+                checked++;
+                seen.add(interval.bookingId());
+                IntervalTree tree = snapshot.get(interval.carId());
+                int[] dates = null;
+                if (tree != null) {
+                    ReentrantLock lock = treeLocks.get(interval.carId());
+                    lock.lock();
+                    try {
+                        dates = tree.get(interval.bookingId());
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                if (dates == null) {
+                    missing++;
+                } else if (dates[0] != interval.startDate().toEpochDay()
+                        || dates[1] != interval.endDate().toEpochDay()) {
+                    mismatched++;
+                }
+            }
+        }
+
+        long stale = 0;
+        for (Map.Entry<Long, IntervalTree> entry : snapshot.entrySet()) {
+            long[] staleInTree = new long[1];
+            ReentrantLock lock = treeLocks.get(entry.getKey());
+            lock.lock();
+            try {
+                entry.getValue().forEachId(id -> {
+                    if (!seen.contains(id)) {
+                        staleInTree[0]++;
+                    }
+                });
+            } finally {
+                lock.unlock();
+            }
+            stale += staleInTree[0];
+        }
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("ready", ready);
+        report.put("checked", checked);
+        report.put("missing", missing);
+        report.put("mismatched", mismatched);
+        report.put("stale", stale);
+        report.put("consistent", missing == 0 && mismatched == 0 && stale == 0);
+        return report;
+    }
+}
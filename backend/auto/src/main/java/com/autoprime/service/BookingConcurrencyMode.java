@@ -0,0 +1,18 @@
+// BookingConcurrencyMode.java
+package com.autoprime.service;
+
+/**
+ * How BookingService.createBooking serializes concurrent bookings of
+ * the same car. Selected with booking.concurrency.mode.
+ */
+public enum BookingConcurrencyMode {
+    
+    // In-JVM lock per car stripe; only safe with a single application instance
+    STRIPED,
+    
+    // Bump Car.version on every booking and retry the loser
+    OPTIMISTIC,
+    
+    // SELECT ... FOR UPDATE on the car row for the length of the transaction
+    PESSIMISTIC
+}
@@ -0,0 +1,165 @@
+// BookingHoldService.java
+package com.autoprime.service;
+
+import com.autoprime.dto.BookingHold;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.util.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Expires unpaid PENDING bookings after a configurable hold time. Holds
+ * live in a single in-process timer wheel ticked by one thread, and are
+ * reloaded from the bookings table on startup.
+ */
+@Service
+public class BookingHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingHoldService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Lazy
+    @Autowired
+    private BookingService bookingService;
+
+    @Value("${booking.hold.ttl-minutes:15}")
+    private long ttlMinutes;
+
+    @Value("${booking.hold.tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${booking.hold.retry-millis:5000}")
+    private long retryMillis;
+
+    private TimerWheel wheel;
+
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimerWheel(tickMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * When a booking created now should stop holding its car
+     */
+    public LocalDateTime newHoldExpiry() {
+        return LocalDateTime.now().plusMinutes(ttlMinutes);
+    }
+
+    /**
+     * Start the hold clock for a PENDING booking once its transaction commits
+     */
+    public void hold(Booking booking) {
+        Long id = booking.getId();
+        long deadline = toMillis(booking.getHoldExpiresAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wheel.schedule(id, deadline);
+                }
+            });
+        } else {
+            wheel.schedule(id, deadline);
+        }
+    }
+
+    /**
+     * Number of holds waiting to expire
+     */
+    public int pendingHolds() {
+        return wheel.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.previousStatus() == BookingStatus.PENDING && event.status() != BookingStatus.PENDING) {
+            wheel.cancel(event.bookingId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void start() {
+        int recovered = 0;
+        try (Stream<BookingHold> holds = bookingRepository.streamHoldsByStatus(BookingStatus.PENDING)) {
+            for (BookingHold hold : (Iterable<BookingHold>) holds::iterator) {
+                wheel.schedule(hold.bookingId(), toMillis(hold.holdExpiresAt()));
+                recovered++;
+            }
+        }
+        log.info("Recovered {} pending booking holds", recovered);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-hold-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    // Each booking expires in its own transaction, so one that fails is
+    // retried later without holding back the rest
+    void tick() {
+        long now = System.currentTimeMillis();
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(now, expired::add);
+        int cancelled = 0;
+        List<Long> failed = new ArrayList<>();
+        for (Long id : expired) {
+            try {
+                if (bookingService.expireHold(id)) {
+                    cancelled++;
+                }
+            } catch (RuntimeException e) {
+                failed.add(id);
+                wheel.schedule(id, now + retryMillis);
+                log.debug("Failed to expire booking hold {}", id, e);
+            }
+        }
+        if (cancelled > 0) {
+            log.info("Cancelled {} unpaid bookings whose hold expired", cancelled);
+        }
+        if (!failed.isEmpty()) {
+            log.warn("Failed to expire booking holds {}, retrying in {} ms", failed, retryMillis);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,18 +1,36 @@
 package com.autoprime.service;
 
+import com.autoprime.dto.CursorPage;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
 import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
 import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
 import com.autoprime.model.User;
 import com.autoprime.repository.BookingRepository;
 import com.autoprime.repository.CarRepository;
 import com.autoprime.repository.UserRepository;
+import com.autoprime.util.Cursor;
+import com.autoprime.util.KeysetPager;
+import com.autoprime.util.PriceQuote;
+import com.autoprime.util.PricingEngine;
+import com.autoprime.util.StripedLocks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class BookingService {
@@ -26,8 +44,35 @@ public class BookingService {
     @Autowired
     private UserRepository userRepository;
     
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
+    @Autowired
+    private BookingHoldService bookingHoldService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${booking.concurrency.mode:STRIPED}")
+    private BookingConcurrencyMode concurrencyMode;
+    
+    @Value("${booking.concurrency.max-retries:3}")
+    private int maxRetries;
+    
+    private final StripedLocks carLocks = new StripedLocks(256);
+    
+    public CursorPage<Booking> getAllBookings(String cursor, Integer size) {
+        return keysetPager.page(cursor, size, bookingRepository::findFirstPage, bookingRepository::findPageAfter,
+                b -> new Cursor(b.getCreatedAt(), b.getId()));
     }
     
     public Booking getBookingById(Long id) {
@@ -47,115 +92,186 @@ public class BookingService {
         return bookingRepository.findByCar(car);
     }
     
-    public List<Booking> getBookingsByStatus(String status) {
+    public List<Booking> getBookingsByStatus(BookingStatus status) {
         return bookingRepository.findByStatus(status);
     }
     
-    @Transactional
+    /**
+     * Create a booking, serializing concurrent attempts on the same car
+     * according to booking.concurrency.mode. The car's version is checked
+     * in every mode, so an attempt that loses a race on the car's row (to
+     * another booking in OPTIMISTIC mode, or to a host editing the car in
+     * any mode) is retried on a fresh copy of the car.
+     */
     public Booking createBooking(Booking booking, Long userId, Long carId) {
+        for (int attempt = 0; ; attempt++) {
+            boolean retry = attempt > 0;
+            try {
+                return tryCreateBooking(booking, userId, carId, retry);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxRetries) {
+                    throw new RuntimeException("Car is being booked or updated by someone else, please try again");
+                }
+                // The failed insert may have assigned an id that was rolled back
+                booking.setId(null);
+            }
+        }
+    }
+    
+    private Booking tryCreateBooking(Booking booking, Long userId, Long carId, boolean retry) {
+        if (concurrencyMode != BookingConcurrencyMode.STRIPED) {
+            return transactionTemplate.execute(tx -> doCreateBooking(booking, userId, carId, retry));
+        }
+        // Hold the lock across commit so the next booking sees this one
+        ReentrantLock lock = carLocks.get(carId);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(tx -> doCreateBooking(booking, userId, carId, retry));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private Booking doCreateBooking(Booking booking, Long userId, Long carId, boolean retry) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        Car car = carRepository.findById(carId)
-                .orElseThrow(() -> new RuntimeException("Car not found"));
+        Car car = switch (concurrencyMode) {
+            case PESSIMISTIC -> carRepository.findByIdForUpdate(carId)
+                    .orElseThrow(() -> new RuntimeException("Car not found"));
+            case OPTIMISTIC -> carRepository.findByIdWithVersionBump(carId)
+                    .orElseThrow(() -> new RuntimeException("Car not found"));
+            default -> carRepository.findById(carId)
+                    .orElseThrow(() -> new RuntimeException("Car not found"));
+        };
+        if (retry) {
+            // The copy that lost the race may still be in the persistence context
+            entityManager.refresh(car, entityManager.getLockMode(car));
+        }
         
-        // Check if car is available
-        if (!"AVAILABLE".equals(car.getStatus())) {
+        // A car with other bookings can still be booked for free dates, checked below
+        if (!car.getStatus().isBookable()) {
             throw new RuntimeException("Car is not available");
         }
         
-        // Check for date conflicts
-        List<Booking> conflicts = bookingRepository
-                .findByCarAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-                        car, booking.getEndDate(), booking.getStartDate()
-                );
+        // Check for date conflicts, falling back to the database until the index is warm
+        boolean conflict = availabilityIndex.isReady()
+                ? availabilityIndex.hasConflict(carId, booking.getStartDate(), booking.getEndDate())
+                : bookingRepository.existsByCarAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        car, BookingStatus.ACTIVE, booking.getEndDate(), booking.getStartDate());
         
-        if (!conflicts.isEmpty()) {
+        if (conflict) {
             throw new RuntimeException("Car is already booked for these dates");
         }
         
-        // Calculate days
-        long days = ChronoUnit.DAYS.between(booking.getStartDate(), booking.getEndDate()) + 1;
-        booking.setDays((int) days);
-        
         // Calculate price
-        double subtotal = calculatePrice(car, booking.getStartDate(), booking.getEndDate());
-        booking.setSubtotal(subtotal);
-        
-        // Apply discount
-        double discount = 0.0;
-        if (days >= 30) {
-            discount = subtotal * 0.10; // 10% for 30+ days
-        } else if (days >= 7) {
-            discount = subtotal * 0.10; // 10% for 7+ days
-        }
-        booking.setDiscount(discount);
-        
-        // Calculate GST
-        double afterDiscount = subtotal - discount;
-        double gst = afterDiscount * 0.18;
-        booking.setGst(gst);
-        
-        // Calculate total
-        double total = afterDiscount + gst;
-        booking.setTotal(total);
+        PriceQuote quote = PricingEngine.quote(car, booking.getStartDate(), booking.getEndDate());
+        booking.setDays(quote.days());
+        booking.setSubtotal(quote.subtotal());
+        booking.setDiscount(quote.discount());
+        booking.setGst(quote.gst());
+        booking.setTotal(quote.total());
         
         booking.setUser(user);
         booking.setCar(car);
-        booking.setStatus("PENDING");
-        
-        // Update car status
-        car.setStatus("BOOKED");
-        carRepository.save(car);
-        
-        return bookingRepository.save(booking);
-    }
-    
-    private double calculatePrice(Car car, LocalDate startDate, LocalDate endDate) {
-        double total = 0.0;
-        LocalDate currentDate = startDate;
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setHoldExpiresAt(bookingHoldService.newHoldExpiry());
         
-        while (!currentDate.isAfter(endDate)) {
-            double dayPrice = car.getPricePerDay();
-            
-            // Check if weekend
-            int dayOfWeek = currentDate.getDayOfWeek().getValue();
-            if (dayOfWeek == 6 || dayOfWeek == 7) { // Saturday or Sunday
-                dayPrice += (car.getWeekendExtra() != null ? car.getWeekendExtra() : 0);
-            }
-            
-            total += dayPrice;
-            currentDate = currentDate.plusDays(1);
+        // BOOKED marks a car with at least one active booking
+        if (car.getStatus() == CarStatus.AVAILABLE) {
+            car.setStatus(CarStatus.BOOKED);
+            carRepository.save(car);
+            eventPublisher.publishEvent(CarEvent.saved(car, CarStatus.AVAILABLE));
         }
         
-        return total;
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingEvent.created(saved));
+        bookingHoldService.hold(saved);
+        return saved;
     }
     
+    /**
+     * Move a booking to a new status, rejecting transitions the booking
+     * lifecycle does not allow
+     */
     @Transactional
-    public Booking updateBookingStatus(Long id, String status) {
+    public Booking updateBookingStatus(Long id, BookingStatus status) {
+        return applyStatus(getBookingById(id), status);
+    }
+    
+    /**
+     * Lock the booking's row until the transaction ends and re-read it, so
+     * a payment and a hold expiry racing on it see each other's outcome
+     * even when the booking was already loaded earlier in the request
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Booking lockBooking(Long id) {
         Booking booking = getBookingById(id);
+        entityManager.refresh(booking, LockModeType.PESSIMISTIC_WRITE);
+        return booking;
+    }
+    
+    /**
+     * Cancel the booking if it is still unpaid and past its hold
+     *
+     * @return whether the booking was cancelled
+     */
+    @Transactional
+    public boolean expireHold(Long id) {
+        if (!bookingRepository.existsById(id)) {
+            return false;
+        }
+        Booking booking = lockBooking(id);
+        if (booking.getStatus() != BookingStatus.PENDING
+                || booking.getHoldExpiresAt() == null
+                || booking.getHoldExpiresAt().isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        applyStatus(booking, BookingStatus.CANCELLED);
+        return true;
+    }
+    
+    private Booking applyStatus(Booking booking, BookingStatus status) {
+        BookingStatus previousStatus = booking.getStatus();
+        previousStatus.checkTransitionTo(status);
         booking.setStatus(status);
+        if (status != BookingStatus.PENDING) {
+            booking.setHoldExpiresAt(null);
+        }
         
-        // If booking is cancelled or completed, update car status
-        if ("CANCELLED".equals(status) || "COMPLETED".equals(status)) {
-            Car car = booking.getCar();
-            car.setStatus("AVAILABLE");
-            carRepository.save(car);
+        // If booking is cancelled or completed, release the car
+        if (previousStatus.isActive() && !status.isActive()) {
+            releaseCar(booking.getCar());
         }
         
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingEvent.statusChanged(saved, previousStatus));
+        return saved;
     }
     
     @Transactional
     public void deleteBooking(Long id) {
         Booking booking = getBookingById(id);
+        bookingRepository.delete(booking);
         
         // Update car status if booking was active
-        if ("CONFIRMED".equals(booking.getStatus()) || "PENDING".equals(booking.getStatus())) {
-            Car car = booking.getCar();
-            car.setStatus("AVAILABLE");
-            carRepository.save(car);
+        if (booking.getStatus().isActive()) {
+            releaseCar(booking.getCar());
         }
         
-        bookingRepository.delete(booking);
+        eventPublisher.publishEvent(BookingEvent.deleted(booking));
+    }
+    
+    private void releaseCar(Car car) {
+        // Lock and re-read the car, so a host edit committed meanwhile
+        // neither fails this change nor is overwritten by it
+        entityManager.refresh(car, LockModeType.PESSIMISTIC_WRITE);
+        // A car sent to maintenance meanwhile stays there, and one with
+        // other active bookings stays booked
+        if (car.getStatus() == CarStatus.BOOKED
+                && !bookingRepository.existsByCarAndStatusIn(car, BookingStatus.ACTIVE)) {
+            car.setStatus(CarStatus.AVAILABLE);
+            carRepository.save(car);
+            eventPublisher.publishEvent(CarEvent.saved(car, CarStatus.BOOKED));
+        }
     }
 }
\ No newline at end of file
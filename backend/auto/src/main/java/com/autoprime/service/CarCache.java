@@ -0,0 +1,97 @@
+// CarCache.java
+package com.autoprime.service;
+
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.Car;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Eviction policy and statistics for the second-level cache of Car. Hibernate
+ * already writes through on entity saves; every committed car change is
+ * also evicted explicitly so the next read reloads the row and its
+ * collections, whichever path changed them.
+ */
+@Service
+public class CarCache {
+
+    // Regions as named on Car and configured in caffeine.conf
+    static final String[] REGIONS = { "car", "car-images", "car-features", "car-safety" };
+
+    static final String[] COLLECTION_ROLES = { "images", "features", "safetyFeatures" };
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Published by CarService on update, status change and delete, and by
+     * BookingService when it books or releases a car. CarStats evicts the
+     * cars whose ratings it writes itself.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarEvent(CarEvent event) {
+        evict(event.car().getId());
+    }
+
+    public void evict(Long carId) {
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(Car.class, carId);
+        for (String role : COLLECTION_ROLES) {
+            cache.evictCollectionData(Car.class.getName() + "." + role, carId);
+        }
+    }
+
+    public void evictAll() {
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(Car.class);
+        for (String role : COLLECTION_ROLES) {
+            cache.evictCollectionData(Car.class.getName() + "." + role);
+        }
+        cache.evictDefaultQueryRegion();
+    }
+
+    /**
+     * Hit, miss and put counts of each car region and of the query cache
+     */
+    public Map<String, Object> statistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String name : REGIONS) {
+            regions.put(name, region(statistics, name));
+        }
+        regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, Map.of(
+                "hits", statistics.getQueryCacheHitCount(),
+                "misses", statistics.getQueryCacheMissCount(),
+                "puts", statistics.getQueryCachePutCount()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("regions", regions);
+        return result;
+    }
+
+    private static Map<String, Long> region(Statistics statistics, String name) {
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+        if (region == null) {
+            return Map.of();
+        }
+        return Map.of(
+                "hits", region.getHitCount(),
+                "misses", region.getMissCount(),
+                "puts", region.getPutCount(),
+                "entries", region.getElementCountInMemory());
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,471 @@
+// CarFilter.java
+package com.autoprime.service;
+
+import com.autoprime.dto.CarFacts;
+import com.autoprime.event.CarEvent;
+import com.autoprime.event.CarStatsEvent;
+import com.autoprime.exception.ValidationException;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.util.BitmapColumn;
+import com.autoprime.util.CommitGatedView;
+import com.autoprime.util.RangeColumn;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Combined attribute filters over the fleet, answered from an in-memory
+ * columnar catalog. Type, location, fuel and transmission are dictionary
+ * encoded with a bitmap of cars per value and price and seats have a bitmap
+ * per bucket, so a query is a few bitmap ORs and one AND. The page is then
+ * taken by walking a presorted car order until it is full, or, when few cars
+ * match, by a bounded heap over the matches. Built at startup and kept
+ * current from committed car and car stats events.
+ */
+@Service
+public class CarFilter {
+
+    // Width of the price buckets, per day
+    static final double PRICE_BUCKET = 100.0;
+
+    // Matches below 1/SPARSE of the fleet are ranked directly instead of
+    // walking a sort order that would mostly skip non-matching cars
+    static final int SPARSE = 8;
+
+    public enum Sort {
+        ID(false),
+        PRICE(false),
+        RATING(true),
+        TRIPS(true);
+
+        private final boolean descendingByDefault;
+
+        Sort(boolean descendingByDefault) {
+            this.descendingByDefault = descendingByDefault;
+        }
+
+        public boolean descendingByDefault() {
+            return descendingByDefault;
+        }
+
+        /**
+         * Parse "price", "rating", "totalTrips" (or "trips") or "id"; blank means id
+         */
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            String key = value.trim().toUpperCase(Locale.ROOT);
+            if (key.equals("TOTALTRIPS")) {
+                key = "TRIPS";
+            }
+            try {
+                return valueOf(key);
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Unknown sort: " + value.trim());
+            }
+        }
+    }
+
+    /**
+     * Any of the listed values per categorical attribute, both bounds
+     * inclusive; null or empty means no filter on that attribute
+     */
+    public record Query(List<String> types, List<String> locations, List<String> fuels,
+                        List<String> transmissions, Double minPrice, Double maxPrice,
+                        Integer minSeats, Integer maxSeats) {
+    }
+
+    public record Page(List<Long> carIds, int total) {
+    }
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final CommitGatedView<Catalog> view =
+            new CommitGatedView<>(CarFilter.class, "Car filter catalog", "cars", new Catalog(), Catalog::size);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        view.rebuild(transactionTemplate, () -> {
+            Catalog fresh = new Catalog();
+            carRepository.findAllFacts().forEach(fresh::put);
+            return fresh;
+        });
+    }
+
+    @EventListener
+    public void onCarEvent(CarEvent event) {
+        Long carId = event.car().getId();
+        if (event.type() == CarEvent.Type.DELETED) {
+            view.afterCommit(catalog -> catalog.remove(carId));
+            return;
+        }
+        // Read the car now, while its session may still be open
+        CarFacts facts = CarFacts.of(event.car());
+        view.afterCommit(catalog -> catalog.put(facts));
+    }
+
+    @EventListener
+    public void onCarStatsEvent(CarStatsEvent event) {
+        if (event.type() == CarStatsEvent.Type.RECOMPUTED) {
+            rebuild();
+            return;
+        }
+        view.afterCommit(catalog -> event.changes().forEach(catalog::apply));
+    }
+
+    /**
+     * Ids of the cars matching every filter, in the requested order
+     */
+    public Page query(Query query, Sort sort, boolean descending, int offset, int limit) {
+        return view.read(catalog -> catalog.query(query, sort, descending, offset, limit));
+    }
+
+    public int size() {
+        return view.size();
+    }
+
+    /**
+     * The columns, one slot per car. Changed only under the view's write
+     * lock; queries share its read lock and build sort orders lazily.
+     */
+    static class Catalog {
+
+        private static final int[] EMPTY = new int[0];
+
+        private long[] carIds = new long[0];
+        private double[] ratings = new double[0];
+        private long[] ratingSums = new long[0];
+        private int[] ratingCounts = new int[0];
+        private int[] trips = new int[0];
+        private int slotCount;
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private final Map<Long, Integer> slotByCar = new HashMap<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+
+        private final BitmapColumn types = new BitmapColumn();
+        private final BitmapColumn locations = new BitmapColumn();
+        private final BitmapColumn fuels = new BitmapColumn();
+        private final BitmapColumn transmissions = new BitmapColumn();
+        private final RangeColumn prices = new RangeColumn(PRICE_BUCKET, false);
+        private final RangeColumn seats = new RangeColumn(1, true);
+
+        // Sort orders are built by the first query that needs one; the write
+        // path drops those it invalidates
+        private final ReentrantLock orderLock = new ReentrantLock();
+        private int[] slotsById;
+        private int[] rankBySlot = EMPTY;
+        private final int[][] orders = new int[Sort.values().length * 2][];
+
+        int size() {
+            return slotByCar.size();
+        }
+
+        void put(CarFacts car) {
+            Integer existing = slotByCar.get(car.id());
+            int slot;
+            if (existing == null) {
+                slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+                ensureCapacity(slotCount);
+                slotByCar.put(car.id(), slot);
+                live.add(slot);
+                carIds[slot] = car.id();
+                // Later figures arrive as stats deltas, which an edited car
+                // loaded before them would not have seen
+                ratings[slot] = car.rating() == null ? 0.0 : car.rating();
+                ratingSums[slot] = car.ratingSum();
+                ratingCounts[slot] = car.ratingCount();
+                trips[slot] = car.totalTrips() == null ? 0 : car.totalTrips();
+                invalidateAll();
+            } else {
+                slot = existing;
+                if (Double.compare(prices.get(slot), price(car)) != 0) {
+                    invalidate(Sort.PRICE);
+                }
+            }
+            types.set(slot, car.type());
+            locations.set(slot, car.location());
+            fuels.set(slot, car.fuel());
+            transmissions.set(slot, car.transmission());
+            prices.set(slot, car.pricePerDay());
+            seats.set(slot, car.seats());
+        }
+
+        private static double price(CarFacts car) {
+            return car.pricePerDay() == null ? Double.NaN : car.pricePerDay();
+        }
+
+        void remove(Long carId) {
+            Integer slot = slotByCar.remove(carId);
+            if (slot == null) {
+                return;
+            }
+            live.remove(slot);
+            types.clear(slot);
+            locations.clear(slot);
+            fuels.clear(slot);
+            transmissions.clear(slot);
+            prices.clear(slot);
+            seats.clear(slot);
+            freeSlots.push(slot);
+            invalidateAll();
+        }
+
+        void apply(Long carId, CarStatsEvent.Change change) {
+            Integer slot = slotByCar.get(carId);
+            if (slot == null) {
+                return;
+            }
+            ratingSums[slot] += change.ratingSum();
+            ratingCounts[slot] += change.ratingCount();
+            trips[slot] += change.trips();
+            // As CarStats computes it in the database
+            ratings[slot] = ratingCounts[slot] > 0
+                    ? Math.round(ratingSums[slot] * 10.0 / ratingCounts[slot]) / 10.0
+                    : 0.0;
+            invalidate(Sort.RATING);
+            invalidate(Sort.TRIPS);
+        }
+
+        Page query(Query query, Sort sort, boolean descending, int offset, int limit) {
+            List<RoaringBitmap> filters = new ArrayList<>();
+            addFilter(filters, types.anyOf(query.types()));
+            addFilter(filters, locations.anyOf(query.locations()));
+            addFilter(filters, fuels.anyOf(query.fuels()));
+            addFilter(filters, transmissions.anyOf(query.transmissions()));
+            addFilter(filters, prices.between(query.minPrice(), query.maxPrice()));
+            addFilter(filters, seats.between(
+                    query.minSeats() == null ? null : query.minSeats().doubleValue(),
+                    query.maxSeats() == null ? null : query.maxSeats().doubleValue()));
+
+            RoaringBitmap matches;
+            if (filters.isEmpty()) {
+                matches = live;
+            } else {
+                // Smallest first keeps every intermediate result small
+                filters.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+                matches = FastAggregation.and(filters.iterator());
+            }
+            int total = matches.getCardinality();
+            int wanted = (int) Math.min((long) offset + limit, total);
+            if (offset >= wanted) {
+                return new Page(List.of(), total);
+            }
+
+            List<Long> page = new ArrayList<>(wanted - offset);
+            if ((long) total * SPARSE < live.getCardinality()) {
+                long[] ranked = smallest(matches, sort, descending, wanted);
+                int[] byId = slotsById();
+                for (int i = offset; i < wanted; i++) {
+                    page.add(carIds[byId[(int) ranked[i]]]);
+                }
+            } else {
+                // Early exit once the page is full
+                int[] order = order(sort, descending);
+                int seen = 0;
+                for (int i = 0; i < order.length && seen < wanted; i++) {
+                    int slot = order[i];
+                    if (matches.contains(slot)) {
+                        if (seen >= offset) {
+                            page.add(carIds[slot]);
+                        }
+                        seen++;
+                    }
+                }
+            }
+            return new Page(page, total);
+        }
+
+        private static void addFilter(List<RoaringBitmap> filters, RoaringBitmap filter) {
+            if (filter != null) {
+                filters.add(filter);
+            }
+        }
+
+        /**
+         * The k smallest sort keys among the matches, ascending, through a
+         * bounded max-heap. The low half of each key is the car's id rank.
+         */
+        private long[] smallest(RoaringBitmap matches, Sort sort, boolean descending, int k) {
+            int[] ranks = rankBySlot();
+            long[] heap = new long[k];
+            int size = 0;
+            IntIterator slots = matches.getIntIterator();
+            while (slots.hasNext()) {
+                int slot = slots.next();
+                long key = ((long) sortValue(slot, sort, descending) << 32) | ranks[slot];
+                if (size < k) {
+                    heap[size] = key;
+                    siftUp(heap, size++);
+                } else if (key < heap[0]) {
+                    heap[0] = key;
+                    siftDown(heap, k);
+                }
+            }
+            Arrays.sort(heap, 0, size);
+            return heap;
+        }
+
+        private static void siftUp(long[] heap, int i) {
+            long key = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] >= key) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = key;
+        }
+
+        private static void siftDown(long[] heap, int size) {
+            long key = heap[0];
+            int i = 0;
+            int child;
+            while ((child = 2 * i + 1) < size) {
+                if (child + 1 < size && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (heap[child] <= key) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = key;
+        }
+
+        /**
+         * Order-preserving int of a slot's sort value; cars without a price
+         * come last either way. Needs the id ranks built.
+         */
+        private int sortValue(int slot, Sort sort, boolean descending) {
+            int value;
+            switch (sort) {
+                case PRICE -> {
+                    double price = prices.get(slot);
+                    if (Double.isNaN(price)) {
+                        return Integer.MAX_VALUE;
+                    }
+                    value = (int) Math.min(Math.round(price * 100), Integer.MAX_VALUE - 1);
+                }
+                case RATING -> value = (int) Math.round(ratings[slot] * 10);
+                case TRIPS -> value = trips[slot];
+                default -> value = rankBySlot[slot];
+            }
+            return descending ? -value : value;
+        }
+
+        /**
+         * Every live slot by sort value, ties (and ID) by ascending car id
+         */
+        private int[] order(Sort sort, boolean descending) {
+            orderLock.lock();
+            try {
+                int index = sort.ordinal() * 2 + (descending ? 1 : 0);
+                if (orders[index] == null) {
+                    orders[index] = buildOrder(sort, descending);
+                }
+                return orders[index];
+            } finally {
+                orderLock.unlock();
+            }
+        }
+
+        private int[] buildOrder(Sort sort, boolean descending) {
+            int[] byId = slotsById();
+            if (sort == Sort.ID) {
+                if (!descending) {
+                    return byId;
+                }
+                int[] reversed = new int[byId.length];
+                for (int i = 0; i < byId.length; i++) {
+                    reversed[i] = byId[byId.length - 1 - i];
+                }
+                return reversed;
+            }
+            long[] keys = new long[byId.length];
+            for (int rank = 0; rank < byId.length; rank++) {
+                keys[rank] = ((long) sortValue(byId[rank], sort, descending) << 32) | rank;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                order[i] = byId[(int) keys[i]];
+            }
+            return order;
+        }
+
+        private int[] slotsById() {
+            orderLock.lock();
+            try {
+                if (slotsById == null) {
+                    long[] ids = new long[slotByCar.size()];
+                    IntIterator slots = live.getIntIterator();
+                    for (int i = 0; slots.hasNext(); i++) {
+                        ids[i] = carIds[slots.next()];
+                    }
+                    Arrays.sort(ids);
+                    int[] byId = new int[ids.length];
+                    int[] ranks = new int[carIds.length];
+                    for (int rank = 0; rank < ids.length; rank++) {
+                        byId[rank] = slotByCar.get(ids[rank]);
+                        ranks[byId[rank]] = rank;
+                    }
+                    rankBySlot = ranks;
+                    slotsById = byId;
+                }
+                return slotsById;
+            } finally {
+                orderLock.unlock();
+            }
+        }
+
+        private int[] rankBySlot() {
+            slotsById();
+            return rankBySlot;
+        }
+
+        private void invalidate(Sort sort) {
+            orders[sort.ordinal() * 2] = null;
+            orders[sort.ordinal() * 2 + 1] = null;
+        }
+
+        private void invalidateAll() {
+            Arrays.fill(orders, null);
+            slotsById = null;
+        }
+
+        private void ensureCapacity(int slots) {
+            if (slots > carIds.length) {
+                int capacity = Math.max(slots, carIds.length * 2);
+                carIds = Arrays.copyOf(carIds, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                ratingSums = Arrays.copyOf(ratingSums, capacity);
+                ratingCounts = Arrays.copyOf(ratingCounts, capacity);
+                trips = Arrays.copyOf(trips, capacity);
+            }
+        }
+    }
+}
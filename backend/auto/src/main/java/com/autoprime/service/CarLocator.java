@@ -0,0 +1,82 @@
+// CarLocator.java
+package com.autoprime.service;
+
+import com.autoprime.dto.CarPosition;
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.util.CommitGatedView;
+import com.autoprime.util.GeoGrid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Spatial index of the pickup points of bookable cars, for radius
+ * searches. Built at startup and kept current from committed car events;
+ * cars without coordinates or in maintenance are left out.
+ */
+@Service
+public class CarLocator {
+
+    // About 5.5 km north-south, so a city-sized radius spans a few cells
+    static final double CELL_DEGREES = 0.05;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final CommitGatedView<GeoGrid> view =
+            new CommitGatedView<>(CarLocator.class, "Car locator", "cars", new GeoGrid(CELL_DEGREES), GeoGrid::size);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        view.rebuild(transactionTemplate, () -> {
+            GeoGrid fresh = new GeoGrid(CELL_DEGREES);
+            for (CarPosition car : carRepository.findAllPositions()) {
+                if (indexed(car.latitude(), car.longitude(), car.status())) {
+                    fresh.put(car.id(), car.latitude(), car.longitude());
+                }
+            }
+            return fresh;
+        });
+    }
+
+    @EventListener
+    public void onCarEvent(CarEvent event) {
+        Car car = event.car();
+        Long carId = car.getId();
+        Double latitude = car.getLatitude();
+        Double longitude = car.getLongitude();
+        boolean indexed = event.type() != CarEvent.Type.DELETED && indexed(latitude, longitude, event.status());
+        view.afterCommit(grid -> {
+            if (indexed) {
+                grid.put(carId, latitude, longitude);
+            } else {
+                grid.remove(carId);
+            }
+        });
+    }
+
+    private static boolean indexed(Double latitude, Double longitude, CarStatus status) {
+        return latitude != null && longitude != null && status != null && status.isBookable();
+    }
+
+    /**
+     * Bookable cars within radiusKm of the point, nearest first
+     */
+    public List<GeoGrid.Hit> within(double latitude, double longitude, double radiusKm) {
+        return view.read(grid -> grid.within(latitude, longitude, radiusKm));
+    }
+
+    public int size() {
+        return view.size();
+    }
+}
@@ -0,0 +1,174 @@
+// CarSearch.java
+package com.autoprime.service;
+
+import com.autoprime.dto.CarDocument;
+import com.autoprime.event.CarEvent;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.util.CommitGatedView;
+import com.autoprime.util.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full-text search over the fleet: name, type, fuel, transmission,
+ * features, safety features and location, with facet counts by type,
+ * fuel, seats and price band. Built at startup and kept current from
+ * committed car events.
+ */
+@Service
+public class CarSearch {
+
+    static final String[] FACETS = { "type", "fuel", "seats", "price" };
+
+    // Upper bounds of the per-day price bands
+    static final int[] PRICE_BANDS = { 1000, 2000, 3000, 5000 };
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * The index, and what is indexed per car to skip no-op updates and keep
+     * unloaded features
+     */
+    record Contents(SearchIndex index, Map<Long, CarDocument> documents) {
+        Contents() {
+            this(new SearchIndex(FACETS), new HashMap<>());
+        }
+    }
+
+    private final CommitGatedView<Contents> view = new CommitGatedView<>(
+            CarSearch.class, "Car search index", "cars", new Contents(), contents -> contents.index().size());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        view.rebuild(transactionTemplate, () -> {
+            Contents fresh = new Contents();
+            for (CarDocument document : load()) {
+                fresh.index().put(toIndexed(document));
+                fresh.documents().put(document.id(), document);
+            }
+            return fresh;
+        });
+    }
+
+    private List<CarDocument> load() {
+        Map<Long, List<String>> features = grouped(carRepository.findAllFeatures());
+        Map<Long, List<String>> safetyFeatures = grouped(carRepository.findAllSafetyFeatures());
+        List<CarDocument> loaded = new ArrayList<>();
+        for (CarDocument document : carRepository.findAllDocuments()) {
+            loaded.add(document.withFeatures(features.getOrDefault(document.id(), List.of()),
+                    safetyFeatures.getOrDefault(document.id(), List.of())));
+        }
+        return loaded;
+    }
+
+    private static Map<Long, List<String>> grouped(List<Object[]> rows) {
+        Map<Long, List<String>> byCar = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                byCar.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        return byCar;
+    }
+
+    @EventListener
+    public void onCarEvent(CarEvent event) {
+        Long carId = event.car().getId();
+        if (event.type() == CarEvent.Type.DELETED) {
+            view.afterCommit(contents -> {
+                contents.index().remove(carId);
+                contents.documents().remove(carId);
+            });
+            return;
+        }
+        // Read the car now, while its session may still be open
+        CarDocument changed = CarDocument.of(event.car());
+        view.afterCommit(contents -> {
+            CarDocument previous = contents.documents().get(carId);
+            CarDocument document = changed;
+            if (document.features() == null || document.safetyFeatures() == null) {
+                document = document.withFeatures(
+                        known(document.features(), previous == null ? null : previous.features()),
+                        known(document.safetyFeatures(), previous == null ? null : previous.safetyFeatures()));
+            }
+            // Status changes and other edits to unindexed columns
+            if (!document.equals(previous)) {
+                contents.index().put(toIndexed(document));
+                contents.documents().put(carId, document);
+            }
+        });
+    }
+
+    private static List<String> known(List<String> current, List<String> previous) {
+        if (current != null) {
+            return current;
+        }
+        return previous == null ? List.of() : previous;
+    }
+
+    public SearchIndex.Result search(String query, int offset, int limit) {
+        return view.read(contents -> contents.index().search(query, offset, limit));
+    }
+
+    public int size() {
+        return view.size();
+    }
+
+    static SearchIndex.Document toIndexed(CarDocument car) {
+        List<SearchIndex.Field> fields = new ArrayList<>();
+        add(fields, car.name(), 3f);
+        add(fields, car.type(), 2f);
+        add(fields, car.location(), 2f);
+        add(fields, car.fuel(), 1.5f);
+        add(fields, car.transmission(), 1.5f);
+        if (car.features() != null) {
+            car.features().forEach(feature -> add(fields, feature, 1f));
+        }
+        if (car.safetyFeatures() != null) {
+            car.safetyFeatures().forEach(feature -> add(fields, feature, 1f));
+        }
+
+        Map<String, String> facets = new LinkedHashMap<>();
+        facets.put("type", car.type());
+        facets.put("fuel", car.fuel());
+        facets.put("seats", car.seats() == null ? null : String.valueOf(car.seats()));
+        facets.put("price", priceBand(car.pricePerDay()));
+        return new SearchIndex.Document(car.id(), fields, facets);
+    }
+
+    private static void add(List<SearchIndex.Field> fields, String text, float boost) {
+        if (text != null && !text.isBlank()) {
+            fields.add(new SearchIndex.Field(text, boost));
+        }
+    }
+
+    /**
+     * Label of the price band holding a per-day price, e.g. "1000-2000" or "5000+"
+     */
+    static String priceBand(Double pricePerDay) {
+        if (pricePerDay == null) {
+            return null;
+        }
+        int lower = 0;
+        for (int upper : PRICE_BANDS) {
+            if (pricePerDay < upper) {
+                return lower + "-" + upper;
+            }
+            lower = upper;
+        }
+        return lower + "+";
+    }
+}
@@ -1,29 +1,260 @@
 package com.autoprime.service;
 
+import com.autoprime.dto.CarSummary;
+import com.autoprime.dto.CursorPage;
+import com.autoprime.dto.NearbyCar;
+import com.autoprime.event.CarEvent;
+import com.autoprime.exception.ValidationException;
 import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
 import com.autoprime.model.User;
 import com.autoprime.repository.CarRepository;
 import com.autoprime.repository.UserRepository;
+import com.autoprime.util.Cursor;
+import com.autoprime.util.GeoGrid;
+import com.autoprime.util.KeysetPager;
+import com.autoprime.util.SearchIndex;
+import com.autoprime.util.ValidationUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class CarService {
     
+    static final int MAX_SUMMARY_PAGE_SIZE = 1000;
+    
+    // Best matches returned by the plain name search
+    static final int MAX_SEARCH_RESULTS = 100;
+    
+    // Widest "cars near me" radius
+    static final double MAX_RADIUS_KM = 200;
+    
     @Autowired
     private CarRepository carRepository;
     
     @Autowired
     private UserRepository userRepository;
     
-    public List<Car> getAllCars() {
-        return carRepository.findAll();
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+    
+    @Autowired
+    private CarSearch carSearch;
+    
+    @Autowired
+    private CarFilter carFilter;
+    
+    @Autowired
+    private CarLocator carLocator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${booking.concurrency.max-retries:3}")
+    private int maxRetries;
+    
+    public CursorPage<Car> getAllCars(String cursor, Integer size) {
+        return keysetPager.page(cursor, size, carRepository::findFirstPage, carRepository::findPageAfter,
+                c -> new Cursor(c.getCreatedAt(), c.getId()));
+    }
+    
+    /**
+     * One page of the catalog for list views, in three queries whatever the
+     * page size: the rows with their owners, the count and the images
+     */
+    public Map<String, Object> getCarSummaries(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_SUMMARY_PAGE_SIZE) {
+            throw new RuntimeException("Page must be >= 0 and size between 1 and " + MAX_SUMMARY_PAGE_SIZE);
+        }
+        Page<CarSummary> summaries = carRepository.findSummaries(PageRequest.of(page, size, Sort.by("id")));
+        
+        Map<Long, String> firstImages = new HashMap<>();
+        if (summaries.hasContent()) {
+            List<Long> ids = summaries.getContent().stream().map(CarSummary::id).toList();
+            for (Object[] row : carRepository.findImagesByIdIn(ids)) {
+                firstImages.putIfAbsent((Long) row[0], (String) row[1]);
+            }
+        }
+        List<CarSummary> cars = summaries.getContent().stream()
+                .map(car -> car.withImage(firstImages.get(car.id())))
+                .toList();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("cars", cars);
+        response.put("page", page);
+        response.put("size", size);
+        response.put("totalElements", summaries.getTotalElements());
+        response.put("totalPages", summaries.getTotalPages());
+        return response;
     }
     
     public List<Car> getAvailableCars() {
-        return carRepository.findByStatus("AVAILABLE");
+        return carRepository.findByStatus(CarStatus.AVAILABLE);
+    }
+    
+    public Map<String, Object> getAvailableCars(LocalDate from, LocalDate to, String type,
+                                                String location, int page, int size) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new RuntimeException("Invalid date range");
+        }
+        if (page < 0 || size < 1 || size > 100) {
+            throw new RuntimeException("Page must be >= 0 and size between 1 and 100");
+        }
+        
+        AvailabilityCalendar.Page result = availabilityCalendar.findAvailable(
+                from, to, type, location, page * size, size);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("cars", loadInOrder(result.carIds()));
+        response.put("page", page);
+        response.put("size", size);
+        response.put("totalElements", result.total());
+        response.put("totalPages", (result.total() + size - 1) / size);
+        return response;
+    }
+    
+    /**
+     * Cars matching every word of the text in name, type, fuel, transmission,
+     * features or location, tolerating typos and unfinished words, best
+     * match first, with facet counts over all matches
+     */
+    public Map<String, Object> searchCatalog(String text, int page, int size) {
+        if (text == null || text.isBlank()) {
+            throw new RuntimeException("Search text is required");
+        }
+        if (page < 0 || size < 1 || size > 100) {
+            throw new RuntimeException("Page must be >= 0 and size between 1 and 100");
+        }
+        SearchIndex.Result result = carSearch.search(text, page * size, size);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("cars", loadInOrder(result.hits().stream().map(SearchIndex.Hit::id).toList()));
+        response.put("facets", result.facets());
+        response.put("page", page);
+        response.put("size", size);
+        response.put("totalElements", result.total());
+        response.put("totalPages", (result.total() + size - 1) / size);
+        return response;
+    }
+    
+    /**
+     * Cars matching every given filter, sorted by price, rating, trips or id.
+     * direction is "asc" or "desc"; blank takes the sort's own default
+     * (cheapest, best rated and most travelled first).
+     */
+    public Map<String, Object> queryCars(CarFilter.Query filters, String sort, String direction,
+                                         int page, int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            throw new RuntimeException("Page must be >= 0 and size between 1 and 100");
+        }
+        if (filters.minPrice() != null && filters.maxPrice() != null && filters.minPrice() > filters.maxPrice()) {
+            throw new ValidationException("minPrice must not exceed maxPrice");
+        }
+        if (filters.minSeats() != null && filters.maxSeats() != null && filters.minSeats() > filters.maxSeats()) {
+            throw new ValidationException("minSeats must not exceed maxSeats");
+        }
+        CarFilter.Sort order = CarFilter.Sort.parse(sort);
+        boolean descending;
+        if (direction == null || direction.isBlank()) {
+            descending = order.descendingByDefault();
+        } else if (direction.equalsIgnoreCase("asc") || direction.equalsIgnoreCase("desc")) {
+            descending = direction.equalsIgnoreCase("desc");
+        } else {
+            throw new ValidationException("Direction must be asc or desc");
+        }
+        CarFilter.Page result = carFilter.query(filters, order, descending, page * size, size);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("cars", loadInOrder(result.carIds()));
+        response.put("page", page);
+        response.put("size", size);
+        response.put("totalElements", result.total());
+        response.put("totalPages", (result.total() + size - 1) / size);
+        return response;
+    }
+    
+    /**
+     * Bookable cars within radiusKm of a pickup point, nearest first. With
+     * dates, only cars free on every day of [from, to].
+     */
+    public Map<String, Object> getNearbyCars(double latitude, double longitude, double radiusKm,
+                                             LocalDate from, LocalDate to, int page, int size) {
+        if (!ValidationUtil.isValidCoordinates(latitude, longitude)) {
+            throw new ValidationException("Invalid coordinates");
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new ValidationException("Radius must be above 0 and at most " + (int) MAX_RADIUS_KM + " km");
+        }
+        if ((from == null) != (to == null) || (from != null && to.isBefore(from))) {
+            throw new ValidationException("Invalid date range");
+        }
+        if (page < 0 || size < 1 || size > 100) {
+            throw new RuntimeException("Page must be >= 0 and size between 1 and 100");
+        }
+        
+        List<GeoGrid.Hit> hits = carLocator.within(latitude, longitude, radiusKm);
+        if (from != null) {
+            Set<Long> available = new HashSet<>(availabilityCalendar.retainAvailable(
+                    hits.stream().map(GeoGrid.Hit::id).toList(), from, to));
+            hits = hits.stream().filter(hit -> available.contains(hit.id())).toList();
+        }
+        List<GeoGrid.Hit> pageHits = hits.subList(Math.min(page * size, hits.size()),
+                Math.min(page * size + size, hits.size()));
+        Map<Long, Car> cars = new HashMap<>();
+        carRepository.findAllById(pageHits.stream().map(GeoGrid.Hit::id).toList())
+                .forEach(car -> cars.put(car.getId(), car));
+        List<NearbyCar> nearby = pageHits.stream()
+                .filter(hit -> cars.containsKey(hit.id()))
+                .map(hit -> new NearbyCar(cars.get(hit.id()), Math.round(hit.distanceKm() * 100) / 100.0))
+                .toList();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("cars", nearby);
+        response.put("page", page);
+        response.put("size", size);
+        response.put("totalElements", hits.size());
+        response.put("totalPages", (hits.size() + size - 1) / size);
+        return response;
+    }
+    
+    // Keep the given order, findAllById does not guarantee one
+    private List<Car> loadInOrder(List<Long> ids) {
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        return carRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(car -> order.get(car.getId())))
+                .toList();
     }
     
     public Car getCarById(Long id) {
@@ -35,8 +266,12 @@ public class CarService {
         return carRepository.findByType(type);
     }
     
+    /**
+     * Best matches for the text, ranked; see searchCatalog
+     */
     public List<Car> searchCars(String name) {
-        return carRepository.findByNameContainingIgnoreCase(name);
+        SearchIndex.Result result = carSearch.search(name, 0, MAX_SEARCH_RESULTS);
+        return loadInOrder(result.hits().stream().map(SearchIndex.Hit::id).toList());
     }
     
     public List<Car> getCarsByPriceRange(Double minPrice, Double maxPrice) {
@@ -54,53 +289,101 @@ public class CarService {
     }
     
     public Car addCar(Car car, Long ownerId) {
+        if (!ValidationUtil.isValidCoordinates(car.getLatitude(), car.getLongitude())) {
+            throw new ValidationException("Invalid coordinates");
+        }
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
         car.setOwner(owner);
-        car.setStatus("AVAILABLE");
-        return carRepository.save(car);
+        car.setStatus(CarStatus.AVAILABLE);
+        Car saved = carRepository.save(car);
+        eventPublisher.publishEvent(CarEvent.added(saved));
+        return saved;
     }
     
     public Car updateCar(Long id, Car carDetails) {
-        Car car = getCarById(id);
-        
-        car.setName(carDetails.getName());
-        car.setType(carDetails.getType());
-        car.setTransmission(carDetails.getTransmission());
-        car.setSeats(carDetails.getSeats());
-        car.setPricePerDay(carDetails.getPricePerDay());
-        car.setWeekendExtra(carDetails.getWeekendExtra());
-        car.setFuel(carDetails.getFuel());
-        car.setMileage(carDetails.getMileage());
-        car.setEngine(carDetails.getEngine());
-        car.setBoot(carDetails.getBoot());
-        car.setAirbags(carDetails.getAirbags());
-        car.setDrive(carDetails.getDrive());
-        car.setLocation(carDetails.getLocation());
-        car.setKmLimit(carDetails.getKmLimit());
-        car.setExtraKmCharge(carDetails.getExtraKmCharge());
-        
-        if (carDetails.getImages() != null) {
-            car.setImages(carDetails.getImages());
-        }
-        if (carDetails.getFeatures() != null) {
-            car.setFeatures(carDetails.getFeatures());
+        if (!ValidationUtil.isValidCoordinates(carDetails.getLatitude(), carDetails.getLongitude())) {
+            throw new ValidationException("Invalid coordinates");
         }
-        if (carDetails.getSafetyFeatures() != null) {
-            car.setSafetyFeatures(carDetails.getSafetyFeatures());
-        }
-        
-        return carRepository.save(car);
+        return editCar(id, car -> {
+            car.setName(carDetails.getName());
+            car.setType(carDetails.getType());
+            car.setTransmission(carDetails.getTransmission());
+            car.setSeats(carDetails.getSeats());
+            car.setPricePerDay(carDetails.getPricePerDay());
+            car.setWeekendExtra(carDetails.getWeekendExtra());
+            car.setFuel(carDetails.getFuel());
+            car.setMileage(carDetails.getMileage());
+            car.setEngine(carDetails.getEngine());
+            car.setBoot(carDetails.getBoot());
+            car.setAirbags(carDetails.getAirbags());
+            car.setDrive(carDetails.getDrive());
+            car.setLocation(carDetails.getLocation());
+            car.setLatitude(carDetails.getLatitude());
+            car.setLongitude(carDetails.getLongitude());
+            car.setKmLimit(carDetails.getKmLimit());
+            car.setExtraKmCharge(carDetails.getExtraKmCharge());
+            
+            if (given(carDetails.getImages())) {
+                car.setImages(new ArrayList<>(carDetails.getImages()));
+            }
+            if (given(carDetails.getFeatures())) {
+                car.setFeatures(new ArrayList<>(carDetails.getFeatures()));
+            }
+            if (given(carDetails.getSafetyFeatures())) {
+                car.setSafetyFeatures(new ArrayList<>(carDetails.getSafetyFeatures()));
+            }
+            
+            Car saved = carRepository.save(car);
+            eventPublisher.publishEvent(CarEvent.saved(saved, saved.getStatus()));
+            return saved;
+        });
     }
     
     public void deleteCar(Long id) {
         Car car = getCarById(id);
         carRepository.delete(car);
+        eventPublisher.publishEvent(CarEvent.deleted(car));
     }
     
-    public Car updateCarStatus(Long id, String status) {
-        Car car = getCarById(id);
-        car.setStatus(status);
-        return carRepository.save(car);
+    public Car updateCarStatus(Long id, CarStatus status) {
+        return editCar(id, car -> {
+            CarStatus previousStatus = car.getStatus();
+            previousStatus.checkTransitionTo(status);
+            car.setStatus(status);
+            Car saved = carRepository.save(car);
+            eventPublisher.publishEvent(CarEvent.saved(saved, previousStatus));
+            return saved;
+        });
+    }
+    
+    // A list the caller never loaded is left as it is, as a merge would
+    private static boolean given(List<String> list) {
+        return list != null && Hibernate.isInitialized(list);
+    }
+    
+    /**
+     * Apply a host's edit to the car in its own transaction. A booking that
+     * flips the car's status commits a new version underneath, failing the
+     * edit's version check; the edit is then re-applied to a fresh copy.
+     */
+    private Car editCar(Long id, Function<Car, Car> edit) {
+        for (int attempt = 0; ; attempt++) {
+            boolean retry = attempt > 0;
+            try {
+                return transactionTemplate.execute(tx -> {
+                    Car car = getCarById(id);
+                    if (retry) {
+                        // The copy that lost the race may still be in the persistence context
+                        entityManager.refresh(car);
+                    }
+                    return edit.apply(car);
+                });
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxRetries) {
+                    throw new RuntimeException("Car is being booked or updated by someone else, please try again");
+                }
+            }
+        }
     }
 }
\ No newline at end of file
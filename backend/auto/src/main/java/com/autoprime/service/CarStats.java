@@ -0,0 +1,228 @@
+// CarStats.java
+package com.autoprime.service;
+
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarStatsEvent;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.util.CommitGate;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running rating (sum, count) and trip count of every car. Review and
+ * booking commits only add a delta to an in-memory buffer, coalesced per
+ * car; the buffer is flushed to the cars table in batches. Those columns
+ * are not updatable through Car, so entity saves never overwrite them.
+ * Deltas still buffered when the process dies are lost; recompute()
+ * rebuilds every car's figures from the reviews and bookings tables.
+ */
+@Service
+public class CarStats {
+
+    private static final Logger log = LoggerFactory.getLogger(CarStats.class);
+
+    // The listed rating of a car with rating count and sum; 0 once nobody has reviewed it
+    private static String rating(String count, String sum) {
+        return "CASE WHEN " + count + " > 0 THEN ROUND(" + sum + " * 1.0 / " + count + ", 1) ELSE 0 END";
+    }
+
+    // rating is assigned first so MySQL, which applies SET left to right, and
+    // H2, which reads the old row, both see the columns before this delta
+    private static final String APPLY =
+            "UPDATE cars SET rating = " + rating("(rating_count + ?)", "(rating_sum + ?)") + ", " +
+            "rating_sum = rating_sum + ?, rating_count = rating_count + ?, " +
+            "total_trips = COALESCE(total_trips, 0) + ? WHERE id = ?";
+
+    // Plain reads, so they never wait on the row locks of a committing writer
+    private static final String TOTALS =
+            "SELECT c.id, " +
+            "COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.car_id = c.id), 0), " +
+            "(SELECT COUNT(*) FROM reviews r WHERE r.car_id = c.id), " +
+            "(SELECT COUNT(*) FROM bookings b WHERE b.car_id = c.id AND b.status = ?) FROM cars c";
+
+    private static final String RESET =
+            "UPDATE cars SET rating_sum = ?, rating_count = ?, total_trips = ? WHERE id = ?";
+
+    private static final String RESET_RATING =
+            "UPDATE cars SET rating = " + rating("rating_count", "rating_sum") + " WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CarCache carCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${car.stats.batch-size:500}")
+    private int batchSize;
+
+    private final CommitGate gate = new CommitGate();
+
+    // Serializes flushes with each other and with recompute
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Map<Long, Delta> pending = new ConcurrentHashMap<>();
+
+    record Delta(long ratingSum, int ratingCount, int trips) {
+        Delta plus(Delta other) {
+            return new Delta(ratingSum + other.ratingSum, ratingCount + other.ratingCount, trips + other.trips);
+        }
+    }
+
+    public void reviewAdded(Long carId, int rating) {
+        record(carId, new Delta(rating, 1, 0));
+    }
+
+    public void reviewChanged(Long carId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            record(carId, new Delta(newRating - oldRating, 0, 0));
+        }
+    }
+
+    public void reviewRemoved(Long carId, int rating) {
+        record(carId, new Delta(-rating, -1, 0));
+    }
+
+    /**
+     * A trip is a booking that reached COMPLETED
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        boolean was = event.previousStatus() == BookingStatus.COMPLETED;
+        boolean is = event.status() == BookingStatus.COMPLETED;
+        if (was != is) {
+            record(event.carId(), new Delta(0, 0, is ? 1 : -1));
+        }
+    }
+
+    private void record(Long carId, Delta delta) {
+        gate.afterCommit(() -> pending.merge(carId, delta, Delta::plus));
+    }
+
+    /**
+     * Cars with changes not yet written
+     */
+    int pending() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${car.stats.flush-millis:2000}",
+               initialDelayString = "${car.stats.flush-millis:2000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush car stats, will retry", e);
+        }
+    }
+
+    /**
+     * Write every buffered delta, one batched UPDATE per car
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<Long> carIds = new ArrayList<>(pending.keySet());
+            for (int from = 0; from < carIds.size(); from += batchSize) {
+                flushBatch(carIds.subList(from, Math.min(from + batchSize, carIds.size())));
+            }
+            return carIds.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushBatch(List<Long> carIds) {
+        Map<Long, Delta> taken = new HashMap<>();
+        Map<Long, CarStatsEvent.Change> changes = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Long carId : carIds) {
+            Delta delta = pending.remove(carId);
+            if (delta != null) {
+                taken.put(carId, delta);
+                changes.put(carId, new CarStatsEvent.Change(delta.ratingSum(), delta.ratingCount(), delta.trips()));
+                rows.add(new Object[] { delta.ratingCount(), delta.ratingSum(), delta.ratingCount(),
+                        delta.ratingSum(), delta.ratingCount(), delta.trips(), carId });
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                jdbcTemplate.batchUpdate(APPLY, rows);
+                // Inside the transaction, so listeners apply it on commit only
+                eventPublisher.publishEvent(CarStatsEvent.applied(changes));
+            });
+        } catch (RuntimeException e) {
+            // Put them back for the next flush, merged with anything newer
+            taken.forEach((carId, delta) -> pending.merge(carId, delta, Delta::plus));
+            throw e;
+        }
+        // Written behind Hibernate's back
+        taken.keySet().forEach(carCache::evict);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush car stats on shutdown", e);
+        }
+    }
+
+    /**
+     * Recompute every car's rating and trip count from the tables, for
+     * repair after an unclean stop. The totals are read with no delta in
+     * flight, dropping the buffered deltas already in them; they are then
+     * written outside the gate, so commits never wait on this UPDATE while
+     * it waits on their rows. Deltas committed meanwhile stay buffered and
+     * the next flush adds them on top.
+     */
+    public int recompute() {
+        long began = System.nanoTime();
+        flushLock.lock();
+        try {
+            List<Object[]> totals = gate.exclusive(() -> {
+                pending.clear();
+                return transactionTemplate.execute(tx -> jdbcTemplate.query(TOTALS,
+                        (rs, i) -> new Object[] { rs.getLong(2), rs.getInt(3), rs.getInt(4), rs.getLong(1) },
+                        String.valueOf(BookingStatus.COMPLETED.getCode())));
+            });
+            for (int from = 0; from < totals.size(); from += batchSize) {
+                List<Object[]> rows = totals.subList(from, Math.min(from + batchSize, totals.size()));
+                List<Object[]> ids = rows.stream().map(row -> new Object[] { row[3] }).toList();
+                transactionTemplate.executeWithoutResult(tx -> {
+                    jdbcTemplate.batchUpdate(RESET, rows);
+                    jdbcTemplate.batchUpdate(RESET_RATING, ids);
+                });
+            }
+            carCache.evictAll();
+            eventPublisher.publishEvent(CarStatsEvent.recomputed());
+            log.info("Car stats recomputed for {} cars in {} ms", totals.size(),
+                    (System.nanoTime() - began) / 1_000_000);
+            return totals.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.autoprime.service;
 
+import com.autoprime.dto.CursorPage;
 import com.autoprime.model.ContactMessage;
 import com.autoprime.repository.ContactRepository;
+import com.autoprime.util.Cursor;
+import com.autoprime.util.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +16,9 @@ public class ContactService {
     @Autowired
     private ContactRepository contactRepository;
     
+    @Autowired
+    private KeysetPager keysetPager;
+    
     /**
      * Save a new contact message
      */
@@ -43,10 +49,11 @@ public class ContactService {
     }
     
     /**
-     * Get all contact messages
+     * One page of contact messages, newest first
      */
-    public List<ContactMessage> getAllMessages() {
-        return contactRepository.findAll();
+    public CursorPage<ContactMessage> getAllMessages(String cursor, Integer size) {
+        return keysetPager.page(cursor, size, contactRepository::findFirstPage, contactRepository::findPageAfter,
+                m -> new Cursor(m.getCreatedAt(), m.getId()));
     }
     
     /**
@@ -0,0 +1,379 @@
+// DashboardMetrics.java
+package com.autoprime.service;
+
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
+import com.autoprime.event.PaymentEvent;
+import com.autoprime.event.UserEvent;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.CarStatus;
+import com.autoprime.model.DashboardMetric;
+import com.autoprime.model.PaymentStatus;
+import com.autoprime.model.Role;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.repository.DashboardMetricRepository;
+import com.autoprime.repository.PaymentRepository;
+import com.autoprime.repository.UserRepository;
+import com.autoprime.util.CommitGate;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Admin dashboard counters kept current from booking, car, payment and
+ * user events, so the dashboard never scans those tables. Money is summed
+ * in paise. Counters are checkpointed to dashboard_metrics periodically and
+ * on shutdown; after an unclean stop they are rebuilt with grouped queries.
+ */
+@Service
+public class DashboardMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardMetrics.class);
+
+    static final String CLEAN = "checkpoint.clean";
+    static final String DAY_PREFIX = "revenue.day.";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private DashboardMetricRepository metricRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final CommitGate gate = new CommitGate();
+
+    private volatile Counters counters = new Counters();
+
+    private volatile boolean ready;
+
+    static final class Counters {
+        // Every adder by its checkpoint name
+        final Map<String, LongAdder> byName = new ConcurrentHashMap<>();
+
+        final Map<Role, LongAdder> users = register("users.", Role.class);
+        final Map<CarStatus, LongAdder> cars = register("cars.", CarStatus.class);
+        final Map<BookingStatus, LongAdder> bookings = register("bookings.count.", BookingStatus.class);
+        final Map<BookingStatus, LongAdder> bookingPaise = register("bookings.paise.", BookingStatus.class);
+        final Map<PaymentStatus, LongAdder> payments = register("payments.count.", PaymentStatus.class);
+        final Map<PaymentStatus, LongAdder> paymentPaise = register("payments.paise.", PaymentStatus.class);
+
+        // Totals of paid bookings by the day they were made
+        final Map<LocalDate, LongAdder> paidPaiseByDay = new ConcurrentHashMap<>();
+
+        private <E extends Enum<E>> Map<E, LongAdder> register(String prefix, Class<E> type) {
+            Map<E, LongAdder> adders = new EnumMap<>(type);
+            for (E key : type.getEnumConstants()) {
+                LongAdder adder = new LongAdder();
+                adders.put(key, adder);
+                byName.put(prefix + key.name(), adder);
+            }
+            return adders;
+        }
+
+        LongAdder paidOn(LocalDate day) {
+            return paidPaiseByDay.computeIfAbsent(day, d -> {
+                LongAdder adder = new LongAdder();
+                byName.put(DAY_PREFIX + d, adder);
+                return adder;
+            });
+        }
+
+        LongAdder named(String metric) {
+            if (metric.startsWith(DAY_PREFIX)) {
+                return paidOn(LocalDate.parse(metric.substring(DAY_PREFIX.length())));
+            }
+            return byName.get(metric);
+        }
+
+        void addAll(Counters other) {
+            other.byName.forEach((metric, adder) -> named(metric).add(adder.sum()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!restore()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute every counter from the tables
+     */
+    public void rebuild() {
+        long began = System.nanoTime();
+        gate.exclusive(() -> {
+            counters = transactionTemplate.execute(tx -> load());
+            ready = true;
+        });
+        log.info("Dashboard metrics rebuilt in {} ms", (System.nanoTime() - began) / 1_000_000);
+    }
+
+    private Counters load() {
+        Counters fresh = new Counters();
+        for (Object[] row : userRepository.countGroupedByRole()) {
+            if (row[0] != null) {
+                fresh.users.get((Role) row[0]).add((Long) row[1]);
+            }
+        }
+        for (Object[] row : carRepository.countGroupedByStatus()) {
+            fresh.cars.get((CarStatus) row[0]).add((Long) row[1]);
+        }
+        for (Object[] row : bookingRepository.totalsGroupedByStatus()) {
+            BookingStatus status = (BookingStatus) row[0];
+            fresh.bookings.get(status).add((Long) row[1]);
+            fresh.bookingPaise.get(status).add(paise(row[2]));
+        }
+        for (Object[] row : bookingRepository.totalsGroupedByDayForStatusIn(BookingStatus.PAID)) {
+            fresh.paidOn((LocalDate) row[0]).add(paise(row[1]));
+        }
+        for (Object[] row : paymentRepository.totalsGroupedByStatus()) {
+            PaymentStatus status = (PaymentStatus) row[0];
+            fresh.payments.get(status).add((Long) row[1]);
+            fresh.paymentPaise.get(status).add(paise(row[2]));
+        }
+        return fresh;
+    }
+
+    /**
+     * Load the last checkpoint if it was written by a clean shutdown
+     */
+    private boolean restore() {
+        Map<String, Long> saved = new ConcurrentHashMap<>();
+        for (DashboardMetric metric : metricRepository.findAll()) {
+            saved.put(metric.getMetric(), metric.getValue());
+        }
+        if (saved.getOrDefault(CLEAN, 0L) != 1L) {
+            return false;
+        }
+
+        gate.exclusive(() -> {
+            Counters restored = new Counters();
+            saved.forEach((metric, value) -> {
+                LongAdder adder = metric.equals(CLEAN) ? null : restored.named(metric);
+                if (adder != null) {
+                    adder.add(value);
+                }
+            });
+            // Keep anything that changed since startup began
+            restored.addAll(counters);
+            counters = restored;
+            ready = true;
+        });
+
+        // Until the next clean shutdown these counters cannot be trusted after a crash
+        jdbcTemplate.update("UPDATE dashboard_metrics SET metric_value = 0 WHERE metric = ?", CLEAN);
+        log.info("Dashboard metrics restored from checkpoint");
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.metrics.checkpoint-millis:60000}",
+               initialDelayString = "${dashboard.metrics.checkpoint-millis:60000}")
+    public void checkpoint() {
+        if (ready) {
+            write(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ready) {
+            try {
+                write(true);
+            } catch (RuntimeException e) {
+                log.warn("Could not checkpoint dashboard metrics on shutdown", e);
+            }
+        }
+    }
+
+    private void write(boolean clean) {
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Briefly stop deltas so the snapshot is consistent across counters
+        gate.exclusive(() -> counters.byName.forEach(
+                (metric, adder) -> rows.add(new Object[] { metric, adder.sum(), now })));
+        rows.add(new Object[] { CLEAN, clean ? 1L : 0L, now });
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.update("DELETE FROM dashboard_metrics");
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO dashboard_metrics (metric, metric_value, updated_at) VALUES (?, ?, ?)", rows);
+        });
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        long paise = toPaise(event.total());
+        record(c -> {
+            if (event.previousStatus() != null) {
+                addBooking(c, event.previousStatus(), event.bookedOn(), -1, -paise);
+            }
+            if (event.status() != null) {
+                addBooking(c, event.status(), event.bookedOn(), 1, paise);
+            }
+        });
+    }
+
+    private static void addBooking(Counters c, BookingStatus status, LocalDate bookedOn, int count, long paise) {
+        c.bookings.get(status).add(count);
+        c.bookingPaise.get(status).add(paise);
+        if (status.isPaid() && bookedOn != null) {
+            c.paidOn(bookedOn).add(paise);
+        }
+    }
+
+    @EventListener
+    public void onCarEvent(CarEvent event) {
+        record(c -> {
+            if (event.previousStatus() != null) {
+                c.cars.get(event.previousStatus()).decrement();
+            }
+            if (event.status() != null) {
+                c.cars.get(event.status()).increment();
+            }
+        });
+    }
+
+    @EventListener
+    public void onPaymentEvent(PaymentEvent event) {
+        long paise = toPaise(event.amount());
+        record(c -> {
+            if (event.previousStatus() != null) {
+                c.payments.get(event.previousStatus()).decrement();
+                c.paymentPaise.get(event.previousStatus()).add(-paise);
+            }
+            if (event.status() != null) {
+                c.payments.get(event.status()).increment();
+                c.paymentPaise.get(event.status()).add(paise);
+            }
+        });
+    }
+
+    @EventListener
+    public void onUserEvent(UserEvent event) {
+        if (event.role() == null) {
+            return;
+        }
+        record(c -> c.users.get(event.role()).add(event.type() == UserEvent.Type.CREATED ? 1 : -1));
+    }
+
+    private void record(Consumer<Counters> delta) {
+        gate.afterCommit(() -> delta.accept(counters));
+    }
+
+    private Counters current() {
+        if (!ready) {
+            rebuild();
+        }
+        return counters;
+    }
+
+    public long users(Role role) {
+        return current().users.get(role).sum();
+    }
+
+    public long totalUsers() {
+        return sum(current().users);
+    }
+
+    public long cars(CarStatus status) {
+        return current().cars.get(status).sum();
+    }
+
+    public long totalCars() {
+        return sum(current().cars);
+    }
+
+    public long bookings(BookingStatus status) {
+        return current().bookings.get(status).sum();
+    }
+
+    public long totalBookings() {
+        return sum(current().bookings);
+    }
+
+    public double bookingRevenue(BookingStatus status) {
+        return toRupees(current().bookingPaise.get(status).sum());
+    }
+
+    /**
+     * Total of all CONFIRMED and COMPLETED bookings
+     */
+    public double paidRevenue() {
+        Counters c = current();
+        long paise = 0;
+        for (BookingStatus status : BookingStatus.PAID) {
+            paise += c.bookingPaise.get(status).sum();
+        }
+        return toRupees(paise);
+    }
+
+    /**
+     * Total of CONFIRMED and COMPLETED bookings made on the given day
+     */
+    public double paidRevenueOn(LocalDate day) {
+        LongAdder adder = current().paidPaiseByDay.get(day);
+        return adder == null ? 0.0 : toRupees(adder.sum());
+    }
+
+    public long payments(PaymentStatus status) {
+        return current().payments.get(status).sum();
+    }
+
+    public double paymentAmount(PaymentStatus status) {
+        return toRupees(current().paymentPaise.get(status).sum());
+    }
+
+    private static long sum(Map<?, LongAdder> adders) {
+        long total = 0;
+        for (LongAdder adder : adders.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    private static long paise(Object sum) {
+        return sum == null ? 0L : Math.round(((Number) sum).doubleValue());
+    }
+
+    static long toPaise(Double amount) {
+        return amount == null ? 0L : Math.round(amount * 100);
+    }
+
+    static double toRupees(long paise) {
+        return paise / 100.0;
+    }
+}
@@ -1,10 +1,13 @@
 // HostService.java
 package com.autoprime.service;
 
+import com.autoprime.dto.BookingReportRow;
+import com.autoprime.dto.HostCarSummary;
 import com.autoprime.model.User;
 import com.autoprime.model.Car;
-import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
 import com.autoprime.model.Role;
+import com.autoprime.model.CarStatus;
 import com.autoprime.repository.UserRepository;
 import com.autoprime.repository.CarRepository;
 import com.autoprime.repository.BookingRepository;
@@ -15,6 +18,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
+/**
+ * Host portfolio views. Each is a fixed number of queries however many
+ * cars the host has: per-car totals come from one grouped query and
+ * bookings from one joined projection.
+ */
 @Service
 public class HostService {
     
@@ -28,31 +36,25 @@ public class HostService {
     private BookingRepository bookingRepository;
     
     public Map<String, Object> getHostDashboard(Long hostId) {
-        User host = userRepository.findById(hostId)
-                .orElseThrow(() -> new RuntimeException("Host not found"));
+        User host = findHost(hostId);
         
         if (!Role.HOST.equals(host.getRole())) {
             throw new RuntimeException("User is not a host");
         }
         
-        List<Car> cars = carRepository.findByOwner(host);
+        List<HostCarSummary> cars = carRepository.findHostCarSummaries(hostId, BookingStatus.PAID);
         
         // Calculate statistics
         int totalCars = cars.size();
-        int activeCars = (int) cars.stream()
-                .filter(car -> "AVAILABLE".equals(car.getStatus()))
-                .count();
-        
+        int activeCars = 0;
+        long totalBookings = 0;
         double totalEarnings = 0.0;
-        int totalBookings = 0;
-        
-        for (Car car : cars) {
-            List<Booking> carBookings = bookingRepository.findByCar(car);
-            totalBookings += carBookings.size();
-            totalEarnings += carBookings.stream()
-                    .filter(b -> "COMPLETED".equals(b.getStatus()) || "CONFIRMED".equals(b.getStatus()))
-                    .mapToDouble(Booking::getTotal)
-                    .sum();
+        for (HostCarSummary car : cars) {
+            if (car.status() == CarStatus.AVAILABLE) {
+                activeCars++;
+            }
+            totalBookings += car.bookings();
+            totalEarnings += car.earnings();
         }
         
         Map<String, Object> dashboard = new HashMap<>();
@@ -66,15 +68,19 @@ public class HostService {
     }
     
     public List<Car> getHostCars(Long hostId) {
-        User host = userRepository.findById(hostId)
-                .orElseThrow(() -> new RuntimeException("Host not found"));
-        return carRepository.findByOwner(host);
+        return carRepository.findByOwner(findHost(hostId));
     }
     
-    public List<Booking> getHostBookings(Long hostId) {
-        List<Car> hostCars = getHostCars(hostId);
-        return hostCars.stream()
-                .flatMap(car -> bookingRepository.findByCar(car).stream())
-                .toList();
+    /**
+     * Bookings of all the host's cars, newest first
+     */
+    public List<BookingReportRow> getHostBookings(Long hostId) {
+        findHost(hostId);
+        return bookingRepository.findReportRowsByCarOwnerId(hostId);
+    }
+    
+    private User findHost(Long hostId) {
+        return userRepository.findById(hostId)
+                .orElseThrow(() -> new RuntimeException("Host not found"));
     }
 }
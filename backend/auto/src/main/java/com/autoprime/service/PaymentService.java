@@ -1,10 +1,17 @@
 package com.autoprime.service;
 
+import com.autoprime.dto.CursorPage;
+import com.autoprime.event.PaymentEvent;
 import com.autoprime.model.Payment;
 import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.PaymentStatus;
 import com.autoprime.repository.PaymentRepository;
 import com.autoprime.repository.BookingRepository;
+import com.autoprime.util.Cursor;
+import com.autoprime.util.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,8 +27,18 @@ public class PaymentService {
     @Autowired
     private BookingRepository bookingRepository;
     
-    public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+    @Autowired
+    private BookingService bookingService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
+    public CursorPage<Payment> getAllPayments(String cursor, Integer size) {
+        return keysetPager.page(cursor, size, paymentRepository::findFirstPage, paymentRepository::findPageAfter,
+                p -> new Cursor(p.getCreatedAt(), p.getId()));
     }
     
     public Payment getPaymentById(Long id) {
@@ -36,7 +53,7 @@ public class PaymentService {
                 .orElseThrow(() -> new RuntimeException("Payment not found for this booking"));
     }
     
-    public List<Payment> getPaymentsByStatus(String status) {
+    public List<Payment> getPaymentsByStatus(PaymentStatus status) {
         return paymentRepository.findByStatus(status);
     }
     
@@ -55,42 +72,54 @@ public class PaymentService {
         payment.setAmount(booking.getTotal());
         payment.setPaymentMethod(paymentMethod);
         payment.setTransactionId(generateTransactionId());
-        payment.setStatus("PENDING");
+        payment.setStatus(PaymentStatus.PENDING);
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        eventPublisher.publishEvent(PaymentEvent.created(saved));
+        return saved;
     }
     
     @Transactional
     public Payment processPayment(Long paymentId) {
         Payment payment = getPaymentById(paymentId);
+        // Holds off a concurrent hold expiry until this transaction ends
+        Booking booking = bookingService.lockBooking(payment.getBooking().getId());
         
         // Simulate payment processing
         // In real application, integrate with payment gateway
-        payment.setStatus("SUCCESS");
+        PaymentStatus previousStatus = payment.getStatus();
+        previousStatus.checkTransitionTo(PaymentStatus.SUCCESS);
+        payment.setStatus(PaymentStatus.SUCCESS);
         
         // Update booking status
-        Booking booking = payment.getBooking();
-        booking.setStatus("CONFIRMED");
-        bookingRepository.save(booking);
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new RuntimeException("Booking has been cancelled, its hold may have expired");
+        }
+        bookingService.updateBookingStatus(booking.getId(), BookingStatus.CONFIRMED);
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        eventPublisher.publishEvent(PaymentEvent.statusChanged(saved, previousStatus));
+        return saved;
     }
     
     @Transactional
-    public Payment updatePaymentStatus(Long paymentId, String status) {
+    public Payment updatePaymentStatus(Long paymentId, PaymentStatus status) {
         Payment payment = getPaymentById(paymentId);
+        Booking booking = bookingService.lockBooking(payment.getBooking().getId());
+        PaymentStatus previousStatus = payment.getStatus();
+        previousStatus.checkTransitionTo(status);
         payment.setStatus(status);
         
         // Update booking status based on payment status
-        Booking booking = payment.getBooking();
-        if ("SUCCESS".equals(status)) {
-            booking.setStatus("CONFIRMED");
-        } else if ("FAILED".equals(status)) {
-            booking.setStatus("CANCELLED");
+        if (status == PaymentStatus.SUCCESS) {
+            bookingService.updateBookingStatus(booking.getId(), BookingStatus.CONFIRMED);
+        } else if (status == PaymentStatus.FAILED) {
+            bookingService.updateBookingStatus(booking.getId(), BookingStatus.CANCELLED);
         }
-        bookingRepository.save(booking);
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        eventPublisher.publishEvent(PaymentEvent.statusChanged(saved, previousStatus));
+        return saved;
     }
     
     private String generateTransactionId() {
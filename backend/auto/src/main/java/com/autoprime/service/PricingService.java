@@ -0,0 +1,98 @@
+// PricingService.java
+package com.autoprime.service;
+
+import com.autoprime.dto.CarPricing;
+import com.autoprime.dto.CarQuote;
+import com.autoprime.dto.QuoteRequest;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.util.PriceQuote;
+import com.autoprime.util.PricingEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class PricingService {
+    
+    static final int MAX_CARS_PER_QUOTE = 500;
+    
+    @Autowired
+    private CarRepository carRepository;
+    
+    /**
+     * Price a set of cars over one date range with a single catalog query
+     */
+    public Map<String, Object> quote(QuoteRequest request) {
+        if (request.getStartDate() == null || request.getEndDate() == null
+                || request.getEndDate().isBefore(request.getStartDate())) {
+            throw new RuntimeException("Invalid date range");
+        }
+        
+        List<CarPricing> cars;
+        long totalCars;
+        boolean truncated;
+        if (request.getCarIds() != null && !request.getCarIds().isEmpty()) {
+            if (request.getCarIds().size() > MAX_CARS_PER_QUOTE) {
+                throw new RuntimeException("At most " + MAX_CARS_PER_QUOTE + " cars can be quoted at once");
+            }
+            cars = carRepository.findPricingByIdIn(request.getCarIds());
+            totalCars = cars.size();
+            truncated = false;
+        } else {
+            int page = request.getPage() != null ? request.getPage() : 0;
+            if (page < 0) {
+                throw new RuntimeException("Page must be >= 0");
+            }
+            // A filter over a large fleet is quoted a page at a time; the
+            // response says how many cars matched and whether more remain
+            Page<CarPricing> matches = carRepository.findPricingByFilter(blankToNull(request.getType()),
+                    blankToNull(request.getLocation()), PageRequest.of(page, MAX_CARS_PER_QUOTE));
+            cars = matches.getContent();
+            totalCars = matches.getTotalElements();
+            truncated = matches.hasNext();
+        }
+        
+        int n = cars.size();
+        double[] prices = new double[n];
+        double[] extras = new double[n];
+        for (int i = 0; i < n; i++) {
+            CarPricing car = cars.get(i);
+            prices[i] = car.pricePerDay();
+            extras[i] = car.weekendExtra() != null ? car.weekendExtra() : 0;
+        }
+        
+        long startDay = request.getStartDate().toEpochDay();
+        long endDay = request.getEndDate().toEpochDay();
+        PriceQuote[] quotes = PricingEngine.quoteAll(prices, extras, startDay, endDay);
+        
+        List<CarQuote> lines = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            PriceQuote quote = quotes[i];
+            lines.add(new CarQuote(cars.get(i).id(), cars.get(i).name(), prices[i], extras[i],
+                    quote.subtotal(), quote.discount(), quote.gst(), quote.total()));
+        }
+        
+        int days = PricingEngine.days(startDay, endDay);
+        Map<String, Object> response = new HashMap<>();
+        response.put("startDate", request.getStartDate());
+        response.put("endDate", request.getEndDate());
+        response.put("days", days);
+        response.put("weekendDays", PricingEngine.weekendDays(startDay, endDay));
+        response.put("discountRate", PricingEngine.discountRate(days));
+        response.put("gstRate", PricingEngine.GST_RATE);
+        response.put("quotes", lines);
+        response.put("totalCars", totalCars);
+        response.put("truncated", truncated);
+        return response;
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
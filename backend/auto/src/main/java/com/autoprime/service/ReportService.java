@@ -0,0 +1,101 @@
+// ReportService.java
+package com.autoprime.service;
+
+import com.autoprime.dto.BookingReportRow;
+import com.autoprime.dto.PaymentReportRow;
+import com.autoprime.dto.UserReportRow;
+import com.autoprime.exception.ValidationException;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.repository.PaymentRepository;
+import com.autoprime.repository.UserRepository;
+import com.autoprime.util.ReportFormat;
+import com.autoprime.util.ReportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exports whole reports by streaming projected rows straight from the
+ * database cursor to the response, one row at a time.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    public static final List<String> REPORT_TYPES = List.of("USERS", "BOOKINGS", "REVENUE");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Normalize a report type, rejecting unknown ones before any output is written
+     */
+    public String checkReportType(String reportType) {
+        String type = reportType == null ? "" : reportType.trim().toUpperCase();
+        if (!REPORT_TYPES.contains(type)) {
+            throw new ValidationException("Invalid report type");
+        }
+        return type;
+    }
+
+    /**
+     * Write every row of the report to out and return the number of rows
+     */
+    @Transactional(readOnly = true)
+    public long export(String reportType, ReportFormat format, OutputStream out) throws IOException {
+        long began = System.nanoTime();
+        String type = checkReportType(reportType);
+        long rows;
+        switch (type) {
+            case "USERS":
+                try (Stream<UserReportRow> stream = userRepository.streamReportRows()) {
+                    rows = write(stream, UserReportRow.class, format, out);
+                }
+                break;
+
+            case "BOOKINGS":
+                try (Stream<BookingReportRow> stream = bookingRepository.streamReportRows()) {
+                    rows = write(stream, BookingReportRow.class, format, out);
+                }
+                break;
+
+            default:
+                try (Stream<PaymentReportRow> stream = paymentRepository.streamReportRows()) {
+                    rows = write(stream, PaymentReportRow.class, format, out);
+                }
+        }
+        log.info("Exported {} report as {}: {} rows in {} ms", type, format, rows,
+                (System.nanoTime() - began) / 1_000_000);
+        return rows;
+    }
+
+    private <T extends Record> long write(Stream<T> stream, Class<T> rowType, ReportFormat format,
+                                          OutputStream out) throws IOException {
+        ReportWriter writer = ReportWriter.open(format, rowType, out, objectMapper);
+        long rows = 0;
+        for (Iterator<T> it = stream.iterator(); it.hasNext(); rows++) {
+            writer.write(it.next());
+        }
+        writer.finish();
+        return rows;
+    }
+}
@@ -0,0 +1,411 @@
+// RevenueCube.java
+package com.autoprime.service;
+
+import com.autoprime.dto.CarDimensions;
+import com.autoprime.dto.RevenueFact;
+import com.autoprime.dto.RevenueRow;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
+import com.autoprime.exception.ValidationException;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.User;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.util.CommitGatedView;
+import com.autoprime.util.PricingEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * In-memory revenue cube over paid (CONFIRMED and COMPLETED) bookings.
+ * Cells are bucketed by the day a booking was made and keyed by car slot;
+ * host, location and type live in dictionary-encoded columns per slot, so a
+ * rollup maps each slot to a group once and then only sums arrays.
+ */
+@Service
+public class RevenueCube {
+
+    // Longest range a single query may cover
+    public static final int MAX_QUERY_DAYS = 3660;
+
+    static final String UNASSIGNED_HOST = "Unassigned";
+    static final String UNKNOWN = "Unknown";
+
+    public enum Dimension {
+        HOST,
+        LOCATION,
+        TYPE;
+
+        /**
+         * Parse a comma separated list such as "host,location"; blank means no grouping
+         */
+        public static Set<Dimension> parseAll(String value) {
+            Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+            if (value == null || value.isBlank()) {
+                return dimensions;
+            }
+            for (String name : value.split(",")) {
+                String key = name.trim().toUpperCase(Locale.ROOT);
+                if (key.equals("CITY")) {
+                    key = "LOCATION";
+                }
+                try {
+                    dimensions.add(valueOf(key));
+                } catch (IllegalArgumentException e) {
+                    throw new ValidationException("Unknown groupBy dimension: " + name.trim());
+                }
+            }
+            return dimensions;
+        }
+    }
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        /**
+         * First day of the period holding day; weeks start on Monday
+         */
+        public LocalDate periodStart(LocalDate day) {
+            return switch (this) {
+                case DAY -> day;
+                case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> day.withDayOfMonth(1);
+            };
+        }
+
+        public static Granularity parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Unknown granularity: " + value);
+            }
+        }
+    }
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final CommitGatedView<Cells> view =
+            new CommitGatedView<>(RevenueCube.class, "Revenue cube", "car slots", new Cells(), c -> c.slotCount);
+
+    /**
+     * Cube contents; only touched under the view's lock, or before it is published
+     */
+    static final class Cells {
+        // Slot-major car columns; a car keeps its slot for the cube's lifetime
+        int slotCount;
+        long[] carIds = new long[0];
+        int[] hostCodes = new int[0];
+        int[] locationCodes = new int[0];
+        int[] typeCodes = new int[0];
+        final Map<Long, Integer> slotByCar = new HashMap<>();
+
+        // Code 0 of every dictionary stands for a missing value
+        final List<Long> hostIds = new ArrayList<>(List.of(0L));
+        final List<String> hostNames = new ArrayList<>(List.of(UNASSIGNED_HOST));
+        final Map<Long, Integer> hostCodeById = new HashMap<>();
+        final Dictionary locations = new Dictionary();
+        final Dictionary types = new Dictionary();
+
+        // Epoch day of days[0]
+        int origin;
+        Day[] days = new Day[0];
+
+        void upsertCar(long carId, Long hostId, String hostName, String location, String type) {
+            int slot = slot(carId);
+            int hostCode = 0;
+            if (hostId != null) {
+                hostCode = hostCodeById.computeIfAbsent(hostId, id -> {
+                    hostIds.add(id);
+                    hostNames.add(null);
+                    return hostIds.size() - 1;
+                });
+                hostNames.set(hostCode, hostName);
+            }
+            hostCodes[slot] = hostCode;
+            locationCodes[slot] = locations.code(location);
+            typeCodes[slot] = types.code(type);
+        }
+
+        void add(long carId, long epochDay, long paise, int bookings, int rentalDays) {
+            int slot = slot(carId);
+            day(epochDay).add(slot, paise, bookings, rentalDays);
+        }
+
+        private int slot(long carId) {
+            Integer existing = slotByCar.get(carId);
+            if (existing != null) {
+                return existing;
+            }
+            int slot = slotCount++;
+            if (slot == carIds.length) {
+                int capacity = Math.max(16, slot * 2);
+                carIds = Arrays.copyOf(carIds, capacity);
+                hostCodes = Arrays.copyOf(hostCodes, capacity);
+                locationCodes = Arrays.copyOf(locationCodes, capacity);
+                typeCodes = Arrays.copyOf(typeCodes, capacity);
+            }
+            carIds[slot] = carId;
+            slotByCar.put(carId, slot);
+            return slot;
+        }
+
+        private Day day(long epochDay) {
+            if (days.length == 0) {
+                origin = (int) epochDay;
+                days = new Day[64];
+            }
+            int index = (int) (epochDay - origin);
+            if (index < 0) {
+                // Grow towards the past, keeping some headroom
+                int shift = Math.max(-index, days.length / 2);
+                Day[] grown = new Day[days.length + shift];
+                System.arraycopy(days, 0, grown, shift, days.length);
+                days = grown;
+                origin -= shift;
+                index += shift;
+            } else if (index >= days.length) {
+                days = Arrays.copyOf(days, Math.max(index + 1, days.length * 2));
+            }
+            Day day = days[index];
+            if (day == null) {
+                day = days[index] = new Day();
+            }
+            return day;
+        }
+    }
+
+    /**
+     * Totals of one day as parallel arrays sorted by slot
+     */
+    static final class Day {
+        int size;
+        int[] slots = new int[4];
+        long[] paise = new long[4];
+        int[] bookings = new int[4];
+        int[] rentalDays = new int[4];
+
+        void add(int slot, long amount, int count, int days) {
+            int i = Arrays.binarySearch(slots, 0, size, slot);
+            if (i < 0) {
+                i = -i - 1;
+                if (size == slots.length) {
+                    int capacity = size * 2;
+                    slots = Arrays.copyOf(slots, capacity);
+                    paise = Arrays.copyOf(paise, capacity);
+                    bookings = Arrays.copyOf(bookings, capacity);
+                    rentalDays = Arrays.copyOf(rentalDays, capacity);
+                }
+                int tail = size - i;
+                System.arraycopy(slots, i, slots, i + 1, tail);
+                System.arraycopy(paise, i, paise, i + 1, tail);
+                System.arraycopy(bookings, i, bookings, i + 1, tail);
+                System.arraycopy(rentalDays, i, rentalDays, i + 1, tail);
+                slots[i] = slot;
+                paise[i] = 0;
+                bookings[i] = 0;
+                rentalDays[i] = 0;
+                size++;
+            }
+            paise[i] += amount;
+            bookings[i] += count;
+            rentalDays[i] += days;
+        }
+    }
+
+    /**
+     * Case-insensitive string dictionary that keeps the first spelling seen as the label
+     */
+    static final class Dictionary {
+        final List<String> labels = new ArrayList<>(List.of(UNKNOWN));
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int code(String value) {
+            if (value == null || value.isBlank()) {
+                return 0;
+            }
+            return codes.computeIfAbsent(value.trim().toLowerCase(Locale.ROOT), key -> {
+                labels.add(value.trim());
+                return labels.size() - 1;
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        view.rebuild(transactionTemplate, this::load);
+    }
+
+    private Cells load() {
+        Cells fresh = new Cells();
+        for (CarDimensions car : carRepository.findAllDimensions()) {
+            fresh.upsertCar(car.id(), car.ownerId(), car.ownerName(), car.location(), car.type());
+        }
+        try (Stream<RevenueFact> facts = bookingRepository.streamRevenueFactsByStatusIn(BookingStatus.PAID)) {
+            facts.forEach(f -> {
+                if (f.bookedOn() != null) {
+                    fresh.add(f.carId(), f.bookedOn().toEpochDay(), DashboardMetrics.toPaise(f.total()), 1,
+                            f.days() == null ? 0 : f.days());
+                }
+            });
+        }
+        return fresh;
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        boolean wasPaid = event.previousStatus() != null && event.previousStatus().isPaid();
+        boolean isPaid = event.status() != null && event.status().isPaid();
+        if (wasPaid == isPaid || event.bookedOn() == null) {
+            return;
+        }
+        int sign = isPaid ? 1 : -1;
+        long paise = DashboardMetrics.toPaise(event.total());
+        int rentalDays = PricingEngine.days(event.startDate().toEpochDay(), event.endDate().toEpochDay());
+        long epochDay = event.bookedOn().toEpochDay();
+        view.afterCommit(c -> c.add(event.carId(), epochDay, sign * paise, sign, sign * rentalDays));
+    }
+
+    @EventListener
+    public void onCarEvent(CarEvent event) {
+        if (event.type() == CarEvent.Type.DELETED) {
+            // Revenue already earned by the car stays attributed to it
+            return;
+        }
+        // Read the owner now, while the car's session is still open
+        Car car = event.car();
+        User owner = car.getOwner();
+        Long hostId = owner == null ? null : owner.getId();
+        String hostName = owner == null ? null : owner.getName();
+        String location = car.getLocation();
+        String type = car.getType();
+        view.afterCommit(c -> c.upsertCar(car.getId(), hostId, hostName, location, type));
+    }
+
+    /**
+     * Revenue of paid bookings made in [from, to], one row per period and
+     * combination of the grouped dimensions, ordered by period. Cars carry
+     * their current host, location and type back through history.
+     */
+    public List<RevenueRow> revenue(Set<Dimension> groupBy, Granularity granularity, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_QUERY_DAYS) {
+            throw new ValidationException("Date range must not exceed " + MAX_QUERY_DAYS + " days");
+        }
+        boolean byHost = groupBy.contains(Dimension.HOST);
+        boolean byLocation = groupBy.contains(Dimension.LOCATION);
+        boolean byType = groupBy.contains(Dimension.TYPE);
+
+        return view.read(c -> {
+            // Dense group id per slot; representative slot per group for labels
+            int[] groupOfSlot = new int[c.slotCount];
+            Map<Long, Integer> groupByKey = new HashMap<>();
+            int[] sampleSlot = new int[Math.max(1, c.slotCount)];
+            for (int slot = 0; slot < c.slotCount; slot++) {
+                long key = ((long) (byHost ? c.hostCodes[slot] : 0) << 42)
+                        | ((long) (byLocation ? c.locationCodes[slot] : 0) << 21)
+                        | (byType ? c.typeCodes[slot] : 0);
+                int slotIndex = slot;
+                groupOfSlot[slot] = groupByKey.computeIfAbsent(key, k -> {
+                    sampleSlot[groupByKey.size()] = slotIndex;
+                    return groupByKey.size();
+                });
+            }
+            int groups = groupByKey.size();
+
+            long[] paise = new long[groups];
+            long[] bookings = new long[groups];
+            long[] rentalDays = new long[groups];
+            boolean[] touched = new boolean[groups];
+            int[] touchedGroups = new int[groups];
+            int touchedCount = 0;
+
+            List<RevenueRow> rows = new ArrayList<>();
+            int first = Math.max(0, (int) (from.toEpochDay() - c.origin));
+            int last = Math.min(c.days.length - 1, (int) (to.toEpochDay() - c.origin));
+            LocalDate period = null;
+            for (int i = first; i <= last; i++) {
+                Day day = c.days[i];
+                if (day == null || day.size == 0) {
+                    continue;
+                }
+                LocalDate start = granularity.periodStart(LocalDate.ofEpochDay(c.origin + i));
+                if (!start.equals(period)) {
+                    flush(rows, c, period, sampleSlot, byHost, byLocation, byType,
+                            paise, bookings, rentalDays, touched, touchedGroups, touchedCount);
+                    touchedCount = 0;
+                    period = start;
+                }
+                for (int k = 0; k < day.size; k++) {
+                    int g = groupOfSlot[day.slots[k]];
+                    if (!touched[g]) {
+                        touched[g] = true;
+                        touchedGroups[touchedCount++] = g;
+                    }
+                    paise[g] += day.paise[k];
+                    bookings[g] += day.bookings[k];
+                    rentalDays[g] += day.rentalDays[k];
+                }
+            }
+            flush(rows, c, period, sampleSlot, byHost, byLocation, byType,
+                    paise, bookings, rentalDays, touched, touchedGroups, touchedCount);
+            return rows;
+        });
+    }
+
+    private static void flush(List<RevenueRow> rows, Cells c, LocalDate period, int[] sampleSlot,
+                              boolean byHost, boolean byLocation, boolean byType,
+                              long[] paise, long[] bookings, long[] rentalDays,
+                              boolean[] touched, int[] touchedGroups, int touchedCount) {
+        // Groups come out in first-seen slot order, which is stable across periods
+        Arrays.sort(touchedGroups, 0, touchedCount);
+        for (int t = 0; t < touchedCount; t++) {
+            int g = touchedGroups[t];
+            if (bookings[g] != 0 || paise[g] != 0) {
+                int slot = sampleSlot[g];
+                int hostCode = c.hostCodes[slot];
+                rows.add(new RevenueRow(
+                        period,
+                        byHost && hostCode != 0 ? c.hostIds.get(hostCode) : null,
+                        byHost ? c.hostNames.get(hostCode) : null,
+                        byLocation ? c.locations.labels.get(c.locationCodes[slot]) : null,
+                        byType ? c.types.labels.get(c.typeCodes[slot]) : null,
+                        DashboardMetrics.toRupees(paise[g]),
+                        bookings[g],
+                        rentalDays[g]));
+            }
+            touched[g] = false;
+            paise[g] = 0;
+            bookings[g] = 0;
+            rentalDays[g] = 0;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.autoprime.service;
 
+import com.autoprime.dto.CursorPage;
 import com.autoprime.model.Review;
 import com.autoprime.model.Car;
 import com.autoprime.model.User;
 import com.autoprime.repository.ReviewRepository;
 import com.autoprime.repository.CarRepository;
 import com.autoprime.repository.UserRepository;
+import com.autoprime.util.Cursor;
+import com.autoprime.util.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +27,12 @@ public class ReviewService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private CarStats carStats;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
     /**
      * Get all reviews for a specific car
      */
@@ -89,38 +98,11 @@ public class ReviewService {
         // Save review
         Review savedReview = reviewRepository.save(review);
         
-        // Update car rating
-        updateCarRating(car);
+        carStats.reviewAdded(car.getId(), savedReview.getRating());
         
         return savedReview;
     }
     
-    /**
-     * Update car's average rating based on all reviews
-     */
-    private void updateCarRating(Car car) {
-        List<Review> reviews = reviewRepository.findByCar(car);
-        
-        if (reviews.isEmpty()) {
-            car.setRating(0.0);
-            car.setTotalTrips(0);
-        } else {
-            // Calculate average rating
-            double averageRating = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            
-            // Round to 1 decimal place
-            averageRating = Math.round(averageRating * 10.0) / 10.0;
-            
-            car.setRating(averageRating);
-            car.setTotalTrips(reviews.size());
-        }
-        
-        carRepository.save(car);
-    }
-    
     /**
      * Get a review by ID
      */
@@ -142,6 +124,7 @@ public class ReviewService {
                 .orElseThrow(() -> new RuntimeException("Review not found with id: " + reviewId));
         
         boolean updated = false;
+        int oldRating = review.getRating();
         
         if (newRating != null) {
             if (newRating < 1 || newRating > 5) {
@@ -162,9 +145,8 @@ public class ReviewService {
         
         Review updatedReview = reviewRepository.save(review);
         
-        // Update car rating if rating changed
         if (newRating != null) {
-            updateCarRating(review.getCar());
+            carStats.reviewChanged(review.getCar().getId(), oldRating, newRating);
         }
         
         return updatedReview;
@@ -182,18 +164,16 @@ public class ReviewService {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found with id: " + reviewId));
         
-        Car car = review.getCar();
-        
         reviewRepository.delete(review);
         
-        // Update car rating after deletion
-        updateCarRating(car);
+        carStats.reviewRemoved(review.getCar().getId(), review.getRating());
     }
     
     /**
-     * Get all reviews
+     * One page of reviews, newest first
      */
-    public List<Review> getAllReviews() {
-        return reviewRepository.findAll();
+    public CursorPage<Review> getAllReviews(String cursor, Integer size) {
+        return keysetPager.page(cursor, size, reviewRepository::findFirstPage, reviewRepository::findPageAfter,
+                r -> new Cursor(r.getCreatedAt(), r.getId()));
     }
 }
\ No newline at end of file
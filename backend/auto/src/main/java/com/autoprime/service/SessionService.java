@@ -0,0 +1,269 @@
+// SessionService.java
+package com.autoprime.service;
+
+import com.autoprime.model.RefreshToken;
+import com.autoprime.model.RevokedToken;
+import com.autoprime.model.User;
+import com.autoprime.repository.RefreshTokenRepository;
+import com.autoprime.repository.RevokedTokenRepository;
+import com.autoprime.repository.UserRepository;
+import com.autoprime.util.JwtPrincipal;
+import com.autoprime.util.JwtVerifier;
+import com.autoprime.util.RevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Refresh tokens and revocation. Access tokens are short-lived JWTs that
+ * are never looked up; clients renew them with a refresh token, which is
+ * stored and rotated on every use. Logging out revokes the session's
+ * refresh tokens and its access token in revoked_tokens; changing the
+ * password revokes every refresh token of the user and sets
+ * users.tokens_not_before, refusing every access token issued before it.
+ * Every instance loads both into its RevocationList at startup and reloads
+ * them periodically.
+ */
+@Service
+public class SessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionService.class);
+
+    // Long enough for a revocation made here to have committed before a reload drops it
+    private static final long RECENT_MILLIS = 60_000;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.expiration:900000}")
+    private long accessTtlMillis;
+
+    @Value("${auth.refresh.ttl-days:14}")
+    private long refreshTtlDays;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // Revocations made by this instance lately, re-applied over each reload
+    private final List<Recent> recent = new ArrayList<>();
+    private final ReentrantLock recentLock = new ReentrantLock();
+
+    private record Recent(UUID tokenId, long revokedAtMillis) {
+    }
+
+    /**
+     * A refresh token's successor, and whose session it belongs to
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Start a new session for a user who just proved their password
+     */
+    @Transactional
+    public String issueRefreshToken(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for its successor. Null if it is unknown,
+     * expired or already used; a token used twice has leaked, so its whole
+     * session is revoked.
+     */
+    @Transactional
+    public Rotation rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return null;
+        }
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(refreshToken)).orElse(null);
+        if (token == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            log.warn("Revoked refresh token presented for user {}; revoked {} more of its session",
+                    token.getUser().getId(), revoked);
+            return null;
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            return null;
+        }
+        if (refreshTokenRepository.revoke(token.getId(), now) == 0) {
+            // A concurrent request used the same token first
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return null;
+        }
+        return new Rotation(token.getUser(), issue(token.getUser(), token.getFamilyId()));
+    }
+
+    /**
+     * End a session: the access token at once if the caller still has a
+     * valid one, and the family of the given refresh token. Holding the
+     * refresh token is enough, so a client whose access token has expired
+     * can still log out; a signed-in caller only ends their own session.
+     */
+    @Transactional
+    public void logout(JwtPrincipal principal, String refreshToken) {
+        if (principal != null) {
+            revokeAccessToken(principal);
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .filter(token -> principal == null || token.getUser().getId().equals(principal.userId()))
+                    .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * End every session of a user, e.g. after a password change: all their
+     * refresh tokens, and every access token issued before now. Token issue
+     * times are whole seconds, so the cutoff is too; a token issued earlier
+     * in this same second is not caught by it.
+     */
+    @Transactional
+    public int revokeAllSessions(Long userId) {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        userRepository.updateTokensNotBefore(userId, LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()));
+        revocationList.revokeIssuedBefore(userId, cutoff);
+        jwtVerifier.invalidateUser(userId);
+        return refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Refuse an access token from now until it expires
+     */
+    @Transactional
+    public void revokeAccessToken(JwtPrincipal principal) {
+        UUID tokenId = principal.tokenId();
+        long high = tokenId.getMostSignificantBits();
+        long low = tokenId.getLeastSignificantBits();
+        if (!revokedTokenRepository.existsByJtiHighAndJtiLow(high, low)) {
+            revokedTokenRepository.save(new RevokedToken(high, low,
+                    LocalDateTime.ofInstant(principal.expiresAt(), ZoneId.systemDefault())));
+        }
+        recentLock.lock();
+        try {
+            recent.add(new Recent(tokenId, System.currentTimeMillis()));
+            revocationList.add(tokenId);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the revocation list with the unexpired rows of revoked_tokens,
+     * picking up revocations made by other instances
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        long began = System.currentTimeMillis();
+        List<Object[]> rows = transactionTemplate.execute(tx ->
+                revokedTokenRepository.findUnexpiredIds(LocalDateTime.now()));
+        // A cutoff older than the access token lifetime no longer refuses anything
+        Instant oldest = Instant.ofEpochMilli(began - accessTtlMillis);
+        List<Object[]> cutoffs = transactionTemplate.execute(tx -> userRepository.findTokenCutoffsAfter(
+                LocalDateTime.ofInstant(oldest, ZoneId.systemDefault())));
+        List<UUID> tokenIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            tokenIds.add(new UUID((Long) row[0], (Long) row[1]));
+        }
+        recentLock.lock();
+        try {
+            recent.removeIf(r -> r.revokedAtMillis() < began - RECENT_MILLIS);
+            for (Recent r : recent) {
+                tokenIds.add(r.tokenId());
+            }
+            revocationList.replaceAll(tokenIds);
+        } finally {
+            recentLock.unlock();
+        }
+        for (Object[] row : cutoffs) {
+            revocationList.revokeIssuedBefore((Long) row[0],
+                    ((LocalDateTime) row[1]).atZone(ZoneId.systemDefault()).toInstant());
+        }
+        revocationList.dropCutoffsBefore(oldest);
+        log.debug("Revocation list reloaded with {} tokens and {} user cutoffs", revocationList.size(), cutoffs.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-millis:10000}",
+               initialDelayString = "${auth.revocation.sync-millis:10000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload revoked tokens, will retry", e);
+        }
+    }
+
+    /**
+     * Delete revocations and refresh tokens past their expiry
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.prune-millis:3600000}",
+               initialDelayString = "${auth.revocation.prune-millis:3600000}")
+    public void prune() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int[] deleted = transactionTemplate.execute(tx -> new int[] {
+                    revokedTokenRepository.deleteExpired(now), refreshTokenRepository.deleteExpired(now) });
+            log.info("Pruned {} revoked tokens and {} refresh tokens", deleted[0], deleted[1]);
+        } catch (RuntimeException e) {
+            log.warn("Could not prune expired tokens, will retry", e);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(user, hash(token), familyId,
+                LocalDateTime.now().plusDays(refreshTtlDays)));
+        return token;
+    }
+
+    // Stored instead of the token, so the table holds nothing usable
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
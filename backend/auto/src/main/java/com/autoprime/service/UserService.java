@@ -1,11 +1,16 @@
 // UserService.java
 package com.autoprime.service;
 
+import com.autoprime.dto.CursorPage;
+import com.autoprime.event.UserEvent;
 import com.autoprime.model.User;
 import com.autoprime.model.Role;
 import com.autoprime.repository.UserRepository;
+import com.autoprime.util.Cursor;
+import com.autoprime.util.KeysetPager;
+import com.autoprime.util.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,10 +22,20 @@ public class UserService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
+    @Autowired
+    private SessionService sessionService;
+    
+    public CursorPage<User> getAllUsers(String cursor, Integer size) {
+        return keysetPager.page(cursor, size, userRepository::findFirstPage, userRepository::findPageAfter,
+                u -> new Cursor(u.getCreatedAt(), u.getId()));
     }
     
     public User getUserById(Long id) {
@@ -51,17 +66,22 @@ public class UserService {
     public User updatePassword(Long id, String oldPassword, String newPassword) {
         User user = getUserById(id);
         
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHasher.matches(oldPassword, user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
         
-        user.setPassword(passwordEncoder.encode(newPassword));
-        return userRepository.save(user);
+        user.setPassword(passwordHasher.encode(newPassword));
+        user = userRepository.save(user);
+        
+        // Whoever knew the old password is signed out everywhere at once
+        sessionService.revokeAllSessions(id);
+        return user;
     }
     
     public void deleteUser(Long id) {
         User user = getUserById(id);
         userRepository.delete(user);
+        eventPublisher.publishEvent(UserEvent.deleted(user));
     }
     
     public List<User> searchUsers(String name) {
@@ -0,0 +1,83 @@
+// BitmapColumn.java
+package com.autoprime.util;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded categorical column over integer slots: each distinct
+ * value gets an int code and a bitmap of the slots holding it. Values
+ * compare without case or surrounding blanks, as the database collation does.
+ */
+public class BitmapColumn {
+
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<RoaringBitmap> slotsByCode = new ArrayList<>();
+    private int[] codeBySlot = new int[0];
+
+    /**
+     * Set the value of a slot; null or blank leaves it in no bitmap
+     */
+    public void set(int slot, String value) {
+        ensureCapacity(slot + 1);
+        int code = value == null || value.isBlank() ? NONE : codes.computeIfAbsent(key(value), k -> {
+            slotsByCode.add(new RoaringBitmap());
+            return slotsByCode.size() - 1;
+        });
+        int previous = codeBySlot[slot];
+        if (previous == code) {
+            return;
+        }
+        if (previous != NONE) {
+            slotsByCode.get(previous).remove(slot);
+        }
+        if (code != NONE) {
+            slotsByCode.get(code).add(slot);
+        }
+        codeBySlot[slot] = code;
+    }
+
+    public void clear(int slot) {
+        set(slot, null);
+    }
+
+    /**
+     * Slots holding any of the values, or null for no values (no filter).
+     * The result is a new bitmap the caller may modify.
+     */
+    public RoaringBitmap anyOf(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        List<RoaringBitmap> matching = new ArrayList<>();
+        for (String value : values) {
+            Integer code = value == null ? null : codes.get(key(value));
+            if (code != null) {
+                matching.add(slotsByCode.get(code));
+            }
+        }
+        return matching.isEmpty() ? new RoaringBitmap() : FastAggregation.or(matching.iterator());
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots > codeBySlot.length) {
+            int previous = codeBySlot.length;
+            codeBySlot = Arrays.copyOf(codeBySlot, Math.max(slots, previous * 2));
+            Arrays.fill(codeBySlot, previous, codeBySlot.length, NONE);
+        }
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
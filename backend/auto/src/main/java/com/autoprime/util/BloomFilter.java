@@ -0,0 +1,67 @@
+// BloomFilter.java
+package com.autoprime.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over 128-bit keys such as UUIDs, given as two longs. A miss
+ * is definite; a hit may be a false positive at about the rate it was
+ * sized for. Lookups are lock-free and allocate nothing, and adds may run
+ * concurrently with them.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long mask;
+    private final int hashes;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(expectedInsertions, 1);
+        double bits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        // A power of two, so an index is a mask rather than a division
+        long size = Long.highestOneBit(Math.max(64, (long) Math.ceil(bits)) - 1) << 1;
+        this.words = new AtomicLongArray((int) (size >>> 6));
+        this.mask = size - 1;
+        this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+    }
+
+    public void put(long high, long low) {
+        long h1 = mix(high ^ mix(low));
+        long h2 = mix(low + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            long flag = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current = words.get(word);
+            while ((current & flag) == 0 && !words.compareAndSet(word, current, current | flag)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(long high, long low) {
+        long h1 = mix(high ^ mix(low));
+        long h2 = mix(low + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return mask + 1;
+    }
+
+    // MurmurHash3's 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,75 @@
+// CommitGate.java
+package com.autoprime.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Coordinates incremental updates of an in-memory aggregate with full
+ * rebuilds from the database. A delta holds the shared side from just
+ * before its transaction commits until it completes; a rebuild holds the
+ * exclusive side while it reads, so each commit is either in the rebuild's
+ * snapshot or applied on top of it, never both and never neither.
+ */
+public class CommitGate {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Run delta once the surrounding transaction commits, or right away without one
+     */
+    public void afterCommit(Runnable delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                delta.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                delta.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    lock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Run work with no delta in flight; commits wait until it returns
+     */
+    public <T> T exclusive(Supplier<T> work) {
+        lock.writeLock().lock();
+        try {
+            return work.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void exclusive(Runnable work) {
+        exclusive(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,93 @@
+// CommitGatedView.java
+package com.autoprime.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-memory view of some table, rebuilt from the database and kept current
+ * from committed deltas through a {@link CommitGate}. Deltas and queries
+ * share one read/write lock over the contents, so a delta is applied whole
+ * and a rebuild swaps in its snapshot at once.
+ */
+public class CommitGatedView<T> {
+
+    private final Logger log;
+    private final String name;
+    private final String unit;
+    private final ToIntFunction<T> size;
+
+    private final CommitGate gate = new CommitGate();
+
+    // Guards contents against concurrent deltas and queries
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private T contents;
+
+    /**
+     * @param owner  class whose logger reports rebuilds
+     * @param name   label for the rebuild log line, e.g. "Car locator"
+     * @param unit   what the contents hold, counted in the rebuild log line, e.g. "cars"
+     * @param empty  contents until the first rebuild
+     * @param size   number of entries in some contents
+     */
+    public CommitGatedView(Class<?> owner, String name, String unit, T empty, ToIntFunction<T> size) {
+        this.log = LoggerFactory.getLogger(owner);
+        this.name = name;
+        this.unit = unit;
+        this.contents = empty;
+        this.size = size;
+    }
+
+    /**
+     * Reload every entry, replacing the current contents
+     */
+    public void rebuild(TransactionTemplate transactionTemplate, Supplier<T> load) {
+        long began = System.nanoTime();
+        int entries = gate.exclusive(() -> {
+            T fresh = transactionTemplate.execute(tx -> load.get());
+            lock.writeLock().lock();
+            try {
+                contents = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return size.applyAsInt(fresh);
+        });
+        log.info("{} rebuilt with {} {} in {} ms", name, entries, unit, (System.nanoTime() - began) / 1_000_000);
+    }
+
+    /**
+     * Apply delta to the contents once the surrounding transaction commits
+     */
+    public void afterCommit(Consumer<T> delta) {
+        gate.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delta.accept(contents);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public <R> R read(Function<T, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(contents);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return read(size::applyAsInt);
+    }
+}
@@ -0,0 +1,36 @@
+// Cursor.java
+package com.autoprime.util;
+
+import com.autoprime.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a list ordered by (createdAt DESC, id DESC): the key
+ * of the last row a client has seen. Clients get it as an opaque token.
+ */
+public record Cursor(LocalDateTime createdAt, long id) {
+
+    private static final String VERSION = "1";
+
+    public String encode() {
+        String raw = VERSION + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !parts[0].equals(VERSION)) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
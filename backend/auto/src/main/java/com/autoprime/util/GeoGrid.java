@@ -0,0 +1,178 @@
+// GeoGrid.java
+package com.autoprime.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Points bucketed into a uniform grid of square cells in degrees. A radius
+ * query visits only the cells overlapping the circle's bounding box, wrapping
+ * around the antimeridian, and measures great-circle distance to the points
+ * in them.
+ */
+public class GeoGrid {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    public record Hit(long id, double distanceKm) {
+    }
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Long> cellById = new HashMap<>();
+
+    public GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    // The points of one cell as parallel arrays, unordered
+    private static final class Cell {
+        long[] ids = new long[4];
+        double[] latitudes = new double[4];
+        double[] longitudes = new double[4];
+        int size;
+
+        void add(long id, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a point, or move it if the id is already present
+     */
+    public void put(long id, double latitude, double longitude) {
+        remove(id);
+        long key = key(row(latitude), column(longitude));
+        cells.computeIfAbsent(key, k -> new Cell()).add(id, latitude, longitude);
+        cellById.put(id, key);
+    }
+
+    public boolean remove(long id) {
+        Long key = cellById.remove(id);
+        if (key == null) {
+            return false;
+        }
+        Cell cell = cells.get(key);
+        cell.remove(id);
+        if (cell.size == 0) {
+            cells.remove(key);
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return cellById.containsKey(id);
+    }
+
+    public int size() {
+        return cellById.size();
+    }
+
+    /**
+     * Points within radiusKm of the given point, nearest first, ties by id
+     */
+    public List<Hit> within(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double minLatitude = Math.max(-90, latitude - latitudeDelta);
+        double maxLatitude = Math.min(90, latitude + latitudeDelta);
+
+        // Longitude half-width of the bounding box, unless the circle reaches a pole
+        double longitudeDelta = 180;
+        if (minLatitude > -90 && maxLatitude < 90) {
+            double sin = Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude));
+            if (sin < 1) {
+                longitudeDelta = Math.toDegrees(Math.asin(sin));
+            }
+        }
+        long firstColumn = (long) Math.floor((longitude - longitudeDelta + 180) / cellDegrees);
+        long lastColumn = (long) Math.floor((longitude + longitudeDelta + 180) / cellDegrees);
+        if (lastColumn - firstColumn + 1 >= columns) {
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        }
+
+        double latitudeRadians = Math.toRadians(latitude);
+        double cosLatitude = Math.cos(latitudeRadians);
+        List<Hit> hits = new ArrayList<>();
+        for (int row = row(minLatitude); row <= row(maxLatitude); row++) {
+            for (long c = firstColumn; c <= lastColumn; c++) {
+                Cell cell = cells.get(key(row, (int) Math.floorMod(c, (long) columns)));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    if (Math.abs(cell.latitudes[i] - latitude) > latitudeDelta) {
+                        continue;
+                    }
+                    double distance = haversine(latitudeRadians, cosLatitude, longitude,
+                            cell.latitudes[i], cell.longitudes[i]);
+                    if (distance <= radiusKm) {
+                        hits.add(new Hit(cell.ids[i], distance));
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id));
+        return hits;
+    }
+
+    /**
+     * Great-circle distance in km between two points in degrees
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double radians = Math.toRadians(latitude1);
+        return haversine(radians, Math.cos(radians), longitude1, latitude2, longitude2);
+    }
+
+    private static double haversine(double latitudeRadians, double cosLatitude, double longitude,
+                                    double otherLatitude, double otherLongitude) {
+        double otherRadians = Math.toRadians(otherLatitude);
+        double sinLatitude = Math.sin((otherRadians - latitudeRadians) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(otherLongitude - longitude) / 2);
+        double a = sinLatitude * sinLatitude + cosLatitude * Math.cos(otherRadians) * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / cellDegrees), rows - 1);
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private long key(int row, int column) {
+        return (long) row * columns + column;
+    }
+}
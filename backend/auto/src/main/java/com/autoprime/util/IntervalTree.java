@@ -0,0 +1,213 @@
+// IntervalTree.java
+package com.autoprime.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * AVL-balanced interval tree over closed day ranges [start, end].
+ * Each node carries the max end of its subtree, so an overlap lookup
+ * is O(log n). Intervals are keyed by an id (the booking id) so they
+ * can be removed without knowing their dates. Not thread-safe.
+ */
+public class IntervalTree {
+
+    private static final class Node {
+        final long id;
+        final int start;
+        final int end;
+        int maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long id, int start, int end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+
+    private final Map<Long, Node> byId = new HashMap<>();
+
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean contains(long id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Insert or replace the interval stored under the given id
+     */
+    public void put(long id, int start, int end) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end is before start");
+        }
+        remove(id);
+        Node node = new Node(id, start, end);
+        root = insert(root, node);
+        byId.put(id, node);
+    }
+
+    /**
+     * Remove the interval stored under the given id, if any
+     */
+    public boolean remove(long id) {
+        Node node = byId.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    /**
+     * Return the id of any interval overlapping [start, end], or -1
+     */
+    public long findOverlap(int start, int end) {
+        Node current = root;
+        while (current != null) {
+            if (current.start <= end && current.end >= start) {
+                return current.id;
+            }
+            // If the left subtree reaches far enough it must hold an overlap
+            // whenever any exists, because its starts are all <= current.start
+            if (current.left != null && current.left.maxEnd >= start) {
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Visit the ids of all stored intervals in start order
+     */
+    public void forEachId(LongConsumer consumer) {
+        visit(root, consumer);
+    }
+
+    /**
+     * Return {start, end} for the given id, or null if absent
+     */
+    public int[] get(long id) {
+        Node node = byId.get(id);
+        return node == null ? null : new int[] { node.start, node.end };
+    }
+
+    private void visit(Node node, LongConsumer consumer) {
+        if (node == null) {
+            return;
+        }
+        visit(node.left, consumer);
+        consumer.accept(node.id);
+        visit(node.right, consumer);
+    }
+
+    private static int compare(Node a, Node b) {
+        if (a.start != b.start) {
+            return Integer.compare(a.start, b.start);
+        }
+        return Long.compare(a.id, b.id);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace with the in-order successor
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node right = delete(node.right, successor);
+            successor.left = node.left;
+            successor.right = right;
+            return rebalance(successor);
+        }
+        if (compare(removed, node) < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        return rebalance(node);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        int maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+}
@@ -1,5 +1,60 @@
+// JwtFilter.java
 package com.autoprime.util;
 
-public class JwtFilter {
-    
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying a bearer token. The principal is built
+ * from the token's claims alone, so no user is loaded per request; a role
+ * change or deleted account takes effect when the token expires.
+ * A missing or bad token leaves the request anonymous, which public
+ * endpoints accept and the rest answer with 401.
+ */
+public class JwtFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding why a presented token was refused */
+    public static final String ERROR_ATTRIBUTE = JwtFilter.class.getName() + ".error";
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+
+    public JwtFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            try {
+                JwtPrincipal principal = jwtVerifier.verify(header.substring(BEARER.length()).trim());
+                UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                        principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + principal.role())));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            } catch (ExpiredJwtException e) {
+                request.setAttribute(ERROR_ATTRIBUTE, "Token expired");
+            } catch (JwtException | IllegalArgumentException e) {
+                request.setAttribute(ERROR_ATTRIBUTE, "Invalid token");
+            }
+        }
+        chain.doFilter(request, response);
+    }
 }
@@ -0,0 +1,28 @@
+// JwtPrincipal.java
+package com.autoprime.util;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * What a verified token says about its bearer, parsed once per token. Also
+ * the authenticated principal of a request, so handlers know who is calling
+ * without loading the user.
+ */
+public record JwtPrincipal(UUID tokenId, Long userId, String email, String role, Instant issuedAt, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    /**
+     * Whether the bearer may read or act on the given user's data
+     */
+    public boolean canActFor(Long otherUserId) {
+        return isAdmin() || userId.equals(otherUserId);
+    }
+}
@@ -2,11 +2,14 @@ package com.autoprime.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -14,49 +17,77 @@ public class JwtUtil {
     @Value("${jwt.secret:AutoPrimeSecretKeyForJWTTokenGeneration2025}")
     private String secret;
     
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Value("${jwt.expiration:900000}") // 15 minutes in milliseconds; clients renew with a refresh token
     private long expiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Built once; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
     
-    public String generateToken(String email, String role) {
+    public String generateToken(Long userId, String email, String role) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
+                .claim("uid", userId)
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
+    /**
+     * Verify the signature and expiry of a token and read its claims, in a
+     * single parse. Uncached; see JwtVerifier.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public JwtPrincipal parse(String token) {
+        if (token == null || token.isBlank()) {
+            throw new MalformedJwtException("Token is empty");
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no expiry");
+        }
+        // Tokens issued before these claims existed lack them; their bearers log in again
+        Long userId = claims.get("uid", Long.class);
+        if (userId == null || claims.getId() == null) {
+            throw new MalformedJwtException("Token has no user or token id");
+        }
+        UUID tokenId;
+        try {
+            tokenId = UUID.fromString(claims.getId());
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Token id is not a UUID");
+        }
+        return new JwtPrincipal(tokenId, userId, claims.getSubject(), claims.get("role", String.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant());
+    }
+    
     public String extractEmail(String token) {
-        return extractClaims(token).getSubject();
+        return parse(token).email();
     }
     
     public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
+        return parse(token).role();
     }
     
     public boolean isTokenValid(String token) {
         try {
-            extractClaims(token);
-            return !isTokenExpired(token);
+            parse(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
-    
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-    
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
-    }
-}
\ No newline at end of file
+}
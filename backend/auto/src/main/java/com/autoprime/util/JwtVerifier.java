@@ -0,0 +1,135 @@
+// JwtVerifier.java
+package com.autoprime.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Verifies bearer tokens, remembering each verified token until it
+ * expires. A client sends the same token on every request, so after the
+ * first one a request costs a SHA-256 of the token and a cache lookup
+ * instead of an HMAC check and a JSON parse. Entries are keyed by the
+ * token's hash, so the cache never holds usable credentials; invalid
+ * tokens are never cached. Revocation, by token id or by the user's
+ * tokens-not-before cutoff, is checked on every call, cached or not,
+ * against the in-memory RevocationList.
+ */
+@Component
+public class JwtVerifier {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    Clock clock = Clock.systemUTC();
+
+    private Cache<TokenHash, JwtPrincipal> verified;
+
+    // First 128 bits of the token's SHA-256
+    record TokenHash(long high, long low) {
+    }
+
+    @PostConstruct
+    void init() {
+        verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<TokenHash, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(TokenHash key, JwtPrincipal principal, long currentTime) {
+                        return Math.max(Duration.between(clock.instant(), principal.expiresAt()).toNanos(), 0);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenHash key, JwtPrincipal principal, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenHash key, JwtPrincipal principal, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * The principal of a valid, unexpired token
+     *
+     * @throws JwtException if the token is malformed, forged, expired or revoked
+     */
+    public JwtPrincipal verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new MalformedJwtException("Token is empty");
+        }
+        TokenHash key = hash(token);
+        Instant now = clock.instant();
+        JwtPrincipal principal = verified.getIfPresent(key);
+        if (principal == null) {
+            principal = jwtUtil.parse(token);
+            if (principal.isExpired(now)) {
+                throw new ExpiredJwtException(null, null, "Token expired at " + principal.expiresAt());
+            }
+            verified.put(key, principal);
+        } else if (principal.isExpired(now)) {
+            // Still cached in the instant between expiry and eviction
+            verified.invalidate(key);
+            throw new ExpiredJwtException(null, null, "Token expired at " + principal.expiresAt());
+        }
+        if (revocationList.isRevoked(principal)) {
+            throw new JwtException("Token revoked");
+        }
+        return principal;
+    }
+
+    /**
+     * Forget every verified token, e.g. after the signing secret changes
+     */
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    /**
+     * Forget the verified tokens of one user, e.g. once all of them are revoked
+     */
+    public void invalidateUser(Long userId) {
+        verified.asMap().values().removeIf(principal -> principal.userId().equals(userId));
+    }
+
+    long size() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private static TokenHash hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new TokenHash(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
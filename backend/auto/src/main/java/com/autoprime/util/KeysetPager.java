@@ -0,0 +1,61 @@
+// KeysetPager.java
+package com.autoprime.util;
+
+import com.autoprime.dto.CursorPage;
+import com.autoprime.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs keyset-paginated list queries. Each list is ordered by
+ * (createdAt DESC, id DESC) and a page starts strictly after the cursor,
+ * so with a (created_at, id) index every page is one index range scan
+ * however deep it is, and rows inserted meanwhile never shift a page.
+ */
+@Component
+public class KeysetPager {
+
+    @Value("${pagination.default-size:20}")
+    private int defaultSize;
+
+    @Value("${pagination.max-size:100}")
+    private int maxSize;
+
+    /**
+     * The rows strictly after (createdAt, id) in list order
+     */
+    @FunctionalInterface
+    public interface After<T> {
+        List<T> find(LocalDateTime createdAt, Long id, Pageable limit);
+    }
+
+    public <T> CursorPage<T> page(String cursor, Integer size, Function<Pageable, List<T>> first,
+                                  After<T> after, Function<T, Cursor> keyOf) {
+        int pageSize = size == null ? defaultSize : size;
+        if (pageSize < 1 || pageSize > maxSize) {
+            throw new ValidationException("Page size must be between 1 and " + maxSize);
+        }
+
+        // One extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<T> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = first.apply(limit);
+        } else {
+            Cursor position = Cursor.decode(cursor);
+            rows = after.find(position.createdAt(), position.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, rows.size());
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(List.copyOf(items), keyOf.apply(items.get(pageSize - 1)).encode(), pageSize);
+    }
+}
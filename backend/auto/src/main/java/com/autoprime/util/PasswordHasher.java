@@ -0,0 +1,153 @@
+// PasswordHasher.java
+package com.autoprime.util;
+
+import com.autoprime.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing on a small dedicated pool. A BCrypt round costs tens of
+ * milliseconds of CPU, so a login burst run on request threads would take
+ * every core and stall cheap reads. Here at most a few hashes run at once,
+ * a bounded number wait, and beyond that callers are turned away at once
+ * with TooManyRequestsException instead of queueing without limit.
+ */
+@Component
+public class PasswordHasher {
+
+    // Cost factor of a $2a$/$2b$/$2y$ hash
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${password.bcrypt.strength:10}")
+    private int strength;
+
+    // 0 sizes the pool to half the cores, leaving the rest for other requests
+    @Value("${password.hash.threads:0}")
+    private int threads;
+
+    @Value("${password.hash.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${password.hash.timeout-millis:5000}")
+    private long timeoutMillis;
+
+    private BCryptPasswordEncoder encoder;
+
+    private ThreadPoolExecutor pool;
+
+    private Timer encodeTimer;
+    private Timer matchTimer;
+    private Timer queueTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        encoder = new BCryptPasswordEncoder(strength);
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        matchTimer = Timer.builder("auth.password.hash").tag("operation", "match")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        queueTimer = Timer.builder("auth.password.queue.wait")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", pool, p -> p.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", pool, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Hash a password at the configured cost
+     *
+     * @throws TooManyRequestsException if the pool is saturated
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword), encodeTimer);
+    }
+
+    /**
+     * Whether a password matches a stored hash
+     *
+     * @throws TooManyRequestsException if the pool is saturated
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword), matchTimer);
+    }
+
+    /**
+     * Whether a stored hash was made at another cost than the configured
+     * one, so it should be replaced the next time the password is known
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T run(Callable<T> work, Timer timer) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                queueTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-ins at once, please try again shortly", 1);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-ins at once, please try again shortly", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
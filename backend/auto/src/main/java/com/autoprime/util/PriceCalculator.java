@@ -4,61 +4,23 @@ package com.autoprime.util;
 import com.autoprime.model.Car;
 import java.time.LocalDate;
 import java.time.DayOfWeek;
-import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
 public class PriceCalculator {
     
-    private static final double GST_RATE = 0.18; // 18%
-    
     public static Map<String, Object> calculateBookingPrice(
             Car car, LocalDate startDate, LocalDate endDate) {
         
-        Map<String, Object> result = new HashMap<>();
-        
-        // Calculate number of days
-        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        result.put("days", days);
-        
-        // Calculate subtotal with weekend pricing
-        double subtotal = 0.0;
-        LocalDate currentDate = startDate;
-        
-        while (!currentDate.isAfter(endDate)) {
-            double dayPrice = car.getPricePerDay();
-            
-            // Add weekend extra if Saturday or Sunday
-            DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
-            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
-                dayPrice += (car.getWeekendExtra() != null ? car.getWeekendExtra() : 0);
-            }
-            
-            subtotal += dayPrice;
-            currentDate = currentDate.plusDays(1);
-        }
-        result.put("subtotal", subtotal);
-        
-        // Calculate discount
-        double discount = 0.0;
-        if (days >= 30) {
-            discount = subtotal * 0.10; // 10% for 30+ days
-        } else if (days >= 7) {
-            discount = subtotal * 0.10; // 10% for 7+ days
-        }
-        result.put("discount", discount);
-        
-        // Calculate after discount
-        double afterDiscount = subtotal - discount;
-        result.put("afterDiscount", afterDiscount);
+        PriceQuote quote = PricingEngine.quote(car, startDate, endDate);
         
-        // Calculate GST
-        double gst = afterDiscount * GST_RATE;
-        result.put("gst", gst);
-        
-        // Calculate total
-        double total = afterDiscount + gst;
-        result.put("total", total);
+        Map<String, Object> result = new HashMap<>();
+        result.put("days", (long) quote.days());
+        result.put("subtotal", quote.subtotal());
+        result.put("discount", quote.discount());
+        result.put("afterDiscount", quote.afterDiscount());
+        result.put("gst", quote.gst());
+        result.put("total", quote.total());
         
         return result;
     }
@@ -74,4 +36,3 @@ public class PriceCalculator {
         return baseRate;
     }
 }
-
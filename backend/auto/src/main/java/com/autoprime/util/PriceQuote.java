@@ -0,0 +1,15 @@
+// PriceQuote.java
+package com.autoprime.util;
+
+/**
+ * Immutable price breakdown for one car over one inclusive date range.
+ */
+public record PriceQuote(
+        int days,
+        int weekendDays,
+        double subtotal,
+        double discount,
+        double afterDiscount,
+        double gst,
+        double total) {
+}
@@ -0,0 +1,96 @@
+// PricingEngine.java
+package com.autoprime.util;
+
+import com.autoprime.model.Car;
+
+import java.time.LocalDate;
+
+/**
+ * Single source of truth for booking prices. Weekend days are counted
+ * arithmetically from the epoch days of the range endpoints, so a quote
+ * costs the same for 1 day as for 365 and allocates only the result.
+ */
+public final class PricingEngine {
+
+    public static final double GST_RATE = 0.18; // 18%
+
+    public static final double LONG_STAY_DISCOUNT_RATE = 0.10; // 10% for 7+ days
+
+    public static final int LONG_STAY_MIN_DAYS = 7;
+
+    private PricingEngine() {
+    }
+
+    public static PriceQuote quote(Car car, LocalDate startDate, LocalDate endDate) {
+        double weekendExtra = car.getWeekendExtra() != null ? car.getWeekendExtra() : 0;
+        return quote(car.getPricePerDay(), weekendExtra, startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Quote an inclusive range given as epoch days
+     */
+    public static PriceQuote quote(double pricePerDay, double weekendExtra, long startDay, long endDay) {
+        int days = days(startDay, endDay);
+        int weekendDays = weekendDays(startDay, endDay);
+        double subtotal = days * pricePerDay + weekendDays * weekendExtra;
+        double discount = subtotal * discountRate(days);
+        double afterDiscount = subtotal - discount;
+        double gst = afterDiscount * GST_RATE;
+        return new PriceQuote(days, weekendDays, subtotal, discount, afterDiscount, gst, afterDiscount + gst);
+    }
+
+    /**
+     * Quote many cars over the same range. The date-dependent terms are worked
+     * out once and the per-car arithmetic runs over flat arrays.
+     */
+    public static PriceQuote[] quoteAll(double[] pricePerDay, double[] weekendExtra,
+                                        long startDay, long endDay) {
+        int days = days(startDay, endDay);
+        int weekendDays = weekendDays(startDay, endDay);
+        double rate = discountRate(days);
+
+        int n = pricePerDay.length;
+        double[] subtotal = new double[n];
+        for (int i = 0; i < n; i++) {
+            subtotal[i] = days * pricePerDay[i] + weekendDays * weekendExtra[i];
+        }
+
+        PriceQuote[] quotes = new PriceQuote[n];
+        for (int i = 0; i < n; i++) {
+            double discount = subtotal[i] * rate;
+            double afterDiscount = subtotal[i] - discount;
+            double gst = afterDiscount * GST_RATE;
+            quotes[i] = new PriceQuote(days, weekendDays, subtotal[i], discount,
+                    afterDiscount, gst, afterDiscount + gst);
+        }
+        return quotes;
+    }
+
+    public static int days(long startDay, long endDay) {
+        return (int) (endDay - startDay + 1);
+    }
+
+    public static double discountRate(int days) {
+        return days >= LONG_STAY_MIN_DAYS ? LONG_STAY_DISCOUNT_RATE : 0.0;
+    }
+
+    /**
+     * Number of Saturdays and Sundays in the inclusive range [startDay, endDay]
+     */
+    public static int weekendDays(long startDay, long endDay) {
+        if (endDay < startDay) {
+            return 0;
+        }
+        // Epoch day 0 (1970-01-01) was a Thursday, so +3 counts days from a Monday
+        return (int) (weekendDaysBefore(endDay + 4) - weekendDaysBefore(startDay + 3));
+    }
+
+    /**
+     * Weekend days among Monday-based day indexes [0, k)
+     */
+    private static long weekendDaysBefore(long k) {
+        long weeks = Math.floorDiv(k, 7);
+        long rest = Math.floorMod(k, 7);
+        return 2 * weeks + Math.max(0, rest - 5);
+    }
+}
@@ -0,0 +1,112 @@
+// RangeColumn.java
+package com.autoprime.util;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Numeric column over integer slots with a bitmap per fixed-width bucket.
+ * A range query ORs the buckets it covers whole and checks the values of
+ * only the (at most two) buckets it cuts through.
+ */
+public class RangeColumn {
+
+    private final double width;
+
+    // Integer values: a bucket of width 1 then holds a single value
+    private final boolean integral;
+
+    private final TreeMap<Long, RoaringBitmap> buckets = new TreeMap<>();
+    private double[] values = new double[0];
+
+    public RangeColumn(double width, boolean integral) {
+        this.width = width;
+        this.integral = integral;
+    }
+
+    /**
+     * Set the value of a slot; null leaves it in no bucket
+     */
+    public void set(int slot, Number value) {
+        ensureCapacity(slot + 1);
+        double previous = values[slot];
+        double next = value == null ? Double.NaN : value.doubleValue();
+        if (Double.compare(previous, next) == 0) {
+            return;
+        }
+        if (!Double.isNaN(previous)) {
+            RoaringBitmap bucket = buckets.get(bucket(previous));
+            bucket.remove(slot);
+            if (bucket.isEmpty()) {
+                buckets.remove(bucket(previous));
+            }
+        }
+        if (!Double.isNaN(next)) {
+            buckets.computeIfAbsent(bucket(next), b -> new RoaringBitmap()).add(slot);
+        }
+        values[slot] = next;
+    }
+
+    public void clear(int slot) {
+        set(slot, null);
+    }
+
+    /**
+     * Value of a slot, NaN when it has none
+     */
+    public double get(int slot) {
+        return slot < values.length ? values[slot] : Double.NaN;
+    }
+
+    /**
+     * Slots whose value lies in [min, max], either bound optional, or null
+     * when neither is given (no filter). The result is a new bitmap.
+     */
+    public RoaringBitmap between(Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        if (min != null && max != null && min > max) {
+            return new RoaringBitmap();
+        }
+        long low = min == null ? Long.MIN_VALUE : bucket(min);
+        long high = max == null ? Long.MAX_VALUE : bucket(max);
+        List<RoaringBitmap> whole = new ArrayList<>();
+        RoaringBitmap cut = new RoaringBitmap();
+        for (Map.Entry<Long, RoaringBitmap> entry : buckets.subMap(low, true, high, true).entrySet()) {
+            long b = entry.getKey();
+            double lowest = b * width;
+            double highest = integral ? (b + 1) * width - 1 : (b + 1) * width;
+            if ((min == null || lowest >= min) && (max == null || highest <= max)) {
+                whole.add(entry.getValue());
+            } else {
+                entry.getValue().forEach((int slot) -> {
+                    double value = values[slot];
+                    if ((min == null || value >= min) && (max == null || value <= max)) {
+                        cut.add(slot);
+                    }
+                });
+            }
+        }
+        whole.add(cut);
+        return FastAggregation.or(whole.iterator());
+    }
+
+    private long bucket(double value) {
+        return (long) Math.floor(value / width);
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots > values.length) {
+            int previous = values.length;
+            values = Arrays.copyOf(values, Math.max(slots, previous * 2));
+            Arrays.fill(values, previous, values.length, Double.NaN);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+// RateLimiter.java
+package com.autoprime.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client rate limits on the public endpoints that reach the database
+ * or the password hasher. Each rule is written as
+ * {@code METHOD PATH PERMITS/PERIOD [burst=N]}, e.g.
+ * {@code POST /api/auth/login 10/1m burst=5}; a path ending in /** also
+ * matches everything below it, and * matches any method. The first
+ * matching rule applies. Every client of a rule has its own TokenBucket,
+ * held in a bounded map and dropped once idle long enough to have refilled,
+ * when forgetting it loses nothing.
+ */
+@Component
+public class RateLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.rules:}")
+    private String[] ruleSpecs;
+
+    // Clients tracked per rule; beyond this the least recently seen are forgotten
+    @Value("${rate-limit.max-clients:100000}")
+    private long maxClients;
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    private Rule[] rules;
+
+    final class Rule {
+        final String spec;
+        final String method;
+        final String path;
+        final boolean prefix;
+        final long intervalNanos;
+        final int burst;
+        final Cache<String, TokenBucket> buckets;
+        final Counter rejected;
+
+        Rule(String spec) {
+            this.spec = spec;
+            String[] parts = spec.trim().split("\\s+");
+            if (parts.length < 3 || parts.length > 4) {
+                throw new IllegalArgumentException("Rate limit rule must be METHOD PATH PERMITS/PERIOD [burst=N]: " + spec);
+            }
+            method = parts[0].equals("*") ? null : parts[0].toUpperCase();
+            prefix = parts[1].endsWith("/**");
+            path = prefix ? parts[1].substring(0, parts[1].length() - 3) : parts[1];
+
+            int slash = parts[2].indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Rate must be PERMITS/PERIOD: " + spec);
+            }
+            int permits = Integer.parseInt(parts[2].substring(0, slash));
+            Duration period = DurationStyle.detectAndParse(parts[2].substring(slash + 1));
+            if (permits <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Rate must be positive: " + spec);
+            }
+            intervalNanos = period.toNanos() / permits;
+            if (parts.length == 4) {
+                if (!parts[3].startsWith("burst=")) {
+                    throw new IllegalArgumentException("Expected burst=N: " + spec);
+                }
+                burst = Integer.parseInt(parts[3].substring("burst=".length()));
+            } else {
+                burst = permits;
+            }
+
+            buckets = Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(Duration.ofNanos(intervalNanos * burst))
+                    .build();
+            rejected = Counter.builder("http.server.requests.throttled")
+                    .tag("rule", method == null ? "*" : method + " " + parts[1])
+                    .register(meterRegistry);
+        }
+
+        boolean matches(String requestMethod, String requestPath) {
+            if (method != null && !method.equals(requestMethod)) {
+                return false;
+            }
+            if (!requestPath.startsWith(path)) {
+                return false;
+            }
+            return requestPath.length() == path.length()
+                    || (prefix && requestPath.charAt(path.length()) == '/');
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        List<Rule> parsed = new ArrayList<>();
+        for (String spec : ruleSpecs) {
+            if (!spec.isBlank()) {
+                parsed.add(new Rule(spec));
+            }
+        }
+        rules = parsed.toArray(new Rule[0]);
+    }
+
+    /**
+     * Count a request against its client's limit
+     *
+     * @param client the caller's user id or address
+     * @return 0 if the request may proceed, otherwise nanoseconds until it would be allowed
+     */
+    public long acquire(String method, String path, String client) {
+        for (Rule rule : rules) {
+            if (rule.matches(method, path)) {
+                long now = nanoClock.getAsLong();
+                TokenBucket bucket = rule.buckets.getIfPresent(client);
+                if (bucket == null) {
+                    bucket = rule.buckets.get(client, c -> new TokenBucket(rule.intervalNanos, rule.burst, now));
+                }
+                long wait = bucket.tryAcquire(now);
+                if (wait > 0) {
+                    rule.rejected.increment();
+                }
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    int ruleCount() {
+        return rules.length;
+    }
+}
@@ -0,0 +1,29 @@
+// ReportFormat.java
+package com.autoprime.util;
+
+import com.autoprime.exception.ValidationException;
+
+public enum ReportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() { return contentType; }
+
+    public String getExtension() { return extension; }
+
+    public static ReportFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid report format: " + value);
+        }
+    }
+}
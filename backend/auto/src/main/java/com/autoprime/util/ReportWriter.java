@@ -0,0 +1,126 @@
+// ReportWriter.java
+package com.autoprime.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes report rows to a stream one at a time, either as CSV with a header
+ * line or as newline-delimited JSON. Output is buffered but never held whole,
+ * so memory stays flat however many rows are written.
+ */
+public abstract class ReportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static ReportWriter open(ReportFormat format, Class<? extends Record> rowType,
+                                    OutputStream out, ObjectMapper mapper) throws IOException {
+        return format == ReportFormat.CSV ? new Csv(rowType, out) : new Ndjson(out, mapper);
+    }
+
+    public abstract void write(Object row) throws IOException;
+
+    /**
+     * Flush anything still buffered; the underlying stream is left open
+     */
+    public abstract void finish() throws IOException;
+
+    static final class Csv extends ReportWriter {
+
+        private final Method[] accessors;
+        private final Writer writer;
+
+        Csv(Class<? extends Record> rowType, OutputStream out) throws IOException {
+            RecordComponent[] components = rowType.getRecordComponents();
+            accessors = new Method[components.length];
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            for (int i = 0; i < components.length; i++) {
+                accessors[i] = components[i].getAccessor();
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(components[i].getName());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Object row) throws IOException {
+            for (int i = 0; i < accessors.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(value(row, accessors[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeCell(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            // Stop spreadsheets from evaluating user-entered text as a formula
+            if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static Object value(Object row, Method accessor) {
+            try {
+                return accessor.invoke(row);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read " + accessor.getName() + " of report row", e);
+            }
+        }
+    }
+
+    static final class Ndjson extends ReportWriter {
+
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out, ObjectMapper mapper) throws IOException {
+            // Let the generator's buffer decide when bytes go out, not every row
+            writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Object row) throws IOException {
+            writer.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
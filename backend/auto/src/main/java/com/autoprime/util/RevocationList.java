@@ -0,0 +1,212 @@
+// RevocationList.java
+package com.autoprime.util;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ids (jti) of revoked tokens that have not yet expired, checked on every
+ * authenticated request. A bloom filter answers for the tokens that were
+ * never revoked, which is nearly all of them, without locking or
+ * allocating; only a filter hit consults the exact set. Also holds, per
+ * user, the instant before which all of their tokens are refused. Filled
+ * and kept in sync with the revoked_tokens table and users.tokens_not_before
+ * by SessionService.
+ */
+@Component
+public class RevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final int MIN_CAPACITY = 1024;
+
+    // Guards ids, and filter replacement; reads of the filter itself need no lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+    private int capacity = MIN_CAPACITY;
+    private IdSet ids = new IdSet();
+
+    // Only ever moved forward, so a reload can merge instead of replace
+    private final Map<Long, Instant> notBefore = new ConcurrentHashMap<>();
+
+    public boolean isRevoked(UUID tokenId) {
+        long high = tokenId.getMostSignificantBits();
+        long low = tokenId.getLeastSignificantBits();
+        if (!filter.mightContain(high, low)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return ids.contains(high, low);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the token was revoked by id, or issued before its user's cutoff
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        if (isRevoked(principal.tokenId())) {
+            return true;
+        }
+        if (notBefore.isEmpty()) {
+            return false;
+        }
+        Instant cutoff = notBefore.get(principal.userId());
+        return cutoff != null && (principal.issuedAt() == null || principal.issuedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Refuse every token of the user issued before cutoff
+     */
+    public void revokeIssuedBefore(Long userId, Instant cutoff) {
+        notBefore.merge(userId, cutoff, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Forget cutoffs older than every token still unexpired
+     */
+    public void dropCutoffsBefore(Instant oldest) {
+        notBefore.values().removeIf(cutoff -> cutoff.isBefore(oldest));
+    }
+
+    public void add(UUID tokenId) {
+        long high = tokenId.getMostSignificantBits();
+        long low = tokenId.getLeastSignificantBits();
+        lock.writeLock().lock();
+        try {
+            // The set first: a reader that sees the filter bit then finds the id
+            if (ids.add(high, low)) {
+                if (ids.size() > capacity) {
+                    capacity *= 2;
+                    filter = refill(ids, capacity);
+                } else {
+                    filter.put(high, low);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the contents, e.g. once expired ids have been dropped
+     */
+    public void replaceAll(Collection<UUID> tokenIds) {
+        IdSet fresh = new IdSet();
+        for (UUID id : tokenIds) {
+            fresh.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+        int freshCapacity = MIN_CAPACITY;
+        while (freshCapacity < fresh.size()) {
+            freshCapacity *= 2;
+        }
+        BloomFilter freshFilter = refill(fresh, freshCapacity);
+        lock.writeLock().lock();
+        try {
+            ids = fresh;
+            capacity = freshCapacity;
+            filter = freshFilter;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static BloomFilter refill(IdSet ids, int capacity) {
+        BloomFilter filter = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        ids.forEach(filter::put);
+        return filter;
+    }
+
+    // Open-addressed set of 128-bit ids in two parallel long arrays
+    private static final class IdSet {
+        private long[] highs = new long[16];
+        private long[] lows = new long[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        interface PairConsumer {
+            void accept(long high, long low);
+        }
+
+        boolean contains(long high, long low) {
+            int mask = highs.length - 1;
+            for (int i = slot(high, low, mask); used[i]; i = (i + 1) & mask) {
+                if (highs[i] == high && lows[i] == low) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean add(long high, long low) {
+            if (contains(high, low)) {
+                return false;
+            }
+            if ((size + 1) * 2 > highs.length) {
+                grow();
+            }
+            insert(high, low);
+            size++;
+            return true;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(PairConsumer consumer) {
+            for (int i = 0; i < highs.length; i++) {
+                if (used[i]) {
+                    consumer.accept(highs[i], lows[i]);
+                }
+            }
+        }
+
+        private void insert(long high, long low) {
+            int mask = highs.length - 1;
+            int i = slot(high, low, mask);
+            while (used[i]) {
+                i = (i + 1) & mask;
+            }
+            highs[i] = high;
+            lows[i] = low;
+            used[i] = true;
+        }
+
+        private void grow() {
+            long[] oldHighs = highs;
+            long[] oldLows = lows;
+            boolean[] oldUsed = used;
+            highs = new long[oldHighs.length * 2];
+            lows = new long[oldHighs.length * 2];
+            used = new boolean[oldHighs.length * 2];
+            for (int i = 0; i < oldHighs.length; i++) {
+                if (oldUsed[i]) {
+                    insert(oldHighs[i], oldLows[i]);
+                }
+            }
+        }
+
+        private static int slot(long high, long low, int mask) {
+            long h = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & mask;
+        }
+    }
+}
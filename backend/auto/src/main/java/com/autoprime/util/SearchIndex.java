@@ -0,0 +1,475 @@
+// SearchIndex.java
+package com.autoprime.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index ranked with BM25. Every query word must match
+ * a document, either exactly, as the prefix of an indexed term or within
+ * one typo (two for words of eight letters or more); prefix and typo
+ * matches score less than exact ones. Documents carry categorical facet
+ * values that are counted over all matches. Searches may run
+ * concurrently with each other but not with put or remove.
+ */
+public class SearchIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    static final float PREFIX_WEIGHT = 0.8f;
+    // By edit distance
+    static final float[] TYPO_WEIGHTS = { 1f, 0.6f, 0.4f };
+
+    // Terms a single query word may expand to
+    static final int MAX_EXPANSIONS = 64;
+
+    // Further query words are ignored
+    static final int MAX_QUERY_WORDS = 16;
+
+    private static final Pattern SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    public record Field(String text, float boost) {
+    }
+
+    public record Document(long id, List<Field> fields, Map<String, String> facets) {
+    }
+
+    public record Hit(long id, double score) {
+    }
+
+    public record Result(List<Hit> hits, int total, Map<String, Map<String, Integer>> facets) {
+    }
+
+    /**
+     * Documents holding one term with their boosted term frequency, unordered
+     */
+    private static final class Postings {
+        int[] slots = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        void add(int slot, float frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Expansion(Postings postings, float weight) {
+    }
+
+    /**
+     * Per-slot working arrays of one query, pooled so a query over a large
+     * index allocates nothing in proportion to it. best is all zeros
+     * between queries; scores and matched are only read where matched
+     * carries the current query's base.
+     */
+    private static final class Scratch {
+        float[] scores = new float[0];
+        float[] best = new float[0];
+        int[] matched = new int[0];
+        int[] touched = new int[0];
+        int base;
+
+        void fit(int slots) {
+            if (scores.length < slots) {
+                int capacity = Math.max(slots, scores.length * 2);
+                scores = new float[capacity];
+                best = new float[capacity];
+                matched = new int[capacity];
+                touched = new int[capacity];
+                base = 0;
+            }
+        }
+
+        int nextBase() {
+            if (base > Integer.MAX_VALUE - 2 * (MAX_QUERY_WORDS + 1)) {
+                Arrays.fill(matched, 0);
+                base = 0;
+            }
+            base += MAX_QUERY_WORDS + 1;
+            return base;
+        }
+    }
+
+    private final Queue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    private final String[] facetNames;
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    // A document keeps its slot until removed; freed slots are reused
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private long[] ids = new long[16];
+    private int[] lengths = new int[16];
+    private String[][] slotTerms = new String[16][];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    private long totalLength;
+
+    // Code 0 of every facet stands for a missing value
+    private final int[][] facetCodes;
+    private final List<List<String>> facetValues = new ArrayList<>();
+    private final List<Map<String, Integer>> facetCodeByValue = new ArrayList<>();
+
+    public SearchIndex(String... facetNames) {
+        this.facetNames = facetNames.clone();
+        this.facetCodes = new int[facetNames.length][16];
+        for (int f = 0; f < facetNames.length; f++) {
+            List<String> values = new ArrayList<>();
+            values.add(null);
+            facetValues.add(values);
+            facetCodeByValue.add(new HashMap<>());
+        }
+    }
+
+    public int size() {
+        return slotById.size();
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    public boolean contains(long id) {
+        return slotById.containsKey(id);
+    }
+
+    /**
+     * Insert or replace the document stored under its id
+     */
+    public void put(Document document) {
+        remove(document.id());
+
+        Map<String, Float> frequencies = new HashMap<>();
+        int length = 0;
+        for (Field field : document.fields()) {
+            for (String term : tokenize(field.text())) {
+                frequencies.merge(term, field.boost(), Float::sum);
+                length++;
+            }
+        }
+
+        int slot = allocate();
+        ids[slot] = document.id();
+        lengths[slot] = length;
+        slotTerms[slot] = frequencies.keySet().toArray(new String[0]);
+        frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, t -> new Postings()).add(slot, frequency));
+        for (int f = 0; f < facetNames.length; f++) {
+            facetCodes[f][slot] = facetCode(f, document.facets().get(facetNames[f]));
+        }
+        slotById.put(document.id(), slot);
+        totalLength += length;
+    }
+
+    /**
+     * Remove the document stored under the given id, if any
+     */
+    public void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String term : slotTerms[slot]) {
+            Postings postings = terms.get(term);
+            postings.remove(slot);
+            if (postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        totalLength -= lengths[slot];
+        slotTerms[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = slotCount * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            slotTerms = Arrays.copyOf(slotTerms, capacity);
+            for (int f = 0; f < facetCodes.length; f++) {
+                facetCodes[f] = Arrays.copyOf(facetCodes[f], capacity);
+            }
+        }
+        return slotCount++;
+    }
+
+    private int facetCode(int facet, String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT);
+        return facetCodeByValue.get(facet).computeIfAbsent(key, k -> {
+            List<String> values = facetValues.get(facet);
+            values.add(value.trim());
+            return values.size() - 1;
+        });
+    }
+
+    /**
+     * Documents matching every word of the query, best first (ties by id),
+     * skipping offset of them, with facet counts over all matches
+     */
+    public Result search(String query, int offset, int limit) {
+        Set<String> words = new LinkedHashSet<>(tokenize(query));
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = new LinkedHashSet<>(new ArrayList<>(words).subList(0, MAX_QUERY_WORDS));
+        }
+        if (words.isEmpty() || slotById.isEmpty()) {
+            return new Result(List.of(), 0, facets(new int[0], 0));
+        }
+        float averageLength = Math.max(1f, (float) totalLength / slotById.size());
+
+        Scratch scratch = scratch();
+        try {
+            float[] scores = scratch.scores;
+            float[] best = scratch.best;
+            int[] matched = scratch.matched;
+            int[] touched = scratch.touched;
+            // matched[slot] is base + the words it has matched in this query;
+            // anything below base is left over from earlier queries
+            int base = scratch.nextBase();
+            int count = 0;
+
+            int round = 0;
+            for (String word : words) {
+                count = 0;
+                for (Expansion expansion : expand(word)) {
+                    Postings postings = expansion.postings();
+                    float idf = idf(postings.size);
+                    for (int i = 0; i < postings.size; i++) {
+                        int slot = postings.slots[i];
+                        if (round > 0 && matched[slot] != base + round) {
+                            continue;
+                        }
+                        float frequency = postings.frequencies[i];
+                        float norm = K1 * (1 - B + B * lengths[slot] / averageLength);
+                        float score = expansion.weight() * idf * frequency * (K1 + 1) / (frequency + norm);
+                        if (best[slot] == 0) {
+                            touched[count++] = slot;
+                        }
+                        if (score > best[slot]) {
+                            best[slot] = score;
+                        }
+                    }
+                }
+                // Each word adds its best expansion only
+                for (int i = 0; i < count; i++) {
+                    int slot = touched[i];
+                    scores[slot] = round == 0 ? best[slot] : scores[slot] + best[slot];
+                    best[slot] = 0;
+                    matched[slot] = base + round + 1;
+                }
+                if (count == 0) {
+                    break;
+                }
+                round++;
+            }
+
+            return new Result(top(touched, count, scores, offset, limit), count, facets(touched, count));
+        } finally {
+            scratches.offer(scratch);
+        }
+    }
+
+    private Scratch scratch() {
+        Scratch scratch = scratches.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        scratch.fit(slotCount);
+        return scratch;
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1 + (slotById.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private List<Hit> top(int[] candidates, int count, float[] scores, int offset, int limit) {
+        int wanted = Math.min(count, offset + limit);
+        if (wanted <= offset) {
+            return List.of();
+        }
+        Comparator<Integer> better = (a, b) -> scores[a] != scores[b]
+                ? Float.compare(scores[b], scores[a])
+                : Long.compare(ids[a], ids[b]);
+        // Worst of the best so far on top
+        PriorityQueue<Integer> heap = new PriorityQueue<>(wanted, better.reversed());
+        for (int i = 0; i < count; i++) {
+            int slot = candidates[i];
+            if (heap.size() < wanted) {
+                heap.add(slot);
+            } else if (better.compare(slot, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(slot);
+            }
+        }
+        Integer[] ranked = heap.toArray(new Integer[0]);
+        Arrays.sort(ranked, better);
+        List<Hit> hits = new ArrayList<>(ranked.length - offset);
+        for (int i = offset; i < ranked.length; i++) {
+            hits.add(new Hit(ids[ranked[i]], scores[ranked[i]]));
+        }
+        return hits;
+    }
+
+    /**
+     * Per facet, value to count over the slots, most frequent first
+     */
+    private Map<String, Map<String, Integer>> facets(int[] slots, int count) {
+        Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+        for (int f = 0; f < facetNames.length; f++) {
+            List<String> values = facetValues.get(f);
+            int[] counts = new int[values.size()];
+            int[] codes = facetCodes[f];
+            for (int i = 0; i < count; i++) {
+                counts[codes[slots[i]]]++;
+            }
+            List<Integer> present = new ArrayList<>();
+            for (int code = 1; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    present.add(code);
+                }
+            }
+            present.sort((a, b) -> counts[a] != counts[b]
+                    ? Integer.compare(counts[b], counts[a])
+                    : values.get(a).compareTo(values.get(b)));
+            Map<String, Integer> byValue = new LinkedHashMap<>();
+            for (int code : present) {
+                byValue.put(values.get(code), counts[code]);
+            }
+            result.put(facetNames[f], byValue);
+        }
+        return result;
+    }
+
+    /**
+     * Indexed terms a query word matches: itself, terms it is a prefix of
+     * and terms within its typo budget
+     */
+    private List<Expansion> expand(String word) {
+        List<Expansion> expansions = new ArrayList<>();
+        Postings exact = terms.get(word);
+        if (exact != null) {
+            expansions.add(new Expansion(exact, 1f));
+        }
+        if (word.length() >= 2) {
+            NavigableMap<String, Postings> extensions = terms.subMap(word, false, word + Character.MAX_VALUE, false);
+            for (Postings postings : extensions.values()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    return expansions;
+                }
+                expansions.add(new Expansion(postings, PREFIX_WEIGHT));
+            }
+        }
+        int maxTypos = word.length() >= 8 ? 2 : word.length() >= 4 ? 1 : 0;
+        if (maxTypos > 0) {
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                String term = entry.getKey();
+                if (Math.abs(term.length() - word.length()) > maxTypos || term.startsWith(word)) {
+                    continue;
+                }
+                int distance = distance(word, term, maxTypos);
+                if (distance <= maxTypos) {
+                    expansions.add(new Expansion(entry.getValue(), TYPO_WEIGHTS[distance]));
+                }
+            }
+        }
+        return expansions;
+    }
+
+    /**
+     * Edit distance counting an adjacent swap as one edit, or max + 1 once
+     * it is known to exceed max
+     */
+    static int distance(String a, String b, int max) {
+        int[] before = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, before[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Lower-cased words with accents stripped; anything but letters and digits separates them
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> words = new ArrayList<>();
+        for (String word : SPLIT.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
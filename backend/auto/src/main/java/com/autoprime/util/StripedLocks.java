@@ -0,0 +1,30 @@
+// StripedLocks.java
+package com.autoprime.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks shared out by key hash, so per-entity locking
+ * needs no per-entity allocation or cleanup.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock get(long key) {
+        int h = Long.hashCode(key);
+        h ^= (h >>> 16);
+        return locks[h & mask];
+    }
+}
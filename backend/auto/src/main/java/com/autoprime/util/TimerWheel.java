@@ -0,0 +1,175 @@
+// TimerWheel.java
+package com.autoprime.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timer wheel keyed by long ids. Scheduling and cancelling are
+ * O(1); advancing expires whole slots at once and cascades coarser levels
+ * down as the finer ones wrap. Four levels of 64 slots cover 64^4 ticks,
+ * about 194 days at one-second ticks; later deadlines are parked in the top
+ * level and re-filed as time moves on.
+ */
+public class TimerWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final class Slot {
+        long[] ids = new long[4];
+        long[] deadlines = new long[4];
+        int size;
+
+        void add(long id, long deadline) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+            }
+            ids[size] = id;
+            deadlines[size] = deadline;
+            size++;
+        }
+
+        void clear() {
+            size = 0;
+            if (ids.length > 64) {
+                ids = new long[4];
+                deadlines = new long[4];
+            }
+        }
+    }
+
+    private final long tickMillis;
+
+    private final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+
+    // Live timers; an entry left in a slot after cancel or reschedule is skipped lazily
+    private final Map<Long, Long> deadlineById = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentTick;
+
+    public TimerWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[level][slot] = new Slot();
+            }
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return deadlineById.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Schedule (or reschedule) the timer for id to fire at deadlineMillis
+     */
+    public void schedule(long id, long deadlineMillis) {
+        // Round up so a timer never fires before its deadline
+        long deadline = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        lock.lock();
+        try {
+            deadlineById.put(id, deadline);
+            place(id, deadline, currentTick + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean cancel(long id) {
+        lock.lock();
+        try {
+            return deadlineById.remove(id) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move the wheel forward to nowMillis, passing each expired id to the consumer.
+     * The consumer runs under the wheel lock and should only collect ids.
+     */
+    public void advance(long nowMillis, LongConsumer expired) {
+        long target = nowMillis / tickMillis;
+        lock.lock();
+        try {
+            while (currentTick < target) {
+                currentTick++;
+                int index = (int) (currentTick & SLOT_MASK);
+                if (index == 0) {
+                    cascade(1);
+                }
+                Slot slot = wheel[0][index];
+                for (int i = 0; i < slot.size; i++) {
+                    long id = slot.ids[i];
+                    long deadline = slot.deadlines[i];
+                    Long live = deadlineById.get(id);
+                    if (live == null || live != deadline) {
+                        continue;
+                    }
+                    if (deadline <= currentTick) {
+                        deadlineById.remove(id);
+                        expired.accept(id);
+                    } else {
+                        place(id, deadline, currentTick + 1);
+                    }
+                }
+                slot.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+        Slot slot = wheel[level][index];
+        int size = slot.size;
+        long[] ids = slot.ids;
+        long[] deadlines = slot.deadlines;
+        slot.ids = new long[4];
+        slot.deadlines = new long[4];
+        slot.size = 0;
+        for (int i = 0; i < size; i++) {
+            Long live = deadlineById.get(ids[i]);
+            if (live != null && live == deadlines[i]) {
+                // The level-0 slot for currentTick has not been processed yet
+                place(ids[i], deadlines[i], currentTick);
+            }
+        }
+    }
+
+    private void place(long id, long deadline, long earliestTick) {
+        long tick = Math.max(deadline, earliestTick);
+        long delta = tick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            long span = 1L << (SLOT_BITS * (level + 1));
+            if (delta < span || level == LEVELS - 1) {
+                long levelTick = Math.min(tick, currentTick + span - 1);
+                int index = (int) ((levelTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                wheel[level][index].add(id, deadline);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+// TokenBucket.java
+package com.autoprime.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket refilled at one token per interval and holding at most
+ * burst tokens. Kept as the single time at which the bucket will be full
+ * again (the generic cell rate algorithm), so taking a token is one read
+ * and one compare-and-set, with no lock and no allocation.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+
+    // When the bucket is next full; before now it simply is full
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long intervalNanos, int burst, long nowNanos) {
+        if (intervalNanos <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("interval and burst must be positive");
+        }
+        this.intervalNanos = intervalNanos;
+        this.capacityNanos = intervalNanos * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take a token if there is one
+     *
+     * @return 0 if a token was taken, otherwise nanoseconds until one will be available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos < 0 ? nowNanos : current) + intervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -42,5 +42,14 @@ public class ValidationUtil {
     public static boolean isValidName(String name) {
         return name != null && !name.trim().isEmpty() && name.length() >= 2;
     }
+    
+    /**
+     * Both null, or a latitude in [-90, 90] and a longitude in [-180, 180]
+     */
+    public static boolean isValidCoordinates(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return latitude == null && longitude == null;
+        }
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
 }
-
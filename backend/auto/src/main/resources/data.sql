@@ -11,12 +11,12 @@ VALUES
 -- Insert sample cars
 INSERT INTO cars (name, type, transmission, seats, price_per_day, weekend_extra, fuel, mileage, engine, boot, airbags, drive, status, location, rating, total_trips, km_limit, extra_km_charge, owner_id, created_at) 
 VALUES 
-('Hyundai Creta', 'SUV', 'Automatic', 5, 3500.00, 500.00, 'Petrol', '17 km/l', '1.5L', '433 L', 6, 'FWD', 'AVAILABLE', 'Chennai', 4.6, 120, 200, 10.00, 3, NOW()),
-('Toyota Innova', 'MPV', 'Manual', 7, 4200.00, 600.00, 'Diesel', '15 km/l', '2.4L', '300 L', 3, 'RWD', 'AVAILABLE', 'Chennai', 4.7, 150, 250, 15.00, 3, NOW()),
-('Maruti Swift', 'Hatchback', 'Manual', 5, 1500.00, 300.00, 'Petrol', '22 km/l', '1.2L', '268 L', 2, 'FWD', 'AVAILABLE', 'Chennai', 4.5, 200, 150, 8.00, 3, NOW()),
-('Hyundai i20', 'Hatchback', 'Automatic', 5, 1800.00, 350.00, 'Petrol', '20 km/l', '1.2L', '311 L', 2, 'FWD', 'AVAILABLE', 'Bangalore', 4.4, 180, 150, 8.00, 3, NOW()),
-('Mahindra XUV700', 'SUV', 'Automatic', 7, 4000.00, 700.00, 'Diesel', '16 km/l', '2.0L', '600 L', 6, 'AWD', 'AVAILABLE', 'Mumbai', 4.8, 90, 250, 12.00, 3, NOW()),
-('Tata Nexon', 'SUV', 'Manual', 5, 2500.00, 400.00, 'Petrol', '18 km/l', '1.2L', '350 L', 2, 'FWD', 'AVAILABLE', 'Delhi', 4.3, 160, 180, 10.00, 3, NOW());
+('Hyundai Creta', 'SUV', 'Automatic', 5, 3500.00, 500.00, 'Petrol', '17 km/l', '1.5L', '433 L', 6, 'FWD', 'A', 'Chennai', 4.6, 120, 200, 10.00, 3, NOW()),
+('Toyota Innova', 'MPV', 'Manual', 7, 4200.00, 600.00, 'Diesel', '15 km/l', '2.4L', '300 L', 3, 'RWD', 'A', 'Chennai', 4.7, 150, 250, 15.00, 3, NOW()),
+('Maruti Swift', 'Hatchback', 'Manual', 5, 1500.00, 300.00, 'Petrol', '22 km/l', '1.2L', '268 L', 2, 'FWD', 'A', 'Chennai', 4.5, 200, 150, 8.00, 3, NOW()),
+('Hyundai i20', 'Hatchback', 'Automatic', 5, 1800.00, 350.00, 'Petrol', '20 km/l', '1.2L', '311 L', 2, 'FWD', 'A', 'Bangalore', 4.4, 180, 150, 8.00, 3, NOW()),
+('Mahindra XUV700', 'SUV', 'Automatic', 7, 4000.00, 700.00, 'Diesel', '16 km/l', '2.0L', '600 L', 6, 'AWD', 'A', 'Mumbai', 4.8, 90, 250, 12.00, 3, NOW()),
+('Tata Nexon', 'SUV', 'Manual', 5, 2500.00, 400.00, 'Petrol', '18 km/l', '1.2L', '350 L', 2, 'FWD', 'A', 'Delhi', 4.3, 160, 180, 10.00, 3, NOW());
 
 -- Insert car images
 INSERT INTO car_images (car_id, image_url) VALUES 
@@ -79,14 +79,14 @@ INSERT INTO car_safety (car_id, safety_feature) VALUES
 -- Insert sample bookings
 INSERT INTO bookings (user_id, car_id, start_date, end_date, days, subtotal, discount, gst, total, status, pickup_location, drop_location, created_at) 
 VALUES 
-(2, 1, '2026-02-01', '2026-02-05', 5, 17500.00, 0.00, 3150.00, 20650.00, 'CONFIRMED', 'Chennai Airport', 'Chennai Airport', NOW()),
-(2, 3, '2026-02-10', '2026-02-12', 3, 4500.00, 0.00, 810.00, 5310.00, 'COMPLETED', 'Chennai City', 'Chennai City', NOW());
+(2, 1, '2026-02-01', '2026-02-05', 5, 17500.00, 0.00, 3150.00, 20650.00, 'C', 'Chennai Airport', 'Chennai Airport', NOW()),
+(2, 3, '2026-02-10', '2026-02-12', 3, 4500.00, 0.00, 810.00, 5310.00, 'D', 'Chennai City', 'Chennai City', NOW());
 
 -- Insert sample payments
 INSERT INTO payments (booking_id, amount, payment_method, status, transaction_id, created_at) 
 VALUES 
-(1, 20650.00, 'UPI', 'SUCCESS', 'TXN12345ABC67890', NOW()),
-(2, 5310.00, 'CARD', 'SUCCESS', 'TXN98765XYZ43210', NOW());
+(1, 20650.00, 'UPI', 'S', 'TXN12345ABC67890', NOW()),
+(2, 5310.00, 'CARD', 'S', 'TXN98765XYZ43210', NOW());
 
 -- Insert sample reviews
 INSERT INTO reviews (user_id, car_id, rating, comment, created_at) 
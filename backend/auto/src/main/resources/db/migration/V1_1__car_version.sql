@@ -0,0 +1,5 @@
+-- V1_1__car_version.sql
+-- Version counter on cars for the OPTIMISTIC booking.concurrency.mode;
+-- createBooking bumps it so two bookings of one car cannot both commit.
+
+ALTER TABLE cars ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- V1_2__booking_holds.sql
+-- When an unpaid PENDING booking stops holding its car. Bookings made
+-- before holds existed have none and are never expired.
+
+ALTER TABLE bookings ADD COLUMN hold_expires_at DATETIME(6);
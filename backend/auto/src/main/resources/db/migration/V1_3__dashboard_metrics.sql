@@ -0,0 +1,10 @@
+-- V1_3__dashboard_metrics.sql
+-- Checkpoint of the admin dashboard counters, one row per metric. Without
+-- a clean checkpoint DashboardMetrics rebuilds them with grouped queries.
+
+CREATE TABLE dashboard_metrics (
+    metric VARCHAR(64) NOT NULL,
+    metric_value BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (metric)
+) ENGINE=InnoDB;
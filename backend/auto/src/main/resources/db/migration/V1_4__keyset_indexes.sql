@@ -0,0 +1,10 @@
+-- V1_4__keyset_indexes.sql
+-- Keyset pagination of the list endpoints (newest first) seeks on
+-- (created_at, id); see KeysetPager.
+
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
+CREATE INDEX idx_cars_created_at_id ON cars (created_at, id);
+CREATE INDEX idx_bookings_created_at_id ON bookings (created_at, id);
+CREATE INDEX idx_payments_created_at_id ON payments (created_at, id);
+CREATE INDEX idx_reviews_created_at_id ON reviews (created_at, id);
+CREATE INDEX idx_contact_messages_created_at_id ON contact_messages (created_at, id);
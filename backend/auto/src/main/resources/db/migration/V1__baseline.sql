@@ -0,0 +1,133 @@
+-- V1__baseline.sql
+-- Schema as Hibernate's ddl-auto=update left it before Flyway took over.
+-- Databases created that way are baselined at this version
+-- (spring.flyway.baseline-version) and skip it; everything added since
+-- lives in the later migrations.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    license_number VARCHAR(255),
+    address VARCHAR(255),
+    role ENUM('USER', 'HOST', 'ADMIN') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE cars (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    transmission VARCHAR(255) NOT NULL,
+    seats INTEGER NOT NULL,
+    price_per_day FLOAT(53) NOT NULL,
+    weekend_extra FLOAT(53),
+    fuel VARCHAR(255),
+    mileage VARCHAR(255),
+    engine VARCHAR(255),
+    boot VARCHAR(255),
+    airbags INTEGER,
+    drive VARCHAR(255),
+    status VARCHAR(255) NOT NULL,
+    location VARCHAR(255),
+    rating FLOAT(53),
+    total_trips INTEGER,
+    km_limit INTEGER,
+    extra_km_charge FLOAT(53),
+    owner_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cars_owner FOREIGN KEY (owner_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE car_images (
+    car_id BIGINT NOT NULL,
+    image_url VARCHAR(255),
+    CONSTRAINT fk_car_images_car FOREIGN KEY (car_id) REFERENCES cars (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE car_features (
+    car_id BIGINT NOT NULL,
+    feature VARCHAR(255),
+    CONSTRAINT fk_car_features_car FOREIGN KEY (car_id) REFERENCES cars (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE car_safety (
+    car_id BIGINT NOT NULL,
+    safety_feature VARCHAR(255),
+    CONSTRAINT fk_car_safety_car FOREIGN KEY (car_id) REFERENCES cars (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    car_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    pickup_location VARCHAR(255),
+    drop_location VARCHAR(255),
+    days INTEGER NOT NULL,
+    subtotal FLOAT(53) NOT NULL,
+    discount FLOAT(53),
+    gst FLOAT(53),
+    total FLOAT(53) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_car FOREIGN KEY (car_id) REFERENCES cars (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE payments (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    amount FLOAT(53) NOT NULL,
+    payment_method VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_payments_booking UNIQUE (booking_id),
+    CONSTRAINT fk_payments_booking FOREIGN KEY (booking_id) REFERENCES bookings (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE reviews (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    car_id BIGINT NOT NULL,
+    rating INTEGER NOT NULL,
+    comment TEXT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reviews_car FOREIGN KEY (car_id) REFERENCES cars (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE wishlists (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    car_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_wishlists_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_wishlists_car FOREIGN KEY (car_id) REFERENCES cars (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE contact_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,20 @@
+-- V2__status_codes.sql
+-- Status columns still holding full enum names move to their one-letter
+-- codes (see the *Status enums), then shrink to CHAR(1).
+
+UPDATE cars SET status = 'A' WHERE status = 'AVAILABLE';
+UPDATE cars SET status = 'B' WHERE status = 'BOOKED';
+UPDATE cars SET status = 'M' WHERE status = 'MAINTENANCE';
+
+UPDATE bookings SET status = 'P' WHERE status = 'PENDING';
+UPDATE bookings SET status = 'C' WHERE status = 'CONFIRMED';
+UPDATE bookings SET status = 'D' WHERE status = 'COMPLETED';
+UPDATE bookings SET status = 'X' WHERE status = 'CANCELLED';
+
+UPDATE payments SET status = 'P' WHERE status = 'PENDING';
+UPDATE payments SET status = 'S' WHERE status = 'SUCCESS';
+UPDATE payments SET status = 'F' WHERE status = 'FAILED';
+
+ALTER TABLE cars MODIFY status CHAR(1) NOT NULL;
+ALTER TABLE bookings MODIFY status CHAR(1) NOT NULL;
+ALTER TABLE payments MODIFY status CHAR(1) NOT NULL;
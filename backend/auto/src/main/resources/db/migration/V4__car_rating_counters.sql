@@ -0,0 +1,15 @@
+-- V4__car_rating_counters.sql
+-- Running rating sum and count per car, so a review write no longer
+-- re-reads every review of the car. total_trips held the review count;
+-- it now counts completed bookings.
+
+ALTER TABLE cars ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cars ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE cars SET
+    rating_sum = COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.car_id = cars.id), 0),
+    rating_count = (SELECT COUNT(*) FROM reviews r WHERE r.car_id = cars.id),
+    total_trips = (SELECT COUNT(*) FROM bookings b WHERE b.car_id = cars.id AND b.status = 'D');
+
+-- Cars nobody has reviewed keep the rating they were listed with
+UPDATE cars SET rating = ROUND(rating_sum * 1.0 / rating_count, 1) WHERE rating_count > 0;
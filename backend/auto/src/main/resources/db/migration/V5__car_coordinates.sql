@@ -0,0 +1,6 @@
+-- V5__car_coordinates.sql
+-- Pickup point of each car, for "cars near me" searches. Radius queries
+-- run on CarLocator's in-memory grid, so the columns need no index.
+
+ALTER TABLE cars ADD COLUMN latitude FLOAT(53);
+ALTER TABLE cars ADD COLUMN longitude FLOAT(53);
@@ -0,0 +1,32 @@
+-- V6__sessions.sql
+-- Refresh tokens, stored as SHA-256 hashes and rotated on every use; a
+-- family is one login and its successors. Revoked access tokens are kept by
+-- id (the JWT's jti as two longs) until they would have expired anyway.
+
+CREATE TABLE refresh_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    token_hash CHAR(64) NOT NULL,
+    family_id CHAR(36) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
+
+CREATE TABLE revoked_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    jti_high BIGINT NOT NULL,
+    jti_low BIGINT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_revoked_tokens_jti UNIQUE (jti_high, jti_low)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at);
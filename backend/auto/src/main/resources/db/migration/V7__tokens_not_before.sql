@@ -0,0 +1,8 @@
+-- V7__tokens_not_before.sql
+-- Access tokens a user was issued before this instant are refused, e.g.
+-- after a password change. Every instance reloads the recent ones, so the
+-- column is indexed.
+
+ALTER TABLE users ADD COLUMN tokens_not_before DATETIME(6);
+
+CREATE INDEX idx_users_tokens_not_before ON users (tokens_not_before);
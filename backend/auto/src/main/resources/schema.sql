@@ -3,12 +3,12 @@ USE car_rental_db;
 -- Insert sample cars
 INSERT INTO cars (name, type, transmission, seats, price_per_day, weekend_extra, fuel, mileage, engine, boot, airbags, drive, status, location, rating, total_trips, km_limit, extra_km_charge, owner_id, created_at)
 VALUES
-('Hyundai Creta', 'SUV', 'Automatic', 5, 3500.00, 500.00, 'Petrol', '17 km/l', '1.5L', '433 L', 6, 'FWD', 'AVAILABLE', 'Chennai', 4.6, 120, 200, 10.00, NULL, NOW()),
-('Toyota Innova', 'MPV', 'Manual', 7, 4200.00, 600.00, 'Diesel', '15 km/l', '2.4L', '300 L', 3, 'RWD', 'AVAILABLE', 'Chennai', 4.7, 150, 250, 15.00, NULL, NOW()),
-('Maruti Swift', 'Hatchback', 'Manual', 5, 1500.00, 300.00, 'Petrol', '22 km/l', '1.2L', '268 L', 2, 'FWD', 'AVAILABLE', 'Chennai', 4.5, 200, 150, 8.00, NULL, NOW()),
-('Hyundai i20', 'Hatchback', 'Automatic', 5, 1800.00, 350.00, 'Petrol', '20 km/l', '1.2L', '311 L', 2, 'FWD', 'AVAILABLE', 'Bangalore', 4.4, 180, 150, 8.00, NULL, NOW()),
-('Mahindra XUV700', 'SUV', 'Automatic', 7, 4000.00, 700.00, 'Diesel', '16 km/l', '2.0L', '600 L', 6, 'AWD', 'AVAILABLE', 'Mumbai', 4.8, 90, 250, 12.00, NULL, NOW()),
-('Tata Nexon', 'SUV', 'Manual', 5, 2500.00, 400.00, 'Petrol', '18 km/l', '1.2L', '350 L', 2, 'FWD', 'AVAILABLE', 'Delhi', 4.3, 160, 180, 10.00, NULL, NOW());
+('Hyundai Creta', 'SUV', 'Automatic', 5, 3500.00, 500.00, 'Petrol', '17 km/l', '1.5L', '433 L', 6, 'FWD', 'A', 'Chennai', 4.6, 120, 200, 10.00, NULL, NOW()),
+('Toyota Innova', 'MPV', 'Manual', 7, 4200.00, 600.00, 'Diesel', '15 km/l', '2.4L', '300 L', 3, 'RWD', 'A', 'Chennai', 4.7, 150, 250, 15.00, NULL, NOW()),
+('Maruti Swift', 'Hatchback', 'Manual', 5, 1500.00, 300.00, 'Petrol', '22 km/l', '1.2L', '268 L', 2, 'FWD', 'A', 'Chennai', 4.5, 200, 150, 8.00, NULL, NOW()),
+('Hyundai i20', 'Hatchback', 'Automatic', 5, 1800.00, 350.00, 'Petrol', '20 km/l', '1.2L', '311 L', 2, 'FWD', 'A', 'Bangalore', 4.4, 180, 150, 8.00, NULL, NOW()),
+('Mahindra XUV700', 'SUV', 'Automatic', 7, 4000.00, 700.00, 'Diesel', '16 km/l', '2.0L', '600 L', 6, 'AWD', 'A', 'Mumbai', 4.8, 90, 250, 12.00, NULL, NOW()),
+('Tata Nexon', 'SUV', 'Manual', 5, 2500.00, 400.00, 'Petrol', '18 km/l', '1.2L', '350 L', 2, 'FWD', 'A', 'Delhi', 4.3, 160, 180, 10.00, NULL, NOW());
 
 -- Insert car images
 INSERT INTO car_images (car_id, image_url) VALUES
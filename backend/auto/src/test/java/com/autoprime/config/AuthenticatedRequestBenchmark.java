@@ -0,0 +1,115 @@
+package com.autoprime.config;
+
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.UserRepository;
+import com.autoprime.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Authenticated GETs over real HTTP from concurrent clients, each with its
+ * own token, counting the SQL statements they cause. Not part of the
+ * default build; run with: mvn test -Dtest=AuthenticatedRequestBenchmark
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthenticatedRequestBenchmark {
+
+    private static final int USERS = 200;
+    private static final int CLIENTS = 8;
+    private static final int REQUESTS = 20_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void authenticatedGetThroughput() throws Exception {
+        List<User> users = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = userRepository.save(new User("Bench User " + i, "bench-auth-" + i + "@test.dev", "hash",
+                    "9876500020", null, null, Role.USER));
+            users.add(user);
+            tokens.add(jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name()));
+        }
+        HttpClient client = HttpClient.newHttpClient();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm-up, which also verifies and caches every token
+        run(client, tokens, i -> "/api/auth/me", REQUESTS / 4);
+        statistics.clear();
+        double perSecond = run(client, tokens, i -> "/api/auth/me", REQUESTS);
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("GET /api/auth/me: %.0f req/s, %d SQL statements over %d requests%n",
+                perSecond, statements, REQUESTS);
+        assertEquals(0, statements);
+
+        // For comparison, a handler that loads the caller's row, here from the warm second-level cache
+        run(client, tokens, i -> "/api/users/" + users.get(i).getId(), REQUESTS / 4);
+        statistics.clear();
+        perSecond = run(client, tokens, i -> "/api/users/" + users.get(i).getId(), REQUESTS);
+        System.out.printf("GET /api/users/{id}: %.0f req/s, %d SQL statements over %d requests%n",
+                perSecond, statistics.getPrepareStatementCount(), REQUESTS);
+    }
+
+    // Requests per second across CLIENTS threads; path is chosen by token index
+    private double run(HttpClient client, List<String> tokens, IntFunction<String> path, int requests)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long began = System.nanoTime();
+            List<Future<?>> clients = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int first = c;
+                clients.add(pool.submit(() -> {
+                    for (int r = first; r < requests; r += CLIENTS) {
+                        int user = r % tokens.size();
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + path.apply(user)))
+                                .header("Authorization", "Bearer " + tokens.get(user))
+                                .GET()
+                                .build();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("HTTP " + response.statusCode());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : clients) {
+                future.get();
+            }
+            return requests / ((System.nanoTime() - began) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.autoprime.config;
+
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Catalog read latency while many clients log in at once. Logins beyond
+ * what the hashing pool holds are answered 429 rather than piling onto the
+ * request threads. Not part of the default build; run with:
+ * mvn test -Dtest=LoginBurstBenchmark
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoginBurstBenchmark {
+
+    private static final int LOGIN_CLIENTS = 32;
+    private static final int READS = 400;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void catalogReadsDuringALoginBurst() throws Exception {
+        String hash = new BCryptPasswordEncoder(10).encode("s3cret!");
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            userRepository.save(new User("Burst User " + i, "burst-" + i + "@test.dev", hash, "9876500040",
+                    null, null, Role.USER));
+        }
+        HttpClient client = HttpClient.newHttpClient();
+
+        long[] quiet = reads(client);
+        report("idle", quiet);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            String body = "{\"email\":\"burst-" + i + "@test.dev\",\"password\":\"s3cret!\"}";
+            pool.execute(() -> {
+                while (running.get()) {
+                    HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    try {
+                        int status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        (status == 429 ? shed : ok).incrementAndGet();
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            });
+        }
+        Thread.sleep(2000);
+        long began = System.nanoTime();
+        long[] busy = reads(client);
+        double seconds = (System.nanoTime() - began) / 1e9;
+        running.set(false);
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+
+        report("during burst", busy);
+        System.out.printf("Logins: %d served, %d answered 429, over %.1f s of reads%n", ok.get(), shed.get(), seconds);
+    }
+
+    private long[] reads(HttpClient client) throws Exception {
+        HttpRequest read = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/cars/summaries?size=20"))
+                .GET()
+                .build();
+        long[] nanos = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            client.send(read, HttpResponse.BodyHandlers.discarding());
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private static void report(String label, long[] nanos) {
+        // Discard the first half as warm-up
+        long[] measured = Arrays.copyOfRange(nanos, nanos.length / 2, nanos.length);
+        Arrays.sort(measured);
+        System.out.printf("GET /api/cars/summaries %s: p50 %.2f ms, p99 %.2f ms%n", label,
+                measured[measured.length / 2] / 1e6, measured[measured.length * 99 / 100] / 1e6);
+    }
+}
@@ -0,0 +1,255 @@
+package com.autoprime.config;
+
+import com.autoprime.dto.AuthResponse;
+import com.autoprime.dto.LoginRequest;
+import com.autoprime.model.Booking;
+import com.autoprime.model.Payment;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.model.Wishlist;
+import com.autoprime.repository.UserRepository;
+import com.autoprime.service.AuthService;
+import com.autoprime.service.BookingService;
+import com.autoprime.service.CarService;
+import com.autoprime.service.PaymentService;
+import com.autoprime.service.TestData;
+import com.autoprime.service.WishlistService;
+import com.autoprime.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestData.class)
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private WishlistService wishlistService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TestData testData;
+
+    private User user(String email, Role role) {
+        return userRepository.save(new User("Security " + role, email, "hash", "9876500010", null, null, role));
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+    }
+
+    @Test
+    void anonymousCallersBrowseTheCatalogButNothingElse() throws Exception {
+        mockMvc.perform(get("/api/cars/summaries")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/auth/me"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Authentication required"));
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer not.a.token"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid token"));
+        mockMvc.perform(post("/api/cars").contentType("application/json").content("{}"))
+                .andExpect(status().isUnauthorized());
+        // A bad token does not lock its bearer out of public pages
+        mockMvc.perform(get("/api/cars/summaries").header(HttpHeaders.AUTHORIZATION, "Bearer not.a.token"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rolesAndOwnershipDecideWhatACallerReaches() throws Exception {
+        User renter = user("security-renter@test.dev", Role.USER);
+        User other = user("security-other@test.dev", Role.USER);
+        User host = user("security-host@test.dev", Role.HOST);
+        User admin = user("security-admin@test.dev", Role.ADMIN);
+
+        mockMvc.perform(get("/api/bookings/user/" + renter.getId()).header(HttpHeaders.AUTHORIZATION, bearer(renter)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/bookings/user/" + renter.getId()).header(HttpHeaders.AUTHORIZATION, bearer(other)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/bookings/user/" + renter.getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/host/" + host.getId() + "/cars").header(HttpHeaders.AUTHORIZATION, bearer(renter)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Access denied"));
+        mockMvc.perform(get("/api/host/" + host.getId() + "/cars").header(HttpHeaders.AUTHORIZATION, bearer(host)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/cars").header(HttpHeaders.AUTHORIZATION, bearer(renter))
+                        .contentType("application/json").content("{}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/admin/cache/cars").header(HttpHeaders.AUTHORIZATION, bearer(host)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, bearer(renter)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/cache/cars").header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void resolvesTheCallerFromTheTokenWithoutTouchingTheDatabase() throws Exception {
+        User renter = user("security-me@test.dev", Role.USER);
+        String token = bearer(renter);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(renter.getId()))
+                    .andExpect(jsonPath("$.email").value("security-me@test.dev"))
+                    .andExpect(jsonPath("$.role").value("USER"));
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void throttlesAClientPastItsLimitAndSaysWhenToRetry() throws Exception {
+        String message = "{\"name\":\"Rate Test\",\"email\":\"rate@test.dev\",\"subject\":\"Hi\",\"message\":\"Hello\"}";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/contact").contentType("application/json").content(message)
+                            .with(request -> { request.setRemoteAddr("203.0.113.7"); return request; }))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/contact").contentType("application/json").content(message)
+                        .with(request -> { request.setRemoteAddr("203.0.113.7"); return request; }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1800"));
+
+        // Another address has its own allowance, and other routes are not limited
+        mockMvc.perform(post("/api/contact").contentType("application/json").content(message)
+                        .with(request -> { request.setRemoteAddr("203.0.113.8"); return request; }))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/cars/summaries")
+                        .with(request -> { request.setRemoteAddr("203.0.113.7"); return request; }))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aClientWhoseAccessTokenExpiredLogsOutWithItsRefreshToken() throws Exception {
+        testData.register("Expired Session", "expired-session@test.dev", "USER");
+        AuthResponse session = authService.login(new LoginRequest("expired-session@test.dev", "secret123"));
+        User user = userRepository.findByEmail("expired-session@test.dev").orElseThrow();
+        String expired;
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+        try {
+            expired = bearer(user);
+        } finally {
+            ReflectionTestUtils.setField(jwtUtil, "expiration", 900000L);
+        }
+        String body = "{\"refreshToken\":\"" + session.getRefreshToken() + "\"}";
+
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, expired)
+                        .contentType("application/json").content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/refresh").contentType("application/json").content(body))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void onlyTheOwnerOrAnAdminReachesABookingPaymentCarOrWishlistById() throws Exception {
+        User renter = user("owner-renter@test.dev", Role.USER);
+        User stranger = user("owner-stranger@test.dev", Role.USER);
+        User host = user("owner-host@test.dev", Role.HOST);
+        User otherHost = user("owner-other-host@test.dev", Role.HOST);
+        User admin = user("owner-admin@test.dev", Role.ADMIN);
+        Long carId = carService.addCar(TestData.car("Owned Car"), host.getId()).getId();
+        Booking booking = bookingService.createBooking(TestData.booking(50), renter.getId(), carId);
+        Payment payment = paymentService.createPayment(booking.getId(), "UPI");
+        Wishlist wishlist = wishlistService.addToWishlist(renter.getId(), carId);
+
+        mockMvc.perform(get("/api/bookings/" + booking.getId()).header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/bookings/" + booking.getId()).header(HttpHeaders.AUTHORIZATION, bearer(renter)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/bookings/car/" + carId).header(HttpHeaders.AUTHORIZATION, bearer(otherHost)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/bookings/car/" + carId).header(HttpHeaders.AUTHORIZATION, bearer(host)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/payments/" + payment.getId()).header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/payments/booking/" + booking.getId()).header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/payments/" + payment.getId() + "/process")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/payments").param("bookingId", booking.getId().toString()).param("paymentMethod", "UPI")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/payments/" + payment.getId()).header(HttpHeaders.AUTHORIZATION, bearer(renter)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/wishlist/" + wishlist.getId()).header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(put("/api/cars/" + carId).header(HttpHeaders.AUTHORIZATION, bearer(otherHost))
+                        .contentType("application/json").content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/cars/" + carId + "/status").param("status", "MAINTENANCE")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(otherHost)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/cars/" + carId).header(HttpHeaders.AUTHORIZATION, bearer(otherHost)))
+                .andExpect(status().isForbidden());
+
+        // A customer may cancel their own booking, but not confirm it or touch anyone else's
+        mockMvc.perform(patch("/api/bookings/" + booking.getId() + "/status").param("status", "CONFIRMED")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(renter)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/bookings/" + booking.getId() + "/status").param("status", "CANCELLED")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/bookings/" + booking.getId()).header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/bookings/" + booking.getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+        mockMvc.perform(patch("/api/bookings/" + booking.getId() + "/status").param("status", "CANCELLED")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(renter)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.autoprime.config;
+
+import com.autoprime.AutoPrimeApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput and latency of a public, always-querying endpoint with many
+ * concurrent clients and slow database calls, on platform request threads
+ * and then on virtual threads. Each statement sleeps load.latency-millis
+ * before running, holding its connection as a slow database would.
+ * Virtual threads need Java 21; not part of the default build; run with:
+ * JAVA_HOME=/path/to/jdk-21 mvn test -Dtest=ThreadModeBenchmark
+ *   [-Dload.clients=2000 -Dload.seconds=15 -Dload.latency-millis=200 -Dload.pool=400]
+ */
+class ThreadModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 2000);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 15);
+    private static final int LATENCY_MILLIS = Integer.getInteger("load.latency-millis", 200);
+    // Above the 200 platform threads, so threads rather than connections bound that mode
+    private static final int POOL = Integer.getInteger("load.pool", 400);
+
+    // Off while the application starts, so migrations run at full speed
+    private static volatile long latencyMillis;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        System.out.printf("java %s, %d cores, %d clients, %d ms per statement, pool %d%n",
+                Runtime.version(), Runtime.getRuntime().availableProcessors(), CLIENTS, LATENCY_MILLIS, POOL);
+        run(false);
+        if (Runtime.version().feature() >= 21) {
+            run(true);
+        } else {
+            System.out.println("virtual: skipped, needs Java 21");
+        }
+    }
+
+    private void run(boolean virtual) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AutoPrimeApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.jpa.show-sql=false")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SlowDataSource()))
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/reviews?size=10");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            latencyMillis = LATENCY_MILLIS;
+            load(client, uri, 3);
+            Result result = load(client, uri, SECONDS);
+            latencyMillis = 0;
+
+            System.out.printf("%-8s %8.0f req/s  p50 %6d ms  p99 %6d ms  errors %d%n",
+                    virtual ? "virtual" : "platform", result.throughput(), result.percentile(0.5),
+                    result.percentile(0.99), result.errors());
+        } finally {
+            latencyMillis = 0;
+            context.close();
+        }
+    }
+
+    record Result(double throughput, long[] sortedMillis, int errors) {
+        long percentile(double p) {
+            return sortedMillis.length == 0 ? 0 : sortedMillis[(int) Math.min(sortedMillis.length - 1,
+                    Math.round(p * (sortedMillis.length - 1)))];
+        }
+    }
+
+    // Every client sends its next request as soon as the previous one is answered
+    private Result load(HttpClient client, URI uri, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        long began = System.nanoTime();
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = loop(client, request, deadline, latencies, errors);
+        }
+        CompletableFuture.allOf(clients).join();
+        double elapsed = (System.nanoTime() - began) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Result(sorted.length / elapsed, sorted, errors.get());
+    }
+
+    private CompletableFuture<Void> loop(HttpClient client, HttpRequest request, long deadline,
+                                         ConcurrentLinkedQueue<Long> latencies, AtomicInteger errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> {
+                    if (e == null && response.statusCode() == 200) {
+                        latencies.add((System.nanoTime() - sent) / 1_000_000);
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, request, deadline, latencies, errors));
+    }
+
+    // Wraps the pool so each statement execution first waits latencyMillis
+    static class SlowDataSource implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+                    (proxy, method, args) -> {
+                        Object result = invoke(dataSource, method, args);
+                        return result instanceof Connection connection ? slow(connection) : result;
+                    });
+        }
+
+        private static Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(ThreadModeBenchmark.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement) {
+                            return slow(statement, method.getReturnType());
+                        }
+                        return result;
+                    });
+        }
+
+        private static Object slow(Statement statement, Class<?> type) {
+            return Proxy.newProxyInstance(ThreadModeBenchmark.class.getClassLoader(), new Class<?>[] { type },
+                    (proxy, method, args) -> {
+                        long millis = latencyMillis;
+                        if (millis > 0 && method.getName().startsWith("execute")) {
+                            Thread.sleep(millis);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
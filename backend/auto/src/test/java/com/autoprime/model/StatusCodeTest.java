@@ -0,0 +1,52 @@
+package com.autoprime.model;
+
+import com.autoprime.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusCodeTest {
+
+    @Test
+    void bookingLifecycleOnlyMovesForward() {
+        assertTrue(BookingStatus.PENDING.canTransitionTo(BookingStatus.CONFIRMED));
+        assertTrue(BookingStatus.PENDING.canTransitionTo(BookingStatus.CANCELLED));
+        assertTrue(BookingStatus.CONFIRMED.canTransitionTo(BookingStatus.COMPLETED));
+        assertTrue(BookingStatus.CONFIRMED.canTransitionTo(BookingStatus.CONFIRMED));
+        assertFalse(BookingStatus.PENDING.canTransitionTo(BookingStatus.COMPLETED));
+        assertFalse(BookingStatus.CANCELLED.canTransitionTo(BookingStatus.CONFIRMED));
+        assertFalse(BookingStatus.COMPLETED.canTransitionTo(BookingStatus.PENDING));
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> BookingStatus.CANCELLED.checkTransitionTo(BookingStatus.CONFIRMED));
+        assertEquals("Booking cannot move from CANCELLED to CONFIRMED", e.getMessage());
+        assertFalse(PaymentStatus.FAILED.canTransitionTo(PaymentStatus.SUCCESS));
+        assertFalse(CarStatus.MAINTENANCE.canTransitionTo(CarStatus.BOOKED));
+    }
+
+    @Test
+    void parseIsCaseInsensitiveAndRejectsUnknownNames() {
+        assertEquals(CarStatus.MAINTENANCE, CarStatus.parse(" maintenance "));
+        assertEquals(PaymentStatus.SUCCESS, PaymentStatus.parse("Success"));
+        assertThrows(ValidationException.class, () -> BookingStatus.parse("SHIPPED"));
+        assertThrows(ValidationException.class, () -> BookingStatus.parse(null));
+    }
+
+    @Test
+    void converterRoundTripsCodesAndReadsLegacyNames() {
+        BookingStatusConverter converter = new BookingStatusConverter();
+        Set<String> codes = new HashSet<>();
+        for (BookingStatus status : BookingStatus.values()) {
+            String column = converter.convertToDatabaseColumn(status);
+            assertEquals(1, column.length());
+            assertTrue(codes.add(column), "duplicate code " + column);
+            assertEquals(status, converter.convertToEntityAttribute(column));
+            assertEquals(status, converter.convertToEntityAttribute(status.name()));
+        }
+        assertNull(converter.convertToEntityAttribute(null));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute("Z"));
+    }
+}
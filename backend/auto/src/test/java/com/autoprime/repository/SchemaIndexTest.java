@@ -0,0 +1,157 @@
+package com.autoprime.repository;
+
+import com.autoprime.dto.BookingHold;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
+import com.autoprime.model.PaymentStatus;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(SchemaIndexTest.CaptureSql.class)
+class SchemaIndexTest {
+
+    // SQL Hibernate prepared on the capturing thread, in order
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    private static volatile Thread capturing;
+
+    @TestConfiguration
+    static class CaptureSql {
+
+        @Bean
+        HibernatePropertiesCustomizer captureSql() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                if (Thread.currentThread() == capturing) {
+                    statements.add(sql);
+                }
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WishlistRepository wishlistRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyHotFinderIsServedByAnIndex() {
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        LocalDate to = LocalDate.of(2030, 1, 5);
+
+        assertServedBy("idx_bookings_car_dates", refs -> bookingRepository
+                .findByCarAndStartDateLessThanEqualAndEndDateGreaterThanEqual(refs.car(), to, from));
+        assertServedBy("idx_bookings_car_dates", refs -> bookingRepository
+                .existsByCarAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        refs.car(), BookingStatus.ACTIVE, to, from));
+        assertServedBy("idx_bookings_car_dates", refs -> bookingRepository
+                .existsByCarAndStatusIn(refs.car(), BookingStatus.ACTIVE));
+        assertServedBy("idx_bookings_status_created", refs -> bookingRepository.findByStatus(BookingStatus.CONFIRMED));
+        assertServedBy("idx_bookings_status_hold", refs -> {
+            try (Stream<BookingHold> holds = bookingRepository.streamHoldsByStatus(BookingStatus.PENDING)) {
+                holds.findFirst();
+            }
+        });
+        assertServedBy("idx_bookings_user_status", refs -> bookingRepository
+                .findByUserAndStatus(refs.user(), BookingStatus.PENDING));
+        assertServedBy("idx_cars_status", refs -> carRepository.findByStatus(CarStatus.AVAILABLE));
+        assertServedBy("idx_cars_location", refs -> carRepository.findByLocation("Chennai"));
+        assertServedBy("idx_cars_type", refs -> carRepository.findByType("SUV"));
+        assertServedBy("idx_cars_price", refs -> carRepository.findByPricePerDayBetween(1000.0, 2000.0));
+        assertServedBy("fk_cars_owner", refs -> carRepository.findByOwner(refs.user()));
+        assertServedBy("idx_payments_status", refs -> paymentRepository.findByStatus(PaymentStatus.SUCCESS));
+        assertServedBy("uk_payments_transaction_id", refs -> paymentRepository.findByTransactionId("TXN0123456789AB"));
+        assertServedBy("fk_reviews_car", refs -> reviewRepository.findByCarOrderByCreatedAtDesc(refs.car()));
+        assertServedBy("fk_reviews_user", refs -> reviewRepository.findByUser(refs.user()));
+        assertServedBy("idx_users_role", refs -> userRepository.findByRole(Role.HOST));
+        assertServedBy("idx_users_tokens_not_before", refs -> userRepository
+                .findTokenCutoffsAfter(LocalDateTime.of(2030, 1, 1, 0, 0)));
+        assertServedBy("idx_wishlists_user_car", refs -> wishlistRepository.existsByUserAndCar(refs.user(), refs.car()));
+        assertServedBy("idx_contact_messages_status", refs -> contactRepository.findByStatus("NEW"));
+    }
+
+    @Test
+    void transactionIdsAreUnique() {
+        Integer unique = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE table_name = 'payments' " +
+                "AND index_name = 'uk_payments_transaction_id' AND index_type_name = 'UNIQUE INDEX'",
+                Integer.class);
+        assertEquals(1, unique);
+    }
+
+    record Refs(User user, Car car) {}
+
+    // Runs the finder with caches cold and EXPLAINs the first statement it sends
+    private void assertServedBy(String index, Consumer<Refs> finder) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statements.clear();
+        transactionTemplate.executeWithoutResult(tx -> {
+            Refs refs = new Refs(userRepository.getReferenceById(1L), carRepository.getReferenceById(1L));
+            capturing = Thread.currentThread();
+            try {
+                finder.accept(refs);
+            } finally {
+                capturing = null;
+            }
+            tx.setRollbackOnly();
+        });
+        assertFalse(statements.isEmpty(), () -> "no SQL captured for " + index);
+
+        String sql = statements.get(0);
+        String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql), rs -> {
+            rs.next();
+            return rs.getString(1);
+        }).toLowerCase();
+        assertTrue(plan.contains("." + index), () -> "expected " + index + " for " + sql + " but got\n" + plan);
+        assertFalse(plan.contains("tablescan"), () -> "full scan for " + sql + "\n" + plan);
+    }
+}
@@ -0,0 +1,45 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.AuthResponse;
+import com.autoprime.dto.LoginRequest;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void loginRehashesAPasswordStoredAtAnOldCost() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("s3cret!");
+        User user = userRepository.save(new User("Rehash User", "rehash@test.dev", oldHash, "9876500030",
+                null, null, Role.USER));
+
+        AuthResponse response = authService.login(new LoginRequest("rehash@test.dev", "s3cret!"));
+        assertNotNull(response.getToken());
+
+        String newHash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(newHash.startsWith("$2a$10$"), newHash);
+        assertTrue(new BCryptPasswordEncoder().matches("s3cret!", newHash));
+
+        // Already at the configured cost: left alone
+        authService.login(new LoginRequest("rehash@test.dev", "s3cret!"));
+        assertEquals(newHash, userRepository.findById(user.getId()).orElseThrow().getPassword());
+
+        // A wrong password never touches the stored hash
+        assertThrows(RuntimeException.class, () -> authService.login(new LoginRequest("rehash@test.dev", "wrong")));
+        assertEquals(newHash, userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+}
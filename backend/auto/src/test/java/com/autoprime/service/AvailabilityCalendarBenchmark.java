@@ -0,0 +1,62 @@
+package com.autoprime.service;
+
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Date-range search latency over 50k cars. Not part of the default build;
+ * run with: mvn test -Dtest=AvailabilityCalendarBenchmark
+ */
+class AvailabilityCalendarBenchmark {
+
+    private static final int CARS = 50_000;
+    private static final String[] TYPES = { "SUV", "Sedan", "Hatchback", "MPV" };
+    private static final String[] CITIES = { "Chennai", "Mumbai", "Delhi", "Bangalore", "Pune", "Hyderabad" };
+
+    @Test
+    void rangeSearchLatency() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        LocalDate today = LocalDate.now();
+        Random random = new Random(11);
+
+        long bookingId = 0;
+        for (long id = 1; id <= CARS; id++) {
+            Car car = new Car();
+            car.setId(id);
+            car.setType(TYPES[random.nextInt(TYPES.length)]);
+            car.setLocation(CITIES[random.nextInt(CITIES.length)]);
+            calendar.onCarEvent(CarEvent.added(car));
+            for (int b = 0; b < 20; b++) {
+                LocalDate start = today.plusDays(random.nextInt(350));
+                calendar.apply(new BookingEvent(BookingEvent.Type.CREATED, ++bookingId, id,
+                        start, start.plusDays(random.nextInt(5)), null, BookingStatus.CONFIRMED, 0.0, null));
+            }
+        }
+
+        int queries = 5_000;
+        long matches = 0;
+        for (int i = 0; i < queries; i++) {
+            matches += query(calendar, today, random);
+        }
+        long began = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            matches += query(calendar, today, random);
+        }
+        long elapsed = System.nanoTime() - began;
+
+        System.out.printf("AvailabilityCalendar: %,d cars, %.1f us/query (%d matches)%n",
+                CARS, elapsed / 1000.0 / queries, matches);
+    }
+
+    private static int query(AvailabilityCalendar calendar, LocalDate today, Random random) {
+        LocalDate from = today.plusDays(random.nextInt(300));
+        return calendar.findAvailable(from, from.plusDays(3),
+                TYPES[random.nextInt(TYPES.length)], CITIES[random.nextInt(CITIES.length)], 0, 20).total();
+    }
+}
@@ -0,0 +1,150 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.BookingInterval;
+import com.autoprime.dto.CarAttributes;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.repository.CarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCalendarTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    private AvailabilityCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new AvailabilityCalendar();
+        calendar.clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        addCar(1L, "SUV", "Chennai", CarStatus.AVAILABLE);
+        addCar(2L, "SUV", "Chennai", CarStatus.BOOKED);
+        addCar(3L, "Sedan", "Chennai", CarStatus.AVAILABLE);
+        addCar(4L, "SUV", "Mumbai", CarStatus.AVAILABLE);
+        addCar(5L, "SUV", "Chennai", CarStatus.MAINTENANCE);
+    }
+
+    @Test
+    void filtersByTypeLocationAndBookedDays() {
+        book(10L, 1L, 12, 15);
+
+        assertEquals(List.of(2L), ids(12, 15, "suv", "chennai"));
+        assertEquals(List.of(1L, 2L), ids(16, 20, "SUV", "Chennai"));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(16, 20, null, null));
+        assertEquals(List.of(), ids(12, 15, "Convertible", null));
+    }
+
+    @Test
+    void rangesSpanningWordBoundariesAreChecked() {
+        book(10L, 1L, 63, 64);
+
+        assertEquals(List.of(2L), ids(60, 63, "SUV", "Chennai"));
+        assertEquals(List.of(2L), ids(64, 130, "SUV", "Chennai"));
+        assertEquals(List.of(1L, 2L), ids(65, 130, "SUV", "Chennai"));
+    }
+
+    @Test
+    void removingOneOfTwoOverlappingBookingsKeepsTheOther() {
+        book(10L, 1L, 5, 10);
+        book(11L, 1L, 8, 12);
+        calendar.apply(new BookingEvent(BookingEvent.Type.STATUS_CHANGED, 10L, 1L,
+                TODAY.plusDays(5), TODAY.plusDays(10), BookingStatus.PENDING, BookingStatus.CANCELLED, 0.0, null));
+
+        assertEquals(List.of(1L, 2L), ids(5, 7, "SUV", "Chennai"));
+        assertEquals(List.of(2L), ids(8, 8, "SUV", "Chennai"));
+    }
+
+    @Test
+    void pagesThroughMatches() {
+        AvailabilityCalendar.Page page = calendar.findAvailable(
+                TODAY, TODAY.plusDays(1), null, null, 2, 2);
+
+        assertEquals(4, page.total());
+        assertEquals(List.of(3L, 4L), page.carIds());
+    }
+
+    @Test
+    void retainsTheFreeBookableCarsInTheGivenOrder() {
+        book(10L, 4L, 3, 6);
+
+        assertEquals(List.of(3L, 1L), calendar.retainAvailable(List.of(4L, 3L, 5L, 99L, 1L),
+                TODAY.plusDays(5), TODAY.plusDays(8)));
+        assertEquals(List.of(4L, 3L, 1L), calendar.retainAvailable(List.of(4L, 3L, 5L, 99L, 1L),
+                TODAY.plusDays(7), TODAY.plusDays(8)));
+    }
+
+    @Test
+    void rejectsRangesOutsideTheWindow() {
+        assertThrows(RuntimeException.class, () -> ids(-1, 2, null, null));
+        assertThrows(RuntimeException.class, () -> ids(10, AvailabilityCalendar.WINDOW_DAYS, null, null));
+    }
+
+    @Test
+    void changesMadeWhileWarmingSurviveTheReload() {
+        // The load reads the cars before car 6 is added, and the intervals
+        // before booking 20 commits; both events land mid-load
+        ReflectionTestUtils.setField(calendar, "carRepository", stub(CarRepository.class, "findAllAttributes", () -> {
+            addCar(6L, "SUV", "Pune", CarStatus.AVAILABLE);
+            return List.of(new CarAttributes(1L, "SUV", "Chennai", CarStatus.AVAILABLE),
+                    new CarAttributes(3L, "Sedan", "Chennai", CarStatus.AVAILABLE));
+        }));
+        ReflectionTestUtils.setField(calendar, "bookingRepository", stub(BookingRepository.class,
+                "streamIntervalsByStatusIn", () -> {
+                    book(20L, 1L, 30, 32);
+                    return Stream.of(new BookingInterval(21L, 3L, TODAY.plusDays(30), TODAY.plusDays(31)));
+                }));
+
+        calendar.warm();
+
+        assertEquals(List.of(6L), ids(30, 30, "SUV", null));
+        assertEquals(List.of(1L, 6L), ids(33, 33, "SUV", null));
+        assertEquals(List.of(6L), ids(31, 31, null, null));
+    }
+
+    // A repository that only answers one method
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> repository, String method, Supplier<Object> answer) {
+        return (T) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] { repository },
+                (proxy, called, args) -> {
+                    if (called.getName().equals(method)) {
+                        return answer.get();
+                    }
+                    throw new UnsupportedOperationException(called.getName());
+                });
+    }
+
+    private void addCar(Long id, String type, String location, CarStatus status) {
+        Car car = new Car();
+        car.setId(id);
+        car.setType(type);
+        car.setLocation(location);
+        car.setStatus(status);
+        calendar.onCarEvent(CarEvent.added(car));
+    }
+
+    private void book(Long bookingId, Long carId, int fromDay, int toDay) {
+        calendar.apply(new BookingEvent(BookingEvent.Type.CREATED, bookingId, carId,
+                TODAY.plusDays(fromDay), TODAY.plusDays(toDay), null, BookingStatus.PENDING, 0.0, null));
+    }
+
+    private List<Long> ids(int fromDay, int toDay, String type, String location) {
+        return calendar.findAvailable(TODAY.plusDays(fromDay), TODAY.plusDays(toDay),
+                type, location, 0, 100).carIds();
+    }
+}
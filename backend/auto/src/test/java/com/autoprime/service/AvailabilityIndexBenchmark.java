@@ -0,0 +1,61 @@
+package com.autoprime.service;
+
+import com.autoprime.event.BookingEvent;
+import com.autoprime.model.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Conflict-check latency at 10k cars x 100 bookings each. Not part of the
+ * default build; run with: mvn test -Dtest=AvailabilityIndexBenchmark
+ */
+class AvailabilityIndexBenchmark {
+
+    private static final int CARS = 10_000;
+    private static final int BOOKINGS_PER_CAR = 100;
+    private static final int CHECKS = 2_000_000;
+
+    @Test
+    void conflictCheckLatency() {
+        AvailabilityIndex index = new AvailabilityIndex();
+        LocalDate base = LocalDate.of(2025, 1, 1);
+
+        long bookingId = 0;
+        for (long car = 1; car <= CARS; car++) {
+            for (int i = 0; i < BOOKINGS_PER_CAR; i++) {
+                // Back-to-back 3-day bookings with a 1-day gap between each
+                LocalDate start = base.plusDays(i * 4L);
+                index.apply(new BookingEvent(BookingEvent.Type.CREATED, ++bookingId, car,
+                        start, start.plusDays(2), null, BookingStatus.CONFIRMED, 0.0, null));
+            }
+        }
+
+        Random random = new Random(7);
+        LocalDate[] starts = new LocalDate[1024];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = base.plusDays(random.nextInt(BOOKINGS_PER_CAR * 4));
+        }
+
+        int conflicts = 0;
+        for (int i = 0; i < CHECKS / 10; i++) {
+            conflicts += check(index, random, starts) ? 1 : 0;
+        }
+
+        long began = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            conflicts += check(index, random, starts) ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - began;
+
+        System.out.printf("AvailabilityIndex: %,d intervals, %,d checks, %.1f ns/check (%d conflicts)%n",
+                index.size(), CHECKS, (double) elapsed / CHECKS, conflicts);
+    }
+
+    private static boolean check(AvailabilityIndex index, Random random, LocalDate[] starts) {
+        long car = 1 + random.nextInt(CARS);
+        LocalDate start = starts[random.nextInt(starts.length)];
+        return index.hasConflict(car, start, start);
+    }
+}
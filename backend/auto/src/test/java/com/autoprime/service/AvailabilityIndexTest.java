@@ -0,0 +1,160 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.BookingInterval;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(TestData.class)
+class AvailabilityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void createdCancelledAndDeletedBookingsBlockAndFreeTheirDates() {
+        Long hostId = testData.register("Index Host", "index-host@test.dev", "HOST");
+        Long userId = testData.register("Index User", "index-user@test.dev", "USER");
+        Long carId = carService.addCar(TestData.car("Index Car"), hostId).getId();
+        LocalDate today = LocalDate.now();
+        assertTrue(availabilityIndex.isReady());
+
+        Booking cancelled = bookingService.createBooking(TestData.booking(10), userId, carId);
+        assertTrue(availabilityIndex.hasConflict(carId, today.plusDays(11), today.plusDays(11)));
+        assertFalse(availabilityIndex.hasConflict(carId, today.plusDays(13), today.plusDays(15)));
+        bookingService.updateBookingStatus(cancelled.getId(), BookingStatus.CANCELLED);
+        assertFalse(availabilityIndex.hasConflict(carId, today.plusDays(11), today.plusDays(11)));
+
+        Booking deleted = bookingService.createBooking(TestData.booking(20), userId, carId);
+        assertTrue(availabilityIndex.hasConflict(carId, today.plusDays(19), today.plusDays(20)));
+        bookingService.deleteBooking(deleted.getId());
+        assertFalse(availabilityIndex.hasConflict(carId, today.plusDays(19), today.plusDays(20)));
+
+        assertEquals(true, availabilityIndex.verify().get("consistent"));
+    }
+
+    @Test
+    void changesRolledBackWithTheirTransactionAreUndone() {
+        Long hostId = testData.register("Rollback Host", "rollback-host@test.dev", "HOST");
+        Long userId = testData.register("Rollback User", "rollback-user@test.dev", "USER");
+        Long carId = carService.addCar(TestData.car("Rollback Car"), hostId).getId();
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        // A booking is visible to conflict checks before its transaction commits...
+        transactionTemplate.executeWithoutResult(tx -> {
+            bookingService.createBooking(TestData.booking(30), userId, carId);
+            assertTrue(availabilityIndex.hasConflict(carId, start, start));
+            tx.setRollbackOnly();
+        });
+        // ...and gone again once it rolls back
+        assertFalse(availabilityIndex.hasConflict(carId, start, start));
+
+        Booking kept = bookingService.createBooking(TestData.booking(30), userId, carId);
+        transactionTemplate.executeWithoutResult(tx -> {
+            bookingService.updateBookingStatus(kept.getId(), BookingStatus.CANCELLED);
+            assertFalse(availabilityIndex.hasConflict(carId, start, start));
+            tx.setRollbackOnly();
+        });
+        assertTrue(availabilityIndex.hasConflict(carId, start, start));
+
+        assertEquals(true, availabilityIndex.verify().get("consistent"));
+    }
+
+    @Test
+    void eventsArrivingDuringWarmUpAreReplayedOntoTheLoadedSnapshot() {
+        AvailabilityIndex index = new AvailabilityIndex();
+        BookingInterval first = interval(1L, 10, 12);
+        BookingInterval second = interval(2L, 20, 22);
+        // The load reads booking 2 before its cancellation commits, and
+        // misses booking 3, created while the load is running
+        ReflectionTestUtils.setField(index, "bookingRepository", bookings(() -> Stream.of(first, second)
+                .peek(interval -> {
+                    if (interval == second) {
+                        index.apply(event(BookingEvent.Type.STATUS_CHANGED, 2L, 20, 22,
+                                BookingStatus.PENDING, BookingStatus.CANCELLED));
+                        index.apply(event(BookingEvent.Type.CREATED, 3L, 30, 32, null, BookingStatus.PENDING));
+                    }
+                })));
+        assertFalse(index.isReady());
+
+        index.warm();
+
+        assertTrue(index.isReady());
+        assertEquals(2, index.size());
+        assertTrue(index.hasConflict(7L, DAY.plusDays(11), DAY.plusDays(11)));
+        assertFalse(index.hasConflict(7L, DAY.plusDays(21), DAY.plusDays(21)));
+        assertTrue(index.hasConflict(7L, DAY.plusDays(31), DAY.plusDays(31)));
+    }
+
+    @Test
+    void verifyReportsBookingsMissingMismatchedOrStaleInTheIndex() {
+        AvailabilityIndex index = new AvailabilityIndex();
+        List<BookingInterval> table = List.of(interval(1L, 10, 12), interval(2L, 20, 22), interval(3L, 30, 32));
+        ReflectionTestUtils.setField(index, "bookingRepository", bookings(table::stream));
+        index.warm();
+        assertEquals(true, index.verify().get("consistent"));
+
+        index.apply(event(BookingEvent.Type.DELETED, 1L, 10, 12, BookingStatus.PENDING, null));
+        index.apply(event(BookingEvent.Type.CREATED, 2L, 20, 25, null, BookingStatus.PENDING));
+        index.apply(event(BookingEvent.Type.CREATED, 4L, 40, 42, null, BookingStatus.CONFIRMED));
+
+        Map<String, Object> report = index.verify();
+        assertEquals(3L, report.get("checked"));
+        assertEquals(1L, report.get("missing"));
+        assertEquals(1L, report.get("mismatched"));
+        assertEquals(1L, report.get("stale"));
+        assertEquals(false, report.get("consistent"));
+    }
+
+    private static BookingInterval interval(Long bookingId, int from, int to) {
+        return new BookingInterval(bookingId, 7L, DAY.plusDays(from), DAY.plusDays(to));
+    }
+
+    private static BookingEvent event(BookingEvent.Type type, Long bookingId, int from, int to,
+                                      BookingStatus previousStatus, BookingStatus status) {
+        return new BookingEvent(type, bookingId, 7L, DAY.plusDays(from), DAY.plusDays(to),
+                previousStatus, status, 0.0, null);
+    }
+
+    // A bookings table that only answers the active-interval stream
+    private static BookingRepository bookings(Supplier<Stream<BookingInterval>> active) {
+        return (BookingRepository) Proxy.newProxyInstance(BookingRepository.class.getClassLoader(),
+                new Class<?>[] { BookingRepository.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("streamIntervalsByStatusIn")) {
+                        return active.get();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,96 @@
+package com.autoprime.service;
+
+import com.autoprime.model.Booking;
+import com.autoprime.model.Car;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingConcurrencyTest {
+
+    private static final int ATTEMPTS = 500;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void restoreMode() {
+        ReflectionTestUtils.setField(bookingService, "concurrencyMode", BookingConcurrencyMode.STRIPED);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingConcurrencyMode.class)
+    void exactlyOneOfManyOverlappingBookingsWins(BookingConcurrencyMode mode) throws Exception {
+        ReflectionTestUtils.setField(bookingService, "concurrencyMode", mode);
+
+        User user = userRepository.save(new User("Stress " + mode, mode + "@stress.test", "x",
+                "9876500000", null, null, Role.USER));
+        Car car = new Car();
+        car.setName("Stress " + mode);
+        car.setType("SUV");
+        car.setTransmission("Manual");
+        car.setSeats(5);
+        car.setPricePerDay(2000.0);
+        car = carRepository.save(car);
+        Long userId = user.getId();
+        Long carId = car.getId();
+
+        LocalDate start = LocalDate.now().plusDays(10);
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            // Every attempt overlaps every other on day start + 3
+            int offset = i % 4;
+            pool.submit(() -> {
+                Booking booking = new Booking();
+                booking.setStartDate(start.plusDays(offset));
+                booking.setEndDate(start.plusDays(offset + 3));
+                try {
+                    go.await();
+                    bookingService.createBooking(booking, userId, carId);
+                    wins.incrementAndGet();
+                } catch (Exception e) {
+                    rejections.incrementAndGet();
+                }
+            });
+        }
+
+        long began = System.nanoTime();
+        go.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        System.out.printf("%-11s %d attempts in %.2fs (%.0f attempts/s), %d won, %d rejected%n",
+                mode, ATTEMPTS, seconds, ATTEMPTS / seconds, wins.get(), rejections.get());
+        assertEquals(1, wins.get());
+        assertEquals(ATTEMPTS - 1, rejections.get());
+        assertEquals(1, bookingService.getBookingsByCar(carId).size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.autoprime.service;
+
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(TestData.class)
+class BookingHoldTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void anExpiredHoldAndItsPaymentNeverBothWin() {
+        Long hostId = testData.register("Hold Host", "hold-host@test.dev", "HOST");
+        Long userId = testData.register("Hold User", "hold-user@test.dev", "USER");
+
+        // Paid first: the expiry leaves the booking alone
+        Long paid = expiredBooking(userId, carService.addCar(TestData.car("Hold Car"), hostId).getId(), 50);
+        paymentService.processPayment(paymentService.createPayment(paid, "UPI").getId());
+        assertFalse(bookingService.expireHold(paid));
+        assertEquals(BookingStatus.CONFIRMED, bookingRepository.findById(paid).orElseThrow().getStatus());
+
+        // Expired first: the payment is refused
+        Long lapsed = expiredBooking(userId, carService.addCar(TestData.car("Lapse Car"), hostId).getId(), 60);
+        Long paymentId = paymentService.createPayment(lapsed, "UPI").getId();
+        assertTrue(bookingService.expireHold(lapsed));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> paymentService.processPayment(paymentId));
+        assertTrue(e.getMessage().contains("cancelled"));
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(lapsed).orElseThrow().getStatus());
+
+        assertFalse(bookingService.expireHold(-1L));
+    }
+
+    @Test
+    void anExpiryRacingAPaymentWaitsForItAndSeesTheBookingPaid() throws Exception {
+        Long hostId = testData.register("Race Host", "race-host@test.dev", "HOST");
+        Long userId = testData.register("Race User", "race-user@test.dev", "USER");
+        Long carId = carService.addCar(TestData.car("Race Car"), hostId).getId();
+        Long bookingId = expiredBooking(userId, carId, 70);
+        Long paymentId = paymentService.createPayment(bookingId, "UPI").getId();
+
+        CountDownLatch paying = new CountDownLatch(1);
+        CompletableFuture<Void> payment = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            paymentService.processPayment(paymentId);
+            paying.countDown();
+            try {
+                // Commit only once the expiry below has had time to reach the row
+                Thread.sleep(300);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(paying.await(10, TimeUnit.SECONDS));
+
+        assertFalse(bookingService.expireHold(bookingId));
+        payment.get(10, TimeUnit.SECONDS);
+        assertEquals(BookingStatus.CONFIRMED, bookingRepository.findById(bookingId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void aHoldThatFailsToExpireIsRetriedOnALaterTick() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        BookingService flaky = new BookingService() {
+            @Override
+            public boolean expireHold(Long id) {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("database unavailable");
+                }
+                return true;
+            }
+        };
+        BookingHoldService holds = new BookingHoldService();
+        ReflectionTestUtils.setField(holds, "bookingService", flaky);
+        ReflectionTestUtils.setField(holds, "tickMillis", 1L);
+        ReflectionTestUtils.setField(holds, "retryMillis", 1L);
+        holds.init();
+
+        Booking booking = new Booking();
+        booking.setId(42L);
+        booking.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        holds.hold(booking);
+
+        Thread.sleep(5);
+        holds.tick();
+        assertEquals(1, calls.get());
+        assertEquals(1, holds.pendingHolds());
+
+        Thread.sleep(5);
+        holds.tick();
+        assertEquals(2, calls.get());
+        assertEquals(0, holds.pendingHolds());
+    }
+
+    private Long expiredBooking(Long userId, Long carId, int daysAhead) {
+        Long id = bookingService.createBooking(TestData.booking(daysAhead), userId, carId).getId();
+        jdbcTemplate.update("UPDATE bookings SET hold_expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(1), id);
+        return id;
+    }
+}
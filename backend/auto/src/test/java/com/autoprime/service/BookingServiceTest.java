@@ -0,0 +1,128 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.NearbyCar;
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.CarStatus;
+import com.autoprime.repository.CarRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import({ TestData.class, BookingServiceTest.Interleave.class })
+class BookingServiceTest {
+
+    /**
+     * Runs a hook once, inside the next transaction that saves a car and
+     * before it commits
+     */
+    @TestConfiguration
+    static class Interleave {
+
+        static final AtomicReference<Runnable> next = new AtomicReference<>();
+
+        @EventListener
+        void onCarEvent(CarEvent event) {
+            Runnable hook = next.getAndSet(null);
+            if (hook != null) {
+                hook.run();
+            }
+        }
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aCarTheSearchesReturnCanBeBookedForThoseDates() {
+        Long hostId = testData.register("Search Host", "search-host@test.dev", "HOST");
+        Long userId = testData.register("Search User", "search-user@test.dev", "USER");
+        Car car = TestData.car("Search Car");
+        car.setType("Searchable");
+        car.setLatitude(12.9716);
+        car.setLongitude(77.5946);
+        Long carId = carService.addCar(car, hostId).getId();
+
+        // Booked for some days, so the car is BOOKED but free on others
+        Booking first = bookingService.createBooking(TestData.booking(30), userId, carId);
+        assertEquals(CarStatus.BOOKED, carRepository.findById(carId).orElseThrow().getStatus());
+
+        LocalDate from = LocalDate.now().plusDays(40);
+        LocalDate to = from.plusDays(2);
+        List<Car> available = (List<Car>) carService.getAvailableCars(from, to, "Searchable", null, 0, 20).get("cars");
+        assertEquals(List.of(carId), available.stream().map(Car::getId).toList());
+        Booking second = bookingService.createBooking(TestData.booking(40), userId, carId);
+
+        List<NearbyCar> nearby = (List<NearbyCar>) carService.getNearbyCars(12.9716, 77.5946, 1,
+                from.plusDays(10), to.plusDays(10), 0, 20).get("cars");
+        assertTrue(nearby.stream().anyMatch(hit -> hit.car().getId().equals(carId)));
+        Booking third = bookingService.createBooking(TestData.booking(50), userId, carId);
+
+        // Taken dates are neither offered nor bookable
+        assertEquals(List.of(), carService.getAvailableCars(from, to, "Searchable", null, 0, 20).get("cars"));
+        assertThrows(RuntimeException.class, () -> bookingService.createBooking(TestData.booking(41), userId, carId));
+
+        // The car stays BOOKED until its last active booking ends
+        bookingService.updateBookingStatus(first.getId(), BookingStatus.CANCELLED);
+        bookingService.deleteBooking(second.getId());
+        assertEquals(CarStatus.BOOKED, carRepository.findById(carId).orElseThrow().getStatus());
+        bookingService.updateBookingStatus(third.getId(), BookingStatus.CANCELLED);
+        assertEquals(CarStatus.AVAILABLE, carRepository.findById(carId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void aHostEditAndABookingRacingOnTheCarBothLand() {
+        Long hostId = testData.register("Race Edit Host", "race-edit-host@test.dev", "HOST");
+        Long userId = testData.register("Race Edit User", "race-edit-user@test.dev", "USER");
+
+        // The booking commits first, under the host's edit
+        Long edited = carService.addCar(TestData.car("Edited Car"), hostId).getId();
+        Interleave.next.set(() -> elsewhere(() -> bookingService.createBooking(TestData.booking(60), userId, edited)));
+        carService.updateCar(edited, TestData.car("Edited Car 2"));
+        Car first = carRepository.findById(edited).orElseThrow();
+        assertEquals("Edited Car 2", first.getName());
+        assertEquals(CarStatus.BOOKED, first.getStatus());
+
+        // The edit commits first, under the booking
+        Long booked = carService.addCar(TestData.car("Booked Car"), hostId).getId();
+        Interleave.next.set(() -> elsewhere(() -> carService.updateCar(booked, TestData.car("Booked Car 2"))));
+        Booking booking = bookingService.createBooking(TestData.booking(60), userId, booked);
+        assertEquals(BookingStatus.PENDING, booking.getStatus());
+        Car second = carRepository.findById(booked).orElseThrow();
+        assertEquals("Booked Car 2", second.getName());
+        assertEquals(CarStatus.BOOKED, second.getStatus());
+    }
+
+    // Another request, on its own thread, done before the caller goes on
+    private static void elsewhere(Runnable request) {
+        try {
+            CompletableFuture.runAsync(request).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
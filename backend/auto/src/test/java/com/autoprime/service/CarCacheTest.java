@@ -0,0 +1,80 @@
+package com.autoprime.service;
+
+import com.autoprime.model.Car;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarCacheTest {
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatReadsAreServedFromCacheUntilTheCarChanges() {
+        User host = userRepository.save(new User("Cache Host", "cache-host@test.dev", "hash", "9876500004",
+                null, null, Role.HOST));
+        Car car = new Car();
+        car.setName("Cached Roadster");
+        car.setType("Roadster");
+        car.setTransmission("Manual");
+        car.setSeats(2);
+        car.setPricePerDay(4999.0);
+        car.setImages(List.of("roadster-1.jpg", "roadster-2.jpg"));
+        Long carId = carService.addCar(car, host.getId()).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        readWithImages(carId);
+        statistics.clear();
+        assertEquals(List.of("roadster-1.jpg", "roadster-2.jpg"), readWithImages(carId));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("car").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("car-images").getHitCount() > 0);
+
+        carService.getCarsByType("Roadster");
+        statistics.clear();
+        assertEquals(1, carService.getCarsByType("Roadster").size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        Car details = carService.getCarById(carId);
+        details.setType("Coupe");
+        details.setImages(List.of("coupe.jpg"));
+        carService.updateCar(carId, details);
+
+        statistics.clear();
+        assertEquals(List.of("coupe.jpg"), readWithImages(carId));
+        assertTrue(statistics.getDomainDataRegionStatistics("car").getMissCount() > 0);
+        assertEquals(0, carService.getCarsByType("Roadster").size());
+        assertEquals(1, carService.getCarsByType("Coupe").size());
+    }
+
+    private List<String> readWithImages(Long carId) {
+        return transactionTemplate.execute(tx -> List.copyOf(carRepository.findById(carId).orElseThrow().getImages()));
+    }
+}
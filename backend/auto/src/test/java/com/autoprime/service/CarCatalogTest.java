@@ -0,0 +1,115 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.CarSummary;
+import com.autoprime.dto.CursorPage;
+import com.autoprime.model.Car;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarCatalogTest {
+
+    private static final int CARS = 1_000;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listingAThousandCarsTakesAFixedNumberOfQueries() {
+        List<User> hosts = new ArrayList<>();
+        for (int h = 0; h < 50; h++) {
+            hosts.add(userRepository.save(new User("Catalog Host " + h, "catalog-host" + h + "@test.dev", "hash",
+                    "9876500005", null, null, Role.HOST)));
+        }
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < CARS; i++) {
+            Car car = new Car();
+            car.setName("Catalog " + i);
+            car.setType("Catalog");
+            car.setTransmission("Automatic");
+            car.setSeats(5);
+            car.setPricePerDay(1500.0 + i);
+            car.setOwner(hosts.get(i % hosts.size()));
+            car.setImages(List.of("catalog-" + i + "-front.jpg", "catalog-" + i + "-side.jpg"));
+            car.setFeatures(List.of("AC", "Bluetooth"));
+            car.setSafetyFeatures(List.of("ABS"));
+            cars.add(car);
+        }
+        carRepository.saveAll(cars);
+        int total = (int) carRepository.count();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Full entities, serialized the way GET /api/cars does under open-in-view. Before
+        // batch fetching the whole list took 3,051 (cars + one per owner + three per car).
+        String[] cursor = { null };
+        for (int walked = 0; walked < total / 100; walked++) {
+            long entityStatements = coldStatements(statistics, () -> transactionTemplate.executeWithoutResult(tx -> {
+                CursorPage<Car> page = carService.getAllCars(cursor[0], 100);
+                try {
+                    assertEquals(100, objectMapper.readTree(objectMapper.writeValueAsString(page.items())).size());
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                cursor[0] = page.nextCursor();
+            }));
+            // Cars with owners, then one batch per collection for just this page
+            assertEquals(4, entityStatements);
+            assertEquals(300, statistics.getCollectionLoadCount());
+        }
+
+        long summaryStatements = coldStatements(statistics, () -> {
+            Map<String, Object> page = carService.getCarSummaries(0, CARS);
+            assertEquals(CARS, ((List<?>) page.get("cars")).size());
+        });
+        // Page, count and images
+        assertEquals(3, summaryStatements);
+        assertEquals(summaryStatements, coldStatements(statistics, () -> carService.getCarSummaries(1, 10)));
+
+        Map<String, Object> page = carService.getCarSummaries(0, CARS);
+        CarSummary first = ((List<CarSummary>) page.get("cars")).stream()
+                .filter(c -> c.name().equals("Catalog 7")).findFirst().orElseThrow();
+        assertEquals("catalog-7-front.jpg", first.image());
+        assertEquals("Catalog Host 7", first.ownerName());
+        assertEquals((long) total, page.get("totalElements"));
+    }
+
+    private long coldStatements(Statistics statistics, Runnable work) {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,84 @@
+package com.autoprime.service;
+
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Filter combinations over fleets of 100k and 400k cars fed through car
+ * events. Not part of the default build; run with:
+ * mvn test -Dtest=CarFilterBenchmark
+ */
+class CarFilterBenchmark {
+
+    private static final String[] TYPES = { "SUV", "Sedan", "Hatchback", "MPV", "Convertible" };
+    private static final String[] FUELS = { "Petrol", "Diesel", "CNG", "Electric" };
+    private static final String[] CITIES = { "Chennai", "Mumbai", "Delhi", "Bangalore", "Pune", "Hyderabad",
+            "Kolkata", "Ahmedabad", "Jaipur", "Kochi", "Coimbatore", "Lucknow" };
+
+    private record Case(String name, CarFilter.Query query, CarFilter.Sort sort, boolean descending) {
+    }
+
+    private static final List<Case> CASES = List.of(
+            new Case("all by price", query(null, null, null, null, null, null, null, null),
+                    CarFilter.Sort.PRICE, false),
+            new Case("suv in chennai by rating", query(List.of("SUV"), List.of("Chennai"), null, null,
+                    null, null, null, null), CarFilter.Sort.RATING, true),
+            new Case("diesel automatic 7+ seats under 3000 by trips", query(null, null, List.of("Diesel"),
+                    List.of("Automatic"), null, 3000.0, 7, null), CarFilter.Sort.TRIPS, true),
+            new Case("sedan or hatchback 1500-2500 by price", query(List.of("Sedan", "Hatchback"), null, null,
+                    null, 1500.0, 2500.0, null, null), CarFilter.Sort.PRICE, false),
+            new Case("convertible electric in kochi", query(List.of("Convertible"), List.of("Kochi"),
+                    List.of("Electric"), null, null, null, null, null), CarFilter.Sort.ID, false),
+            new Case("any price over 1234.5 page 50", query(null, null, null, null, 1234.5, null, null, null),
+                    CarFilter.Sort.RATING, true));
+
+    private static CarFilter.Query query(List<String> types, List<String> locations, List<String> fuels,
+                                         List<String> transmissions, Double minPrice, Double maxPrice,
+                                         Integer minSeats, Integer maxSeats) {
+        return new CarFilter.Query(types, locations, fuels, transmissions, minPrice, maxPrice, minSeats, maxSeats);
+    }
+
+    @Test
+    void queryLatencyStaysFlatAsTheFleetGrows() {
+        for (int cars : new int[] { 100_000, 400_000 }) {
+            CarFilter filter = new CarFilter();
+            Random random = new Random(18);
+            for (long id = 1; id <= cars; id++) {
+                Car car = new Car();
+                car.setId(id);
+                car.setName("Car " + id);
+                car.setType(TYPES[random.nextInt(TYPES.length)]);
+                car.setFuel(FUELS[random.nextInt(FUELS.length)]);
+                car.setTransmission(random.nextBoolean() ? "Automatic" : "Manual");
+                car.setLocation(CITIES[random.nextInt(CITIES.length)]);
+                car.setSeats(4 + random.nextInt(4));
+                car.setPricePerDay(800.0 + random.nextInt(8000));
+                car.setRating(Math.round(random.nextDouble() * 50) / 10.0);
+                car.setTotalTrips(random.nextInt(300));
+                filter.onCarEvent(CarEvent.added(car));
+            }
+
+            for (Case c : CASES) {
+                int offset = c.name().endsWith("page 50") ? 50 * 20 : 0;
+                int rounds = 1000;
+                long[] nanos = new long[rounds];
+                int total = 0;
+                for (int i = 0; i < rounds; i++) {
+                    long start = System.nanoTime();
+                    total = filter.query(c.query(), c.sort(), c.descending(), offset, 20).total();
+                    nanos[i] = System.nanoTime() - start;
+                }
+                // Discard the first half as warm-up
+                long[] measured = Arrays.copyOfRange(nanos, rounds / 2, rounds);
+                Arrays.sort(measured);
+                System.out.printf("CarFilter %d cars, %s: p50 %.3f ms, p99 %.3f ms (%d matches)%n", cars, c.name(),
+                        measured[measured.length / 2] / 1e6, measured[measured.length * 99 / 100] / 1e6, total);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.autoprime.service;
+
+import com.autoprime.event.CarEvent;
+import com.autoprime.event.CarStatsEvent;
+import com.autoprime.exception.ValidationException;
+import com.autoprime.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarFilterTest {
+
+    private static final CarFilter.Query ALL = query(null, null, null, null, null, null);
+
+    private static Car car(long id, String type, String location, String fuel, String transmission,
+                           Double price, Integer seats, double rating, int trips) {
+        Car car = new Car();
+        car.setId(id);
+        car.setName("Car " + id);
+        car.setType(type);
+        car.setLocation(location);
+        car.setFuel(fuel);
+        car.setTransmission(transmission);
+        car.setPricePerDay(price);
+        car.setSeats(seats);
+        car.setRating(rating);
+        car.setTotalTrips(trips);
+        return car;
+    }
+
+    private static CarFilter.Query query(List<String> types, List<String> locations, Double minPrice,
+                                         Double maxPrice, Integer minSeats, Integer maxSeats) {
+        return new CarFilter.Query(types, locations, null, null, minPrice, maxPrice, minSeats, maxSeats);
+    }
+
+    private static CarFilter fleet() {
+        CarFilter filter = new CarFilter();
+        filter.onCarEvent(CarEvent.added(car(1, "SUV", "Chennai", "Diesel", "Manual", 2500.0, 7, 4.2, 10)));
+        filter.onCarEvent(CarEvent.added(car(2, "MPV", "Chennai", "Diesel", "Automatic", 3200.0, 7, 4.8, 3)));
+        filter.onCarEvent(CarEvent.added(car(3, "Hatchback", "Mumbai", "Petrol", "Manual", 999.0, 5, 3.9, 25)));
+        filter.onCarEvent(CarEvent.added(car(4, "SUV", "Mumbai", "Petrol", "Automatic", 3000.0, 5, 4.8, 7)));
+        filter.onCarEvent(CarEvent.added(car(5, "Sedan", "Pune", "CNG", "Manual", 1800.0, 5, 4.0, 0)));
+        filter.onCarEvent(CarEvent.added(car(6, "SUV", "Chennai", "Electric", "Automatic", null, 5, 0.0, 0)));
+        return filter;
+    }
+
+    @Test
+    void combinesFiltersAndMatchesValuesLikeTheDatabase() {
+        CarFilter filter = fleet();
+
+        assertEquals(List.of(1L, 4L, 6L), filter.query(query(List.of("suv"), null, null, null, null, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+        assertEquals(List.of(1L, 2L, 4L, 6L), filter.query(query(List.of("SUV", " mpv "), null, null, null, null, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+        assertEquals(List.of(1L, 2L), filter.query(query(null, List.of("Chennai"), 2000.0, 3200.0, 6, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+        assertEquals(List.of(4L), filter.query(new CarFilter.Query(List.of("SUV"), null, List.of("Petrol"),
+                List.of("Automatic"), null, null, null, null), CarFilter.Sort.ID, false, 0, 10).carIds());
+        assertEquals(List.of(), filter.query(query(List.of("Convertible"), null, null, null, null, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+
+        // Price bounds are inclusive, also inside a bucket, and a car without a price never matches
+        assertEquals(List.of(3L, 5L), filter.query(query(null, null, 999.0, 1800.0, null, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+        assertEquals(List.of(4L, 2L), filter.query(query(null, null, 2999.5, null, null, null),
+                CarFilter.Sort.PRICE, false, 0, 10).carIds());
+        assertEquals(List.of(3L, 4L, 5L, 6L), filter.query(query(null, null, null, null, 5, 5),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+    }
+
+    @Test
+    void sortsTiesByIdAndPagesTheSameWhicheverWayTheMatchesAreRanked() {
+        CarFilter filter = fleet();
+
+        CarFilter.Page cheapest = filter.query(ALL, CarFilter.Sort.PRICE, false, 0, 10);
+        assertEquals(6, cheapest.total());
+        // No price sorts last in both directions
+        assertEquals(List.of(3L, 5L, 1L, 4L, 2L, 6L), cheapest.carIds());
+        assertEquals(List.of(2L, 4L, 1L, 5L, 3L, 6L), filter.query(ALL, CarFilter.Sort.PRICE, true, 0, 10).carIds());
+        assertEquals(List.of(2L, 4L, 1L), filter.query(ALL, CarFilter.Sort.RATING, true, 0, 3).carIds());
+        assertEquals(List.of(5L, 6L), filter.query(ALL, CarFilter.Sort.TRIPS, false, 0, 2).carIds());
+        assertEquals(List.of(6L, 5L), filter.query(ALL, CarFilter.Sort.ID, true, 0, 2).carIds());
+        assertEquals(List.of(1L, 4L), filter.query(ALL, CarFilter.Sort.PRICE, false, 2, 2).carIds());
+
+        // A sparse match is ranked through the heap, a dense one by walking the sort order
+        CarFilter large = new CarFilter();
+        List<Car> cars = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            Car car = car(id, id % 50 == 0 ? "Limousine" : "Sedan", "Delhi", "Petrol", "Manual",
+                    1000.0 + (id * 37) % 200, 5, (id % 5) + 0.5, (int) (id % 7));
+            cars.add(car);
+            large.onCarEvent(CarEvent.added(car));
+        }
+        for (String type : List.of("Limousine", "Sedan")) {
+            CarFilter.Query byType = query(List.of(type), null, null, null, null, null);
+            for (CarFilter.Sort sort : CarFilter.Sort.values()) {
+                for (boolean descending : new boolean[] { false, true }) {
+                    assertEquals(expected(cars, type, sort, descending),
+                            large.query(byType, sort, descending, 2, 3).carIds(), type + " " + sort + " " + descending);
+                }
+            }
+        }
+    }
+
+    // Third to fifth match by brute force
+    private static List<Long> expected(List<Car> cars, String type, CarFilter.Sort sort, boolean descending) {
+        Comparator<Car> order = switch (sort) {
+            case PRICE -> Comparator.comparing(Car::getPricePerDay);
+            case RATING -> Comparator.comparing(Car::getRating);
+            case TRIPS -> Comparator.comparing(Car::getTotalTrips);
+            case ID -> Comparator.comparing(Car::getId);
+        };
+        if (descending) {
+            order = order.reversed();
+        }
+        return cars.stream()
+                .filter(car -> car.getType().equals(type))
+                .sorted(order.thenComparing(Car::getId))
+                .skip(2)
+                .limit(3)
+                .map(Car::getId)
+                .toList();
+    }
+
+    @Test
+    void followsEditsDeletesAndStatsDeltas() {
+        CarFilter filter = fleet();
+
+        filter.onCarEvent(CarEvent.saved(car(3, "Hatchback", "Pune", "Petrol", "Manual", 4100.0, 5, 0.0, 0), null));
+        filter.onCarEvent(CarEvent.deleted(car(1, "SUV", "Chennai", "Diesel", "Manual", 2500.0, 7, 4.2, 10)));
+        assertEquals(5, filter.size());
+        assertEquals(List.of(3L, 5L), filter.query(query(null, List.of("Pune"), null, null, null, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+        assertEquals(List.of(2L, 3L), filter.query(query(null, null, 3100.0, null, null, null),
+                CarFilter.Sort.PRICE, false, 0, 10).carIds());
+        // The edit carried stale figures; the indexed ones stand
+        assertEquals(List.of(3L, 4L), filter.query(ALL, CarFilter.Sort.TRIPS, true, 0, 2).carIds());
+
+        filter.onCarStatsEvent(CarStatsEvent.applied(Map.of(
+                5L, new CarStatsEvent.Change(9, 2, 40),
+                6L, new CarStatsEvent.Change(5, 1, 0))));
+        // 5.0, then 4.8 (two ways, by id) ahead of car 5's 4.5
+        assertEquals(List.of(6L, 2L, 4L, 5L), filter.query(ALL, CarFilter.Sort.RATING, true, 0, 4).carIds());
+        assertEquals(List.of(5L), filter.query(ALL, CarFilter.Sort.TRIPS, true, 0, 1).carIds());
+
+        // A freed slot is reused without leaking the deleted car
+        filter.onCarEvent(CarEvent.added(car(7, "MPV", "Delhi", "Diesel", "Manual", 1200.0, 8, 0.0, 0)));
+        assertEquals(List.of(7L), filter.query(query(null, null, null, null, 8, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+        assertEquals(List.of(2L), filter.query(query(null, List.of("Chennai"), null, null, 7, null),
+                CarFilter.Sort.ID, false, 0, 10).carIds());
+    }
+
+    @Test
+    void rejectsUnknownSorts() {
+        assertEquals(CarFilter.Sort.TRIPS, CarFilter.Sort.parse("totalTrips"));
+        assertEquals(CarFilter.Sort.ID, CarFilter.Sort.parse(" "));
+        assertThrows(ValidationException.class, () -> CarFilter.Sort.parse("horsepower"));
+    }
+}
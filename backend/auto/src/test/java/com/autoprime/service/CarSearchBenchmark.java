@@ -0,0 +1,83 @@
+package com.autoprime.service;
+
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Typical catalog queries over 100k cars fed through car events. Not part
+ * of the default build; run with: mvn test -Dtest=CarSearchBenchmark
+ */
+class CarSearchBenchmark {
+
+    private static final int CARS = 100_000;
+    private static final String[] MAKES = { "Hyundai", "Toyota", "Maruti", "Mahindra", "Tata", "Kia", "Honda",
+            "Skoda", "Volkswagen", "Renault", "MG", "Nissan", "Jeep", "BMW", "Mercedes" };
+    private static final String[] MODELS = { "Creta", "Innova", "Swift", "XUV700", "Nexon", "Seltos", "City",
+            "Octavia", "Virtus", "Kwid", "Hector", "Magnite", "Compass", "X1", "Baleno", "Verna", "Fortuner",
+            "Dzire", "Thar", "Punch", "Sonet", "Amaze", "Slavia", "Taigun", "Kiger", "Astor", "Brezza" };
+    private static final String[] TYPES = { "SUV", "Sedan", "Hatchback", "MPV" };
+    private static final String[] FUELS = { "Petrol", "Diesel", "CNG", "Electric" };
+    private static final String[] CITIES = { "Chennai", "Mumbai", "Delhi", "Bangalore", "Pune", "Hyderabad",
+            "Kolkata", "Ahmedabad", "Jaipur", "Kochi", "Coimbatore", "Lucknow" };
+    private static final String[] FEATURES = { "Air Conditioning", "Bluetooth", "Reverse Camera", "Sunroof",
+            "Cruise Control", "Apple CarPlay", "Android Auto", "Rear AC Vents", "Keyless Entry", "GPS Navigation" };
+    private static final String[] SAFETY = { "ABS", "EBD", "Six Airbags", "Hill Assist", "ISOFIX",
+            "Traction Control", "Parking Sensors" };
+
+    private static final String[] QUERIES = { "creta", "hyundai creta chennai", "suv sunroof", "diesel mpv",
+            "toyta innva", "automatic pune", "electric", "sel", "bluetooth sedan mumbai", "six airbags suv" };
+
+    @Test
+    void queryLatencyAt100kCars() {
+        CarSearch search = new CarSearch();
+        Random random = new Random(17);
+        long began = System.nanoTime();
+        for (long id = 1; id <= CARS; id++) {
+            Car car = new Car();
+            car.setId(id);
+            car.setName(MAKES[random.nextInt(MAKES.length)] + " " + MODELS[random.nextInt(MODELS.length)]);
+            car.setType(TYPES[random.nextInt(TYPES.length)]);
+            car.setFuel(FUELS[random.nextInt(FUELS.length)]);
+            car.setTransmission(random.nextBoolean() ? "Automatic" : "Manual");
+            car.setLocation(CITIES[random.nextInt(CITIES.length)]);
+            car.setSeats(4 + random.nextInt(4));
+            car.setPricePerDay(800.0 + random.nextInt(8000));
+            car.setFeatures(pick(random, FEATURES, 4));
+            car.setSafetyFeatures(pick(random, SAFETY, 3));
+            search.onCarEvent(CarEvent.added(car));
+        }
+        System.out.printf("CarSearch indexed %d cars in %d ms%n", search.size(), (System.nanoTime() - began) / 1_000_000);
+
+        for (String query : QUERIES) {
+            int rounds = 1000;
+            long[] nanos = new long[rounds];
+            int total = 0;
+            for (int i = 0; i < rounds; i++) {
+                long start = System.nanoTime();
+                total = search.search(query, 0, 20).total();
+                nanos[i] = System.nanoTime() - start;
+            }
+            // Discard the first half as warm-up
+            long[] measured = Arrays.copyOfRange(nanos, rounds / 2, rounds);
+            Arrays.sort(measured);
+            System.out.printf("CarSearch '%s': p50 %.2f ms, p99 %.2f ms (%d matches)%n", query,
+                    measured[measured.length / 2] / 1e6, measured[measured.length * 99 / 100] / 1e6, total);
+        }
+    }
+
+    private static List<String> pick(Random random, String[] values, int max) {
+        List<String> picked = new ArrayList<>();
+        for (String value : values) {
+            if (picked.size() < max && random.nextInt(values.length) < max) {
+                picked.add(value);
+            }
+        }
+        return picked;
+    }
+}
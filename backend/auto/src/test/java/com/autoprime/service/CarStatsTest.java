@@ -0,0 +1,158 @@
+package com.autoprime.service;
+
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.Review;
+import com.autoprime.repository.CarRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(TestData.class)
+class CarStatsTest {
+
+    @Autowired
+    private CarStats carStats;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void reviewsAndTripsAreCoalescedFlushedAndMatchARecompute() {
+        carStats.flush();
+        Long hostId = testData.register("Stats Host", "stats-host@test.dev", "HOST");
+        Long userId = testData.register("Stats User", "stats-user@test.dev", "USER");
+        Long carId = carService.addCar(TestData.car("Stats Car"), hostId).getId();
+
+        Review first = reviewService.addReview(userId, carId, review(5));
+        reviewService.addReview(userId, carId, review(4));
+        Review third = reviewService.addReview(userId, carId, review(1));
+        reviewService.updateReview(first.getId(), 3, null);
+        reviewService.deleteReview(third.getId());
+
+        Booking booking = bookingService.createBooking(TestData.booking(40), userId, carId);
+        bookingService.updateBookingStatus(booking.getId(), BookingStatus.CONFIRMED);
+        bookingService.updateBookingStatus(booking.getId(), BookingStatus.COMPLETED);
+
+        // Six changes to one car wait as a single pending row
+        assertEquals(1, carStats.pending());
+        Car unflushed = carRepository.findById(carId).orElseThrow();
+        assertEquals(0, unflushed.getRatingCount());
+        assertEquals(0, unflushed.getTotalTrips());
+
+        assertEquals(1, carStats.flush());
+        assertEquals(0, carStats.pending());
+        Car flushed = carRepository.findById(carId).orElseThrow();
+        assertEquals(7, flushed.getRatingSum());
+        assertEquals(2, flushed.getRatingCount());
+        assertEquals(3.5, flushed.getRating(), 0.001);
+        assertEquals(1, flushed.getTotalTrips());
+
+        // Saving the car through Hibernate must not write the counters back
+        Car edited = carRepository.findById(carId).orElseThrow();
+        edited.setRating(0.0);
+        edited.setTotalTrips(99);
+        carRepository.save(edited);
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT rating, rating_count, total_trips FROM cars WHERE id = ?", carId);
+        assertEquals(3.5, ((Number) row.get("rating")).doubleValue(), 0.001);
+        assertEquals(2, ((Number) row.get("rating_count")).intValue());
+        assertEquals(1, ((Number) row.get("total_trips")).intValue());
+
+        jdbcTemplate.update("UPDATE cars SET rating_sum = 0, rating_count = 0, total_trips = 0 WHERE id = ?", carId);
+        assertTrue(carStats.recompute() > 0);
+        Car recomputed = carRepository.findById(carId).orElseThrow();
+        assertEquals(7, recomputed.getRatingSum());
+        assertEquals(2, recomputed.getRatingCount());
+        assertEquals(3.5, recomputed.getRating(), 0.001);
+        assertEquals(1, recomputed.getTotalTrips());
+    }
+
+    @Test
+    void aCarWithNoReviewsLeftIsRatedZeroByFlushAndRecomputeAlike() {
+        carStats.flush();
+        Long hostId = testData.register("Unrated Host", "unrated-host@test.dev", "HOST");
+        Long userId = testData.register("Unrated User", "unrated-user@test.dev", "USER");
+        Long carId = carService.addCar(TestData.car("Unrated Car"), hostId).getId();
+
+        Review only = reviewService.addReview(userId, carId, review(4));
+        carStats.flush();
+        reviewService.deleteReview(only.getId());
+        carStats.flush();
+        assertEquals(0.0, carRepository.findById(carId).orElseThrow().getRating(), 0.001);
+
+        jdbcTemplate.update("UPDATE cars SET rating = 4.5 WHERE id = ?", carId);
+        carStats.recompute();
+        assertEquals(0.0, carRepository.findById(carId).orElseThrow().getRating(), 0.001);
+    }
+
+    @Test
+    void aRecomputeNeverHoldsUpACommitThatLockedACar() throws Exception {
+        carStats.flush();
+        Long hostId = testData.register("Busy Host", "busy-host@test.dev", "HOST");
+        Long userId = testData.register("Busy User", "busy-user@test.dev", "USER");
+        Long carId = carService.addCar(TestData.car("Busy Car"), hostId).getId();
+
+        // A review commit that holds the car's row while the recompute starts
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            reviewService.addReview(userId, carId, review(5));
+            jdbcTemplate.update("UPDATE cars SET name = 'Busy Car 2' WHERE id = ?", carId);
+            locked.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        long began = System.nanoTime();
+        carStats.recompute();
+        writer.get(10, TimeUnit.SECONDS);
+        assertTrue(System.nanoTime() - began < TimeUnit.SECONDS.toNanos(5));
+
+        // The review missed the recompute's snapshot and arrives as a delta
+        carStats.flush();
+        Car car = carRepository.findById(carId).orElseThrow();
+        assertEquals(1, car.getRatingCount());
+        assertEquals(5.0, car.getRating(), 0.001);
+    }
+
+    private static Review review(int rating) {
+        Review review = new Review();
+        review.setRating(rating);
+        review.setComment("Rated " + rating);
+        return review;
+    }
+}
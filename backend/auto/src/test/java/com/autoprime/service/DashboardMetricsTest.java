@@ -0,0 +1,83 @@
+package com.autoprime.service;
+
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Payment;
+import com.autoprime.repository.DashboardMetricRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(TestData.class)
+class DashboardMetricsTest {
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private DashboardMetricRepository metricRepository;
+
+    @Test
+    void incrementalCountersMatchARebuildAndSurviveACleanRestart() {
+        // Other tests in this context write through repositories, which publish no events
+        dashboardMetrics.rebuild();
+        Map<String, Object> before = adminService.getAdminDashboard();
+
+        Long hostId = testData.register("Metrics Host", "metrics-host@test.dev", "HOST");
+        Long userId = testData.register("Metrics User", "metrics-user@test.dev", "USER");
+        Long carId = carService.addCar(TestData.car("Metrics Paid"), hostId).getId();
+        Long otherCarId = carService.addCar(TestData.car("Metrics Cancelled"), hostId).getId();
+
+        Booking paid = bookingService.createBooking(TestData.booking(20), userId, carId);
+        Payment payment = paymentService.createPayment(paid.getId(), "UPI");
+        paymentService.processPayment(payment.getId());
+
+        Booking cancelled = bookingService.createBooking(TestData.booking(30), userId, otherCarId);
+        bookingService.updateBookingStatus(cancelled.getId(), BookingStatus.CANCELLED);
+
+        Map<String, Object> after = adminService.getAdminDashboard();
+        assertEquals((long) before.get("totalUsers") + 2, after.get("totalUsers"));
+        assertEquals((long) before.get("totalHosts") + 1, after.get("totalHosts"));
+        assertEquals((long) before.get("totalCars") + 2, after.get("totalCars"));
+        // The paid booking still holds its car
+        assertEquals((long) before.get("availableCars") + 1, after.get("availableCars"));
+        assertEquals((long) before.get("totalBookings") + 2, after.get("totalBookings"));
+        assertEquals((long) before.get("activeBookings") + 1, after.get("activeBookings"));
+        assertEquals((double) before.get("totalRevenue") + paid.getTotal(),
+                (double) after.get("totalRevenue"), 0.01);
+        assertEquals((double) before.get("todayRevenue") + paid.getTotal(),
+                (double) after.get("todayRevenue"), 0.01);
+
+        dashboardMetrics.rebuild();
+        assertEquals(after, adminService.getAdminDashboard());
+
+        dashboardMetrics.shutdown();
+        ReflectionTestUtils.setField(dashboardMetrics, "ready", false);
+        ReflectionTestUtils.setField(dashboardMetrics, "counters", new DashboardMetrics.Counters());
+        dashboardMetrics.start();
+        assertEquals(after, adminService.getAdminDashboard());
+        assertEquals(0L, metricRepository.findById(DashboardMetrics.CLEAN).orElseThrow().getValue());
+    }
+}
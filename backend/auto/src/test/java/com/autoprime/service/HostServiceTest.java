@@ -0,0 +1,107 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.BookingReportRow;
+import com.autoprime.model.Booking;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.BookingRepository;
+import com.autoprime.repository.CarRepository;
+import com.autoprime.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class HostServiceTest {
+
+    @Autowired
+    private HostService hostService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void dashboardAndBookingsTakeAFixedNumberOfQueries() {
+        User renter = userRepository.save(new User("Portfolio Renter", "portfolio-renter@test.dev", "hash",
+                "9876500002", null, null, Role.USER));
+        User small = host("portfolio-small@test.dev", renter, 2);
+        User large = host("portfolio-large@test.dev", renter, 40);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long smallDashboard = statements(statistics, () -> hostService.getHostDashboard(small.getId()));
+        long largeDashboard = statements(statistics, () -> hostService.getHostDashboard(large.getId()));
+        long largeBookings = statements(statistics, () -> hostService.getHostBookings(large.getId()));
+
+        // The host lookup may be served from the second-level cache
+        assertTrue(largeDashboard <= 2, "dashboard took " + largeDashboard + " statements");
+        assertEquals(smallDashboard, largeDashboard);
+        assertTrue(largeBookings <= 2, "bookings took " + largeBookings + " statements");
+
+        Map<String, Object> dashboard = hostService.getHostDashboard(large.getId());
+        assertEquals(40, dashboard.get("totalCars"));
+        assertEquals(40, dashboard.get("activeCars"));
+        assertEquals(120L, dashboard.get("totalBookings"));
+        // Two of each car's three bookings are paid
+        assertEquals(40 * 2 * 1000.0, (double) dashboard.get("totalEarnings"), 0.001);
+
+        List<BookingReportRow> bookings = hostService.getHostBookings(large.getId());
+        assertEquals(120, bookings.size());
+        assertTrue(bookings.stream().allMatch(b -> "Portfolio Renter".equals(b.userName())));
+    }
+
+    private static long statements(Statistics statistics, Runnable work) {
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User host(String email, User renter, int cars) {
+        User host = userRepository.save(new User("Portfolio Host", email, "hash", "9876500003",
+                null, null, Role.HOST));
+        BookingStatus[] statuses = { BookingStatus.CONFIRMED, BookingStatus.COMPLETED, BookingStatus.CANCELLED };
+        for (int i = 0; i < cars; i++) {
+            Car car = new Car();
+            car.setName("Portfolio " + i);
+            car.setType("Sedan");
+            car.setTransmission("Manual");
+            car.setSeats(5);
+            car.setPricePerDay(1000.0);
+            car.setLocation("Chennai");
+            car.setOwner(host);
+            car = carRepository.save(car);
+            for (int b = 0; b < statuses.length; b++) {
+                Booking booking = new Booking();
+                booking.setUser(renter);
+                booking.setCar(car);
+                booking.setStartDate(LocalDate.now().plusDays(100 + b * 10));
+                booking.setEndDate(LocalDate.now().plusDays(100 + b * 10));
+                booking.setDays(1);
+                booking.setSubtotal(1000.0);
+                booking.setTotal(1000.0);
+                booking.setStatus(statuses[b]);
+                bookingRepository.save(booking);
+            }
+        }
+        return host;
+    }
+}
@@ -0,0 +1,81 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.CursorPage;
+import com.autoprime.exception.ValidationException;
+import com.autoprime.model.ContactMessage;
+import com.autoprime.repository.ContactRepository;
+import com.autoprime.util.Cursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class KeysetPaginationTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Test
+    void walkingEveryPageVisitsEachRowOnceInOrderDespiteTies() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<ContactMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 95; i++) {
+            ContactMessage message = new ContactMessage();
+            message.setName("Pager " + i);
+            message.setEmail("pager" + i + "@test.dev");
+            message.setSubject("Paging");
+            message.setMessage("Message " + i);
+            // Runs of identical timestamps, so the id has to break ties
+            message.setCreatedAt(base.plusMinutes(i / 10));
+            messages.add(message);
+        }
+        contactRepository.saveAll(messages);
+
+        List<ContactMessage> expected = new ArrayList<>(contactRepository.findAll());
+        expected.sort(Comparator.comparing(ContactMessage::getCreatedAt)
+                .thenComparing(ContactMessage::getId).reversed());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ContactMessage> page = contactService.getAllMessages(cursor, 7);
+            assertTrue(page.size() <= 7);
+            page.items().forEach(m -> seen.add(m.getId()));
+            cursor = page.nextCursor();
+            pages++;
+            // A row added mid-walk sorts before the cursor and does not shift later pages
+            if (pages == 3) {
+                ContactMessage late = new ContactMessage();
+                late.setName("Late");
+                late.setEmail("late@test.dev");
+                late.setSubject("Paging");
+                late.setMessage("Late");
+                contactRepository.save(late);
+            }
+        } while (cursor != null);
+
+        assertEquals(expected.stream().map(ContactMessage::getId).toList(), seen);
+        assertEquals((expected.size() + 6) / 7, pages);
+    }
+
+    @Test
+    void rejectsTamperedCursorsAndOversizedPages() {
+        assertThrows(ValidationException.class, () -> contactService.getAllMessages("not-a-cursor", 10));
+        assertThrows(ValidationException.class, () -> contactService.getAllMessages(null, 0));
+        assertThrows(ValidationException.class, () -> contactService.getAllMessages(null, 101));
+
+        Cursor cursor = new Cursor(LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_000_000), 42L);
+        assertEquals(cursor, Cursor.decode(cursor.encode()));
+    }
+}
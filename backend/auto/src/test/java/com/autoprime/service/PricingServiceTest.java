@@ -0,0 +1,55 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.CarQuote;
+import com.autoprime.dto.QuoteRequest;
+import com.autoprime.model.Car;
+import com.autoprime.repository.CarRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PricingServiceTest {
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aFilterMatchingMoreCarsThanOneQuoteSaysSoAndPagesThroughThem() {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i <= PricingService.MAX_CARS_PER_QUOTE; i++) {
+            Car car = TestData.car("Quoted " + i);
+            car.setType("Quoted");
+            cars.add(car);
+        }
+        carRepository.saveAll(cars);
+
+        QuoteRequest request = new QuoteRequest();
+        request.setStartDate(LocalDate.of(2030, 1, 1));
+        request.setEndDate(LocalDate.of(2030, 1, 3));
+        request.setType("Quoted");
+
+        Map<String, Object> first = pricingService.quote(request);
+        assertEquals(PricingService.MAX_CARS_PER_QUOTE, ((List<CarQuote>) first.get("quotes")).size());
+        assertEquals((long) cars.size(), first.get("totalCars"));
+        assertEquals(true, first.get("truncated"));
+
+        request.setPage(1);
+        Map<String, Object> rest = pricingService.quote(request);
+        List<CarQuote> last = (List<CarQuote>) rest.get("quotes");
+        assertEquals(1, last.size());
+        assertEquals(cars.get(cars.size() - 1).getId(), last.get(0).carId());
+        assertEquals(false, rest.get("truncated"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.autoprime.service;
+
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.UserRepository;
+import com.autoprime.util.ReportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReportServiceTest {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void usersExportStreamsEveryRowWithoutCredentials() throws Exception {
+        for (int i = 0; i < 2_500; i++) {
+            userRepository.save(new User("Report " + i, "report" + i + "@test.dev", "$2a$10$secret-hash",
+                    "98765" + i, null, null, Role.USER));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = reportService.export("users", ReportFormat.CSV, out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertEquals(userRepository.count(), rows);
+        assertTrue(csv.startsWith("id,name,email,phone,role,createdAt\r\n"));
+        assertEquals(rows + 1, csv.split("\r\n").length);
+        assertFalse(csv.contains("secret-hash"));
+    }
+}
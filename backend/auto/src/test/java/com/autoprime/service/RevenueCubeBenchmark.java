@@ -0,0 +1,73 @@
+package com.autoprime.service;
+
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Random;
+
+/**
+ * One-year rollups over 1M paid bookings on 20k cars. Not part of the
+ * default build; run with: mvn test -Dtest=RevenueCubeBenchmark
+ */
+class RevenueCubeBenchmark {
+
+    private static final int CARS = 20_000;
+    private static final int HOSTS = 2_000;
+    private static final int BOOKINGS = 1_000_000;
+    private static final String[] TYPES = { "SUV", "Sedan", "Hatchback", "MPV" };
+    private static final String[] CITIES = { "Chennai", "Mumbai", "Delhi", "Bangalore", "Pune", "Hyderabad" };
+
+    @Test
+    void oneYearRollupLatency() {
+        RevenueCube cube = new RevenueCube();
+        Random random = new Random(11);
+        LocalDate today = LocalDate.now();
+
+        for (long id = 1; id <= CARS; id++) {
+            User owner = new User();
+            owner.setId((long) random.nextInt(HOSTS));
+            owner.setName("Host " + owner.getId());
+            Car car = new Car();
+            car.setId(id);
+            car.setOwner(owner);
+            car.setType(TYPES[random.nextInt(TYPES.length)]);
+            car.setLocation(CITIES[random.nextInt(CITIES.length)]);
+            cube.onCarEvent(CarEvent.added(car));
+        }
+        for (long b = 1; b <= BOOKINGS; b++) {
+            LocalDate bookedOn = today.minusDays(random.nextInt(730));
+            LocalDate start = bookedOn.plusDays(random.nextInt(30));
+            cube.onBookingEvent(new BookingEvent(BookingEvent.Type.CREATED, b, 1L + random.nextInt(CARS),
+                    start, start.plusDays(random.nextInt(7)), null, BookingStatus.CONFIRMED,
+                    1000 + random.nextInt(20_000), bookedOn));
+        }
+
+        run(cube, today, EnumSet.noneOf(RevenueCube.Dimension.class), RevenueCube.Granularity.MONTH);
+        run(cube, today, EnumSet.of(RevenueCube.Dimension.LOCATION, RevenueCube.Dimension.TYPE),
+                RevenueCube.Granularity.WEEK);
+        run(cube, today, EnumSet.allOf(RevenueCube.Dimension.class), RevenueCube.Granularity.MONTH);
+    }
+
+    private static void run(RevenueCube cube, LocalDate today, EnumSet<RevenueCube.Dimension> groupBy,
+                            RevenueCube.Granularity granularity) {
+        LocalDate from = today.minusYears(1).plusDays(1);
+        int queries = 50;
+        long rows = 0;
+        for (int i = 0; i < queries; i++) {
+            rows += cube.revenue(groupBy, granularity, from, today).size();
+        }
+        long began = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            rows += cube.revenue(groupBy, granularity, from, today).size();
+        }
+        long elapsed = System.nanoTime() - began;
+        System.out.printf("RevenueCube %s by %s: %.2f ms/query (%d rows)%n",
+                groupBy, granularity, elapsed / 1e6 / queries, rows / (2 * queries));
+    }
+}
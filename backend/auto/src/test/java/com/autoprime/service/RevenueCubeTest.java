@@ -0,0 +1,173 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.RevenueRow;
+import com.autoprime.event.BookingEvent;
+import com.autoprime.event.CarEvent;
+import com.autoprime.exception.ValidationException;
+import com.autoprime.model.BookingStatus;
+import com.autoprime.model.Car;
+import com.autoprime.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueCubeTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 5); // a Wednesday
+
+    private RevenueCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new RevenueCube();
+        User asha = host(100L, "Asha");
+        addCar(1L, asha, "Chennai", "SUV");
+        addCar(2L, asha, "Mumbai", "Sedan");
+        addCar(3L, null, "chennai", "suv");
+    }
+
+    @Test
+    void rollsUpByPeriodAndDimensions() {
+        pay(1L, DAY, 1000.0, 3);
+        pay(2L, DAY.plusDays(1), 500.5, 2);
+        pay(3L, DAY.plusDays(6), 250.0, 1);
+        pay(1L, DAY.plusMonths(1), 100.0, 1);
+
+        List<RevenueRow> monthly = cube.revenue(EnumSet.noneOf(RevenueCube.Dimension.class),
+                RevenueCube.Granularity.MONTH, DAY.withDayOfMonth(1), DAY.plusMonths(2));
+        assertEquals(List.of(
+                new RevenueRow(LocalDate.of(2025, 3, 1), null, null, null, null, 1750.5, 3, 6),
+                new RevenueRow(LocalDate.of(2025, 4, 1), null, null, null, null, 100.0, 1, 1)), monthly);
+
+        List<RevenueRow> weekly = cube.revenue(EnumSet.of(RevenueCube.Dimension.LOCATION),
+                RevenueCube.Granularity.WEEK, DAY, DAY.plusDays(6));
+        assertEquals(List.of(
+                new RevenueRow(LocalDate.of(2025, 3, 3), null, null, "Chennai", null, 1000.0, 1, 3),
+                new RevenueRow(LocalDate.of(2025, 3, 3), null, null, "Mumbai", null, 500.5, 1, 2),
+                new RevenueRow(LocalDate.of(2025, 3, 10), null, null, "Chennai", null, 250.0, 1, 1)), weekly);
+
+        List<RevenueRow> byHost = cube.revenue(EnumSet.of(RevenueCube.Dimension.HOST, RevenueCube.Dimension.TYPE),
+                RevenueCube.Granularity.MONTH, DAY, DAY.plusDays(10));
+        assertEquals(List.of(
+                new RevenueRow(LocalDate.of(2025, 3, 1), 100L, "Asha", null, "SUV", 1000.0, 1, 3),
+                new RevenueRow(LocalDate.of(2025, 3, 1), 100L, "Asha", null, "Sedan", 500.5, 1, 2),
+                new RevenueRow(LocalDate.of(2025, 3, 1), null, RevenueCube.UNASSIGNED_HOST, null, "SUV",
+                        250.0, 1, 1)), byHost);
+    }
+
+    @Test
+    void cancellingAPaidBookingTakesItsRevenueBackOut() {
+        pay(1L, DAY, 1000.0, 3);
+        pay(2L, DAY, 400.0, 1);
+        cube.onBookingEvent(event(2L, DAY, 400.0, 1, BookingStatus.CONFIRMED, BookingStatus.CANCELLED));
+        // Completing an already paid booking changes nothing
+        cube.onBookingEvent(event(1L, DAY, 1000.0, 3, BookingStatus.CONFIRMED, BookingStatus.COMPLETED));
+
+        List<RevenueRow> rows = cube.revenue(EnumSet.of(RevenueCube.Dimension.LOCATION),
+                RevenueCube.Granularity.DAY, DAY, DAY);
+        assertEquals(List.of(new RevenueRow(DAY, null, null, "Chennai", null, 1000.0, 1, 3)), rows);
+    }
+
+    @Test
+    void carsCarryTheirCurrentAttributesThroughHistory() {
+        pay(2L, DAY, 500.0, 2);
+        addCar(2L, host(200L, "Ravi"), "Pune", "Sedan");
+
+        List<RevenueRow> rows = cube.revenue(EnumSet.allOf(RevenueCube.Dimension.class),
+                RevenueCube.Granularity.DAY, DAY, DAY);
+        assertEquals(List.of(new RevenueRow(DAY, 200L, "Ravi", "Pune", "Sedan", 500.0, 1, 2)), rows);
+    }
+
+    @Test
+    void matchesABruteForceRollupOfRandomBookings() {
+        Random random = new Random(7);
+        String[] cities = { "Chennai", "Mumbai", "Delhi" };
+        String[] types = { "SUV", "Sedan", "MPV" };
+        for (long id = 10; id < 40; id++) {
+            addCar(id, host(id % 4, "Host " + id % 4), cities[random.nextInt(3)], types[random.nextInt(3)]);
+        }
+        Map<LocalDate, double[]> expected = new TreeMap<>();
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        for (int i = 0; i < 2_000; i++) {
+            // Days both inside and outside the queried year, in random order
+            LocalDate day = from.plusDays(random.nextInt(500) - 60);
+            double total = random.nextInt(100_000) / 100.0;
+            int days = 1 + random.nextInt(7);
+            pay(10 + random.nextInt(30), day, total, days);
+            if (!day.isBefore(from) && !day.isAfter(to)) {
+                double[] sums = expected.computeIfAbsent(day.withDayOfMonth(1), d -> new double[3]);
+                sums[0] += total;
+                sums[1]++;
+                sums[2] += days;
+            }
+        }
+
+        List<RevenueRow> rows = cube.revenue(EnumSet.allOf(RevenueCube.Dimension.class),
+                RevenueCube.Granularity.MONTH, from, to);
+        Map<LocalDate, double[]> actual = new TreeMap<>();
+        for (RevenueRow row : rows) {
+            double[] sums = actual.computeIfAbsent(row.period(), d -> new double[3]);
+            sums[0] += row.revenue();
+            sums[1] += row.bookings();
+            sums[2] += row.rentalDays();
+        }
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((month, sums) -> {
+            assertEquals(sums[0], actual.get(month)[0], 0.001);
+            assertEquals(sums[1], actual.get(month)[1]);
+            assertEquals(sums[2], actual.get(month)[2]);
+        });
+    }
+
+    @Test
+    void rejectsBadRangesAndNames() {
+        Set<RevenueCube.Dimension> none = EnumSet.noneOf(RevenueCube.Dimension.class);
+        assertThrows(ValidationException.class,
+                () -> cube.revenue(none, RevenueCube.Granularity.DAY, DAY, DAY.minusDays(1)));
+        assertThrows(ValidationException.class,
+                () -> cube.revenue(none, RevenueCube.Granularity.DAY, DAY, DAY.plusYears(11)));
+        assertThrows(ValidationException.class, () -> RevenueCube.Dimension.parseAll("host,colour"));
+        assertThrows(ValidationException.class, () -> RevenueCube.Granularity.parse("quarter"));
+        assertEquals(EnumSet.of(RevenueCube.Dimension.HOST, RevenueCube.Dimension.LOCATION),
+                RevenueCube.Dimension.parseAll(" Host, city "));
+        assertEquals(new ArrayList<>(), cube.revenue(none, RevenueCube.Granularity.DAY, DAY, DAY));
+    }
+
+    private void addCar(long id, User owner, String location, String type) {
+        Car car = new Car();
+        car.setId(id);
+        car.setOwner(owner);
+        car.setLocation(location);
+        car.setType(type);
+        cube.onCarEvent(CarEvent.added(car));
+    }
+
+    private void pay(long carId, LocalDate bookedOn, double total, int days) {
+        cube.onBookingEvent(event(carId, bookedOn, total, days, null, BookingStatus.CONFIRMED));
+    }
+
+    private static BookingEvent event(long carId, LocalDate bookedOn, double total, int days,
+                                      BookingStatus previous, BookingStatus status) {
+        LocalDate start = bookedOn.plusDays(10);
+        return new BookingEvent(BookingEvent.Type.STATUS_CHANGED, 1L, carId,
+                start, start.plusDays(days - 1), previous, status, total, bookedOn);
+    }
+
+    private static User host(long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+}
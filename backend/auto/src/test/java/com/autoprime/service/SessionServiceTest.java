@@ -0,0 +1,143 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.AuthResponse;
+import com.autoprime.dto.ChangePasswordRequest;
+import com.autoprime.dto.LoginRequest;
+import com.autoprime.model.Role;
+import com.autoprime.model.User;
+import com.autoprime.repository.UserRepository;
+import com.autoprime.util.JwtPrincipal;
+import com.autoprime.util.JwtVerifier;
+import com.autoprime.util.PasswordHasher;
+import com.autoprime.util.RevocationList;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SessionServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    private AuthResponse login(String email) {
+        userRepository.save(new User("Session User", email, passwordHasher.encode("s3cret!"), "9876500040",
+                null, null, Role.USER));
+        return authService.login(new LoginRequest(email, "s3cret!"));
+    }
+
+    @Test
+    void refreshTokensRotateAndAReusedOneEndsTheSession() {
+        AuthResponse first = login("rotate@test.dev");
+        assertNotNull(first.getRefreshToken());
+
+        AuthResponse second = authService.refresh(first.getRefreshToken());
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+        assertEquals("rotate@test.dev", jwtVerifier.verify(second.getToken()).email());
+
+        // The first token again: someone else has a copy, so its successor is revoked too
+        assertThrows(RuntimeException.class, () -> authService.refresh(first.getRefreshToken()));
+        assertThrows(RuntimeException.class, () -> authService.refresh(second.getRefreshToken()));
+        assertThrows(RuntimeException.class, () -> authService.refresh("unknown"));
+    }
+
+    @Test
+    void logoutRevokesTheAccessAndRefreshToken() {
+        AuthResponse session = login("logout@test.dev");
+        JwtPrincipal principal = jwtVerifier.verify(session.getToken());
+
+        authService.logout(principal, session.getRefreshToken());
+
+        JwtException e = assertThrows(JwtException.class, () -> jwtVerifier.verify(session.getToken()));
+        assertEquals("Token revoked", e.getMessage());
+        assertThrows(RuntimeException.class, () -> authService.refresh(session.getRefreshToken()));
+    }
+
+    @Test
+    void changingThePasswordEndsEverySession() throws Exception {
+        AuthResponse phone = login("password@test.dev");
+        AuthResponse laptop = authService.login(new LoginRequest("password@test.dev", "s3cret!"));
+        JwtPrincipal principal = jwtVerifier.verify(laptop.getToken());
+        jwtVerifier.verify(phone.getToken());
+        untilTheNextSecond();
+
+        assertThrows(RuntimeException.class, () -> authService.changePassword(principal,
+                new ChangePasswordRequest("wrong", "n3w-s3cret")));
+        assertThrows(RuntimeException.class, () -> authService.changePassword(principal,
+                new ChangePasswordRequest("s3cret!", "short")));
+
+        AuthResponse changed = authService.changePassword(principal, new ChangePasswordRequest("s3cret!", "n3w-s3cret"));
+
+        assertThrows(JwtException.class, () -> jwtVerifier.verify(laptop.getToken()));
+        // Another device's access token, cached as verified a moment ago
+        JwtException e = assertThrows(JwtException.class, () -> jwtVerifier.verify(phone.getToken()));
+        assertEquals("Token revoked", e.getMessage());
+        assertEquals("password@test.dev", jwtVerifier.verify(changed.getToken()).email());
+        assertThrows(RuntimeException.class, () -> authService.refresh(phone.getRefreshToken()));
+        assertThrows(RuntimeException.class, () -> authService.refresh(laptop.getRefreshToken()));
+        assertNotNull(authService.refresh(changed.getRefreshToken()).getToken());
+        assertNotNull(authService.login(new LoginRequest("password@test.dev", "n3w-s3cret")).getToken());
+    }
+
+    @Test
+    void aPasswordChangeRefusesOldAccessTokensAfterARestart() throws Exception {
+        AuthResponse session = login("cutoff@test.dev");
+        JwtPrincipal principal = jwtVerifier.verify(session.getToken());
+        untilTheNextSecond();
+        AuthResponse changed = authService.changePassword(principal, new ChangePasswordRequest("s3cret!", "n3w-s3cret"));
+        AuthResponse other = authService.login(new LoginRequest("cutoff@test.dev", "n3w-s3cret"));
+
+        // What a fresh instance starts with
+        ((Map<?, ?>) ReflectionTestUtils.getField(revocationList, "notBefore")).clear();
+        jwtVerifier.invalidateAll();
+        revocationList.replaceAll(List.of());
+
+        sessionService.reload();
+        assertTrue(revocationList.isRevoked(principal));
+        assertThrows(JwtException.class, () -> jwtVerifier.verify(session.getToken()));
+        assertEquals(principal.userId(), jwtVerifier.verify(changed.getToken()).userId());
+        assertEquals(principal.userId(), jwtVerifier.verify(other.getToken()).userId());
+    }
+
+    @Test
+    void revocationsSurviveARestart() {
+        AuthResponse session = login("restart@test.dev");
+        JwtPrincipal principal = jwtVerifier.verify(session.getToken());
+        sessionService.revokeAccessToken(principal);
+
+        // What a fresh instance starts with
+        revocationList.replaceAll(List.of());
+        assertFalse(revocationList.isRevoked(principal.tokenId()));
+
+        sessionService.reload();
+        assertTrue(revocationList.isRevoked(principal.tokenId()));
+        assertThrows(JwtException.class, () -> jwtVerifier.verify(session.getToken()));
+    }
+
+    // Token issue times are whole seconds
+    private static void untilTheNextSecond() throws InterruptedException {
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+    }
+}
@@ -0,0 +1,59 @@
+package com.autoprime.service;
+
+import com.autoprime.dto.RegisterRequest;
+import com.autoprime.model.Booking;
+import com.autoprime.model.Car;
+import com.autoprime.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+
+/**
+ * Users, cars and bookings for tests that go through the services, so
+ * their events and counters fire as in production. Add with
+ * {@code @Import(TestData.class)}.
+ */
+@TestComponent
+public class TestData {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Sign up a user the way the API does, returning their id
+     */
+    public Long register(String name, String email, String role) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setPassword("secret123");
+        request.setPhone("9876500001");
+        request.setRole(role);
+        authService.register(request);
+        return userRepository.findByEmail(email).orElseThrow().getId();
+    }
+
+    public static Car car(String name) {
+        Car car = new Car();
+        car.setName(name);
+        car.setType("Sedan");
+        car.setTransmission("Manual");
+        car.setSeats(5);
+        car.setPricePerDay(1999.99);
+        return car;
+    }
+
+    /**
+     * A two-night booking starting daysAhead from today
+     */
+    public static Booking booking(int daysAhead) {
+        Booking booking = new Booking();
+        booking.setStartDate(LocalDate.now().plusDays(daysAhead));
+        booking.setEndDate(LocalDate.now().plusDays(daysAhead + 2));
+        return booking;
+    }
+}
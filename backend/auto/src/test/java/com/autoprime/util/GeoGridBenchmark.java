@@ -0,0 +1,48 @@
+package com.autoprime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Radius queries over 100k cars clustered around twelve cities. Not part
+ * of the default build; run with: mvn test -Dtest=GeoGridBenchmark
+ */
+class GeoGridBenchmark {
+
+    private static final int CARS = 100_000;
+
+    // Chennai, Mumbai, Delhi, Bengaluru, Pune, Hyderabad, Kolkata, Ahmedabad, Jaipur, Kochi, Coimbatore, Lucknow
+    private static final double[][] CITIES = { { 13.08, 80.27 }, { 19.08, 72.88 }, { 28.61, 77.21 },
+            { 12.97, 77.59 }, { 18.52, 73.86 }, { 17.39, 78.49 }, { 22.57, 88.36 }, { 23.02, 72.57 },
+            { 26.91, 75.79 }, { 9.93, 76.27 }, { 11.02, 76.96 }, { 26.85, 80.95 } };
+
+    @Test
+    void radiusQueryLatencyAt100kCars() {
+        GeoGrid grid = new GeoGrid(0.05);
+        Random random = new Random(19);
+        for (long id = 1; id <= CARS; id++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            // Spread over roughly 30 km around the centre
+            grid.put(id, city[0] + random.nextGaussian() * 0.15, city[1] + random.nextGaussian() * 0.15);
+        }
+
+        for (double radiusKm : new double[] { 2, 10, 25, 50 }) {
+            int rounds = 2000;
+            long[] nanos = new long[rounds];
+            int hits = 0;
+            for (int i = 0; i < rounds; i++) {
+                double[] city = CITIES[i % CITIES.length];
+                long start = System.nanoTime();
+                hits += grid.within(city[0] + 0.01, city[1] - 0.01, radiusKm).size();
+                nanos[i] = System.nanoTime() - start;
+            }
+            // Discard the first half as warm-up
+            long[] measured = Arrays.copyOfRange(nanos, rounds / 2, rounds);
+            Arrays.sort(measured);
+            System.out.printf("GeoGrid %.0f km: p50 %.3f ms, p99 %.3f ms (%d hits per query)%n", radiusKm,
+                    measured[measured.length / 2] / 1e6, measured[measured.length * 99 / 100] / 1e6, hits / rounds);
+        }
+    }
+}
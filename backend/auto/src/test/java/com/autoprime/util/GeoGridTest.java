@@ -0,0 +1,57 @@
+package com.autoprime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+
+    private static List<Long> ids(List<GeoGrid.Hit> hits) {
+        return hits.stream().map(GeoGrid.Hit::id).toList();
+    }
+
+    @Test
+    void findsPointsInsideTheRadiusNearestFirst() {
+        GeoGrid grid = new GeoGrid(0.05);
+        grid.put(1, 13.0827, 80.2707);   // Chennai Central
+        grid.put(2, 12.9941, 80.1709);   // Chennai airport, ~14.5 km
+        grid.put(3, 12.9716, 77.5946);   // Bengaluru, ~290 km
+        grid.put(4, 13.0604, 80.2496);   // T. Nagar, ~3.3 km
+
+        assertEquals(290, GeoGrid.distanceKm(13.0827, 80.2707, 12.9716, 77.5946), 5);
+        assertEquals(List.of(1L, 4L), ids(grid.within(13.0827, 80.2707, 5)));
+        assertEquals(List.of(1L, 4L, 2L), ids(grid.within(13.0827, 80.2707, 20)));
+        assertEquals(List.of(4L, 1L, 2L, 3L), ids(grid.within(13.06, 80.25, 300)));
+        assertEquals(0.0, grid.within(13.0827, 80.2707, 1).get(0).distanceKm(), 1e-9);
+    }
+
+    @Test
+    void movesAndRemovesPoints() {
+        GeoGrid grid = new GeoGrid(0.05);
+        grid.put(1, 19.0760, 72.8777);
+        grid.put(2, 19.0760, 72.8777);
+        grid.put(1, 28.6139, 77.2090);
+
+        assertEquals(2, grid.size());
+        assertEquals(List.of(2L), ids(grid.within(19.0760, 72.8777, 10)));
+        assertEquals(List.of(1L), ids(grid.within(28.6139, 77.2090, 10)));
+        assertTrue(grid.remove(1));
+        assertFalse(grid.remove(1));
+        assertEquals(List.of(), ids(grid.within(28.6139, 77.2090, 10)));
+    }
+
+    @Test
+    void wrapsAroundTheAntimeridianAndThePoles() {
+        GeoGrid grid = new GeoGrid(0.05);
+        grid.put(1, -17.7, 179.99);
+        grid.put(2, -17.7, -179.99);
+        grid.put(3, 89.99, 0);
+        grid.put(4, 89.99, 180);
+
+        assertEquals(List.of(1L, 2L), ids(grid.within(-17.7, 179.99, 5)));
+        assertEquals(List.of(2L, 1L), ids(grid.within(-17.7, -179.995, 5)));
+        assertEquals(List.of(3L, 4L), ids(grid.within(90, 0, 5)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.autoprime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void findsOverlapsOnClosedRanges() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 10, 12);
+        tree.put(2, 20, 25);
+
+        assertEquals(1, tree.findOverlap(12, 15));
+        assertEquals(2, tree.findOverlap(18, 20));
+        assertEquals(-1, tree.findOverlap(13, 19));
+        assertEquals(-1, tree.findOverlap(26, 30));
+    }
+
+    @Test
+    void findsNestedIntervalsBehindShorterOnes() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 1, 100);
+        tree.put(2, 5, 6);
+        tree.put(3, 60, 61);
+
+        assertEquals(1, tree.findOverlap(50, 50));
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Long, int[]> expected = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id) != null, tree.remove(id));
+            } else {
+                int start = random.nextInt(2_000);
+                int end = start + random.nextInt(30);
+                tree.put(id, start, end);
+                expected.put(id, new int[] { start, end });
+            }
+
+            int queryStart = random.nextInt(2_000);
+            int queryEnd = queryStart + random.nextInt(15);
+            boolean overlaps = expected.values().stream()
+                    .anyMatch(r -> r[0] <= queryEnd && r[1] >= queryStart);
+            long found = tree.findOverlap(queryStart, queryEnd);
+            assertEquals(overlaps, found >= 0);
+            if (found >= 0) {
+                int[] range = expected.get(found);
+                assertTrue(range[0] <= queryEnd && range[1] >= queryStart);
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.autoprime.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verifications per second: as JwtUtil used to do them (a fresh key
+ * and parser per parse, four parses for validity, email and role), one
+ * parse with the shared parser, and JwtVerifier over 1000 live tokens.
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.autoprime.util.JwtBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "AutoPrimeSecretKeyForJWTTokenGeneration2025";
+
+    private static final int TOKENS = 1000;
+
+    private JwtUtil jwtUtil;
+    private JwtVerifier verifier;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = JwtVerifierTest.jwtUtil(SECRET, 86_400_000);
+        verifier = JwtVerifierTest.verifier(jwtUtil, 10_000);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken((long) i, "user" + i + "@test.dev", "USER");
+        }
+    }
+
+    private String token() {
+        next = (next + 1) % TOKENS;
+        return tokens[next];
+    }
+
+    @Benchmark
+    public String perCallKeyFourParses() {
+        String token = token();
+        Claims claims = legacyClaims(token);
+        if (legacyClaims(token).getExpiration().before(new Date())) {
+            throw new IllegalStateException("expired");
+        }
+        return legacyClaims(token).getSubject() + legacyClaims(token).get("role", String.class) + claims.getId();
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public JwtPrincipal sharedParserOneParse() {
+        return jwtUtil.parse(token());
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedVerifier() {
+        return verifier.verify(token());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.autoprime.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private JwtUtil jwtUtil;
+    private JwtVerifier verifier;
+
+    static JwtUtil jwtUtil(String secret, long expirationMillis) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expirationMillis);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    static JwtVerifier verifier(JwtUtil jwtUtil, long maxSize) {
+        JwtVerifier verifier = new JwtVerifier();
+        ReflectionTestUtils.setField(verifier, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(verifier, "maxSize", maxSize);
+        ReflectionTestUtils.setField(verifier, "revocationList", new RevocationList());
+        verifier.init();
+        return verifier;
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil("AutoPrimeSecretKeyForJWTTokenGeneration2025", 60_000);
+        verifier = verifier(jwtUtil, 100);
+    }
+
+    @Test
+    void verifiesEachTokenOnceAndRemembersItsPrincipal() {
+        String token = jwtUtil.generateToken(7L, "host@test.dev", "HOST");
+
+        JwtPrincipal principal = verifier.verify(token);
+        assertEquals(7L, principal.userId());
+        assertEquals("host@test.dev", principal.email());
+        assertEquals("HOST", principal.role());
+        assertSame(principal, verifier.verify(token));
+        assertEquals(1, verifier.size());
+
+        assertEquals("host@test.dev", jwtUtil.extractEmail(token));
+        assertEquals("HOST", jwtUtil.extractRole(token));
+        assertTrue(jwtUtil.isTokenValid(token));
+    }
+
+    @Test
+    void rejectsForgedAndMalformedTokensWithoutCachingThem() {
+        String token = jwtUtil.generateToken(8L, "user@test.dev", "USER");
+        String forged = jwtUtil("AnotherSecretKeyThatIsLongEnoughForHmacSha256", 60_000)
+                .generateToken(8L, "user@test.dev", "ADMIN");
+        // Flip one character of the signature
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.charAt(token.length() - 2) == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThrows(JwtException.class, () -> verifier.verify(forged));
+        assertThrows(JwtException.class, () -> verifier.verify(tampered));
+        assertThrows(JwtException.class, () -> verifier.verify("not.a.token"));
+        assertThrows(JwtException.class, () -> verifier.verify(" "));
+        assertFalse(jwtUtil.isTokenValid(null));
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void cachedTokensStillExpireOnTime() {
+        String token = jwtUtil.generateToken(8L, "user@test.dev", "USER");
+        JwtPrincipal principal = verifier.verify(token);
+
+        verifier.clock = Clock.fixed(principal.expiresAt().minusMillis(1), ZoneOffset.UTC);
+        assertSame(principal, verifier.verify(token));
+        verifier.clock = Clock.fixed(principal.expiresAt(), ZoneOffset.UTC);
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token));
+        assertEquals(0, verifier.size());
+
+        JwtVerifier expired = verifier(jwtUtil("AutoPrimeSecretKeyForJWTTokenGeneration2025", 60_000), 100);
+        expired.clock = Clock.fixed(Instant.now().plus(Duration.ofHours(1)), ZoneOffset.UTC);
+        assertThrows(ExpiredJwtException.class, () -> expired.verify(token));
+        assertEquals(0, expired.size());
+    }
+
+    @Test
+    void refusesRevokedTokensEvenOnceCached() {
+        String token = jwtUtil.generateToken(8L, "user@test.dev", "USER");
+        String other = jwtUtil.generateToken(8L, "user@test.dev", "USER");
+        JwtPrincipal principal = verifier.verify(token);
+        assertNotEquals(principal.tokenId(), verifier.verify(other).tokenId());
+
+        ((RevocationList) ReflectionTestUtils.getField(verifier, "revocationList")).add(principal.tokenId());
+
+        JwtException e = assertThrows(JwtException.class, () -> verifier.verify(token));
+        assertEquals("Token revoked", e.getMessage());
+        assertEquals(8L, verifier.verify(other).userId());
+    }
+
+    @Test
+    void holdsAtMostMaxSizeTokens() {
+        JwtVerifier small = verifier(jwtUtil, 10);
+        for (int i = 0; i < 50; i++) {
+            small.verify(jwtUtil.generateToken((long) i, "user" + i + "@test.dev", "USER"));
+        }
+        assertTrue(small.size() <= 10);
+    }
+}
@@ -0,0 +1,103 @@
+package com.autoprime.util;
+
+import com.autoprime.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher hasher;
+
+    private PasswordHasher hasher(int strength, int threads, int queueCapacity, long timeoutMillis) {
+        PasswordHasher hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "meterRegistry", registry);
+        ReflectionTestUtils.setField(hasher, "strength", strength);
+        ReflectionTestUtils.setField(hasher, "threads", threads);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(hasher, "timeoutMillis", timeoutMillis);
+        hasher.init();
+        return hasher;
+    }
+
+    // Occupy one worker or queue slot until release opens
+    private void block(PasswordHasher hasher) {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "pool");
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.stop();
+    }
+
+    @Test
+    void hashesAtTheConfiguredCostAndFlagsOthersForRehash() {
+        hasher = hasher(5, 1, 4, 5000);
+
+        String hash = hasher.encode("s3cret!");
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(hasher.matches("s3cret!", hash));
+        assertFalse(hasher.matches("S3cret!", hash));
+        assertFalse(hasher.needsRehash(hash));
+
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("s3cret!")));
+        assertTrue(hasher.needsRehash("$2b$12$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234"));
+        assertFalse(hasher.needsRehash("plain-text"));
+        assertFalse(hasher.needsRehash(null));
+
+        assertEquals(1, registry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("auth.password.hash").tag("operation", "match").timer().count());
+        assertEquals(3, registry.get("auth.password.queue.wait").timer().count());
+    }
+
+    @Test
+    void turnsCallersAwayOnceTheQueueIsFull() throws InterruptedException {
+        hasher = hasher(4, 1, 1, 5000);
+        block(hasher);
+        block(hasher);
+
+        long began = System.nanoTime();
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> hasher.encode("s3cret!"));
+        // Rejected without waiting for a worker
+        assertTrue(System.nanoTime() - began < 1_000_000_000L);
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertEquals(1, registry.get("auth.password.queue.depth").gauge().value());
+        assertEquals(1, registry.get("auth.password.rejected").counter().count());
+
+        release.countDown();
+        // Once the blocked tasks have drained, callers are served again
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "pool");
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while ((!pool.getQueue().isEmpty() || pool.getActiveCount() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(hasher.matches("s3cret!", hasher.encode("s3cret!")));
+    }
+
+    @Test
+    void givesUpOnAHashThatWaitsTooLong() {
+        hasher = hasher(4, 1, 4, 50);
+        block(hasher);
+
+        assertThrows(TooManyRequestsException.class, () -> hasher.matches("s3cret!", "$2a$04$unused"));
+        assertEquals(1, registry.get("auth.password.rejected").counter().count());
+    }
+}
@@ -0,0 +1,84 @@
+package com.autoprime.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day-by-day pricing (as PriceCalculator used to do it) against PricingEngine.
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.autoprime.util.PricingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({ "1", "7", "30", "365" })
+    public int days;
+
+    private LocalDate start;
+    private LocalDate end;
+
+    @Setup
+    public void setUp() {
+        start = LocalDate.of(2025, 3, 5);
+        end = start.plusDays(days - 1);
+    }
+
+    @Benchmark
+    public Map<String, Object> dayByDay() {
+        Map<String, Object> result = new HashMap<>();
+        long count = ChronoUnit.DAYS.between(start, end) + 1;
+        result.put("days", count);
+        double subtotal = 0.0;
+        LocalDate current = start;
+        while (!current.isAfter(end)) {
+            double dayPrice = 3500.0;
+            DayOfWeek dayOfWeek = current.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                dayPrice += 500.0;
+            }
+            subtotal += dayPrice;
+            current = current.plusDays(1);
+        }
+        result.put("subtotal", subtotal);
+        double discount = count >= 7 ? subtotal * 0.10 : 0.0;
+        result.put("discount", discount);
+        double afterDiscount = subtotal - discount;
+        result.put("afterDiscount", afterDiscount);
+        double gst = afterDiscount * 0.18;
+        result.put("gst", gst);
+        result.put("total", afterDiscount + gst);
+        return result;
+    }
+
+    @Benchmark
+    public PriceQuote closedForm() {
+        return PricingEngine.quote(3500.0, 500.0, start.toEpochDay(), end.toEpochDay());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PricingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
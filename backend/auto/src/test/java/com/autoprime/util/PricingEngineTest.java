@@ -0,0 +1,69 @@
+package com.autoprime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingEngineTest {
+
+    @Test
+    void countsWeekendDaysLikeADayByDayWalk() {
+        LocalDate base = LocalDate.of(2024, 12, 20);
+        for (int offset = 0; offset < 21; offset++) {
+            for (int length = 0; length < 400; length++) {
+                LocalDate start = base.plusDays(offset);
+                LocalDate end = start.plusDays(length);
+                int expected = 0;
+                for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                    if (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, PricingEngine.weekendDays(start.toEpochDay(), end.toEpochDay()),
+                        () -> start + ".." + end);
+            }
+        }
+    }
+
+    @Test
+    void quotesAWeekWithDiscountAndGst() {
+        // Mon 2025-03-03 .. Sun 2025-03-09
+        PriceQuote quote = PricingEngine.quote(1000, 200,
+                LocalDate.of(2025, 3, 3).toEpochDay(), LocalDate.of(2025, 3, 9).toEpochDay());
+
+        assertEquals(7, quote.days());
+        assertEquals(2, quote.weekendDays());
+        assertEquals(7400, quote.subtotal(), 1e-9);
+        assertEquals(740, quote.discount(), 1e-9);
+        assertEquals(6660 * 0.18, quote.gst(), 1e-9);
+        assertEquals(6660 * 1.18, quote.total(), 1e-9);
+    }
+
+    @Test
+    void shortStaysHaveNoDiscount() {
+        PriceQuote quote = PricingEngine.quote(1500, 300,
+                LocalDate.of(2025, 3, 7).toEpochDay(), LocalDate.of(2025, 3, 8).toEpochDay());
+
+        assertEquals(2, quote.days());
+        assertEquals(1, quote.weekendDays());
+        assertEquals(0, quote.discount());
+        assertEquals(3300, quote.subtotal(), 1e-9);
+    }
+
+    @Test
+    void bulkQuotesMatchSingleQuotes() {
+        double[] prices = { 1500, 3500, 4200 };
+        double[] extras = { 300, 500, 0 };
+        long start = LocalDate.of(2025, 3, 1).toEpochDay();
+        long end = LocalDate.of(2025, 3, 12).toEpochDay();
+
+        PriceQuote[] quotes = PricingEngine.quoteAll(prices, extras, start, end);
+
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(PricingEngine.quote(prices[i], extras[i], start, end), quotes[i]);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.autoprime.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimiter.acquire calls per second across 64 threads: all on one
+ * client's bucket (every compare-and-set contended), spread over 10000
+ * clients, and on a path no rule matches. Throughput rather than average
+ * time, since with more threads than cores the latter mostly measures
+ * waiting for a core.
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.autoprime.util.RateLimiterBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimiter limiter;
+    private String[] clients;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = (int) (Thread.currentThread().getId() * 7919 % CLIENTS);
+    }
+
+    @Setup
+    public void setUp() {
+        limiter = RateLimiterTest.rateLimiter(new SimpleMeterRegistry(),
+                "POST /api/auth/login 10/1m burst=5", "GET /api/cars/search/** 1000000/1s");
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long oneClient() {
+        return limiter.acquire("GET", "/api/cars/search", clients[0]);
+    }
+
+    @Benchmark
+    public long manyClients(Cursor cursor) {
+        cursor.next = (cursor.next + 1) % CLIENTS;
+        return limiter.acquire("GET", "/api/cars/search", clients[cursor.next]);
+    }
+
+    @Benchmark
+    public long unlimitedRoute() {
+        return limiter.acquire("GET", "/api/bookings", clients[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(RateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.autoprime.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+
+    static RateLimiter rateLimiter(MeterRegistry registry, String... rules) {
+        RateLimiter limiter = new RateLimiter();
+        ReflectionTestUtils.setField(limiter, "meterRegistry", registry);
+        ReflectionTestUtils.setField(limiter, "ruleSpecs", rules);
+        ReflectionTestUtils.setField(limiter, "maxClients", 100_000L);
+        limiter.init();
+        return limiter;
+    }
+
+    @Test
+    void allowsABurstThenRefillsAtTheConfiguredRate() {
+        RateLimiter limiter = rateLimiter(registry, "POST /api/auth/login 6/1m burst=3");
+        limiter.nanoClock = now::get;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("POST", "/api/auth/login", "10.0.0.1"));
+        }
+        long wait = limiter.acquire("POST", "/api/auth/login", "10.0.0.1");
+        assertEquals(TimeUnit.SECONDS.toNanos(10), wait);
+
+        // Another client, another bucket
+        assertEquals(0, limiter.acquire("POST", "/api/auth/login", "10.0.0.2"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, limiter.acquire("POST", "/api/auth/login", "10.0.0.1"));
+        assertTrue(limiter.acquire("POST", "/api/auth/login", "10.0.0.1") > 0);
+
+        // Refilled to the burst, never beyond it
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("POST", "/api/auth/login", "10.0.0.1"));
+        }
+        assertTrue(limiter.acquire("POST", "/api/auth/login", "10.0.0.1") > 0);
+        assertEquals(3.0, registry.get("http.server.requests.throttled").counter().count());
+    }
+
+    @Test
+    void matchesMethodAndPathOrPrefix() {
+        RateLimiter limiter = rateLimiter(registry, "GET /api/cars/search/** 1/1h", "* /api/contact 1/1h", " ");
+        limiter.nanoClock = now::get;
+        assertEquals(2, limiter.ruleCount());
+
+        assertEquals(0, limiter.acquire("GET", "/api/cars/search", "c"));
+        assertTrue(limiter.acquire("GET", "/api/cars/search/ranked", "c") > 0);
+        assertEquals(0, limiter.acquire("GET", "/api/cars/searching", "c"));
+        assertEquals(0, limiter.acquire("POST", "/api/cars/search", "c"));
+
+        assertEquals(0, limiter.acquire("PUT", "/api/contact", "c"));
+        assertTrue(limiter.acquire("POST", "/api/contact", "c") > 0);
+        assertEquals(0, limiter.acquire("GET", "/api/contact/1", "c"));
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter(registry, "POST /api/auth/login"));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter(registry, "POST /api/auth/login 10"));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter(registry, "POST /api/auth/login 0/1m"));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter(registry, "POST /api/auth/login 10/1m 5"));
+    }
+}
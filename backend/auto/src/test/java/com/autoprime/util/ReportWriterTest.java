@@ -0,0 +1,55 @@
+package com.autoprime.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportWriterTest {
+
+    record Row(Long id, String name, LocalDate day, Double amount) {
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void csvQuotesSpecialCharactersAndDefusesFormulas() throws Exception {
+        String csv = write(ReportFormat.CSV,
+                new Row(1L, "Plain", LocalDate.of(2026, 2, 1), 10.5),
+                new Row(2L, "Comma, \"quoted\"\nname", null, null),
+                new Row(3L, "=HYPERLINK(\"x\")", null, -4.0));
+
+        assertEquals("id,name,day,amount\r\n"
+                + "1,Plain,2026-02-01,10.5\r\n"
+                + "2,\"Comma, \"\"quoted\"\"\nname\",,\r\n"
+                + "3,\"'=HYPERLINK(\"\"x\"\")\",,-4.0\r\n", csv);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        String ndjson = write(ReportFormat.NDJSON,
+                new Row(1L, "Plain", LocalDate.of(2026, 2, 1), 10.5),
+                new Row(2L, "Line\nbreak", null, null));
+
+        assertEquals("{\"id\":1,\"name\":\"Plain\",\"day\":\"2026-02-01\",\"amount\":10.5}\n"
+                + "{\"id\":2,\"name\":\"Line\\nbreak\",\"day\":null,\"amount\":null}\n", ndjson);
+    }
+
+    private String write(ReportFormat format, Row... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportWriter writer = ReportWriter.open(format, Row.class, out, mapper);
+        for (Row row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.autoprime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationListTest {
+
+    @Test
+    void findsEveryRevokedIdAndNoOthers() {
+        RevocationList list = new RevocationList();
+        List<UUID> revoked = new ArrayList<>();
+        // Past the initial capacity, so the filter is rebuilt along the way
+        for (int i = 0; i < 5000; i++) {
+            UUID id = UUID.randomUUID();
+            revoked.add(id);
+            list.add(id);
+        }
+        list.add(revoked.get(0));
+
+        assertEquals(5000, list.size());
+        for (UUID id : revoked) {
+            assertTrue(list.isRevoked(id));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(list.isRevoked(UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    void replaceAllDropsIdsNotGiven() {
+        RevocationList list = new RevocationList();
+        UUID kept = UUID.randomUUID();
+        UUID dropped = UUID.randomUUID();
+        list.add(kept);
+        list.add(dropped);
+
+        list.replaceAll(List.of(kept));
+
+        assertEquals(1, list.size());
+        assertTrue(list.isRevoked(kept));
+        assertFalse(list.isRevoked(dropped));
+
+        list.replaceAll(List.of());
+        assertEquals(0, list.size());
+        assertFalse(list.isRevoked(kept));
+    }
+
+    @Test
+    void refusesTokensIssuedBeforeTheirUsersCutoff() {
+        RevocationList list = new RevocationList();
+        Instant cutoff = Instant.parse("2030-01-01T10:00:00Z");
+        list.revokeIssuedBefore(7L, cutoff);
+        // An older cutoff arriving late never moves it back
+        list.revokeIssuedBefore(7L, cutoff.minusSeconds(60));
+
+        assertTrue(list.isRevoked(principal(7L, cutoff.minusSeconds(1))));
+        assertFalse(list.isRevoked(principal(7L, cutoff)));
+        assertFalse(list.isRevoked(principal(8L, cutoff.minusSeconds(1))));
+
+        list.dropCutoffsBefore(cutoff.plusSeconds(1));
+        assertFalse(list.isRevoked(principal(7L, cutoff.minusSeconds(1))));
+    }
+
+    private static JwtPrincipal principal(Long userId, Instant issuedAt) {
+        return new JwtPrincipal(UUID.randomUUID(), userId, "user@test.dev", "USER", issuedAt,
+                issuedAt.plusSeconds(900));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        for (long i = 0; i < 10_000; i++) {
+            filter.put(i, ~i);
+        }
+        for (long i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(i, ~i));
+        }
+
+        int falsePositives = 0;
+        for (long i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(i, ~i)) {
+                falsePositives++;
+            }
+        }
+        // 0.1% expected; allow for variance
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,122 @@
+package com.autoprime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private static SearchIndex.Document car(long id, String name, String type, String location, String... features) {
+        List<SearchIndex.Field> fields = new ArrayList<>(List.of(
+                new SearchIndex.Field(name, 3f),
+                new SearchIndex.Field(type, 2f),
+                new SearchIndex.Field(location, 2f)));
+        for (String feature : features) {
+            fields.add(new SearchIndex.Field(feature, 1f));
+        }
+        return new SearchIndex.Document(id, fields, Map.of("type", type));
+    }
+
+    private static SearchIndex fleet() {
+        SearchIndex index = new SearchIndex("type");
+        index.put(car(1, "Hyundai Creta", "SUV", "Chennai", "Sunroof", "Reverse Camera"));
+        index.put(car(2, "Toyota Innova Crysta", "MPV", "Chennai", "Rear AC Vents"));
+        index.put(car(3, "Maruti Swift", "Hatchback", "Bengaluru", "Bluetooth"));
+        index.put(car(4, "Hyundai i20", "Hatchback", "Mumbai", "Sunroof"));
+        index.put(car(5, "Mahindra XUV700", "SUV", "Mumbai", "Sunroof", "Bluetooth"));
+        return index;
+    }
+
+    private static List<Long> ids(SearchIndex.Result result) {
+        return result.hits().stream().map(SearchIndex.Hit::id).toList();
+    }
+
+    @Test
+    void everyWordMustMatchAndNameMatchesOutrankFeatureMatches() {
+        SearchIndex index = fleet();
+
+        // Equal name matches: the shorter document ranks first
+        assertEquals(List.of(4L, 1L), ids(index.search("hyundai", 0, 10)));
+        assertEquals(List.of(4L), ids(index.search("Hyundai  mumbai", 0, 10)));
+        assertEquals(List.of(), ids(index.search("swift chennai", 0, 10)));
+
+        SearchIndex.Result sunroof = index.search("sunroof", 0, 10);
+        assertEquals(3, sunroof.total());
+        assertEquals(Map.of("SUV", 2, "Hatchback", 1), sunroof.facets().get("type"));
+
+        index.put(car(8, "Bluetooth Edition", "Sedan", "Pune"));
+        assertEquals(List.of(8L, 3L, 5L), ids(index.search("bluetooth", 0, 10)));
+    }
+
+    @Test
+    void matchesUnfinishedWordsAndTyposBelowExactMatches() {
+        SearchIndex index = fleet();
+
+        assertEquals(List.of(2L), ids(index.search("inno", 0, 10)));
+        assertEquals(List.of(5L), ids(index.search("mahindra", 0, 10)));
+        // One typo in a short word, two in a long one, and an adjacent swap
+        assertEquals(List.of(3L), ids(index.search("swfit", 0, 10)));
+        assertEquals(List.of(5L), ids(index.search("mahindar", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("bengalruu", 0, 10)));
+        // Too short to forgive
+        assertEquals(List.of(), ids(index.search("suw", 0, 10)));
+
+        // "crysta" is two edits away, too many for a five-letter word
+        assertEquals(List.of(1L), ids(index.search("creta", 0, 10)));
+        index.put(car(6, "Kia Carens", "MPV", "Pune"));
+        SearchIndex.Result carens = index.search("carens", 0, 10);
+        assertEquals(List.of(6L), ids(carens));
+        SearchIndex.Result unfinished = index.search("caren", 0, 10);
+        SearchIndex.Result typo = index.search("carnes", 0, 10);
+        assertEquals(List.of(6L), ids(unfinished));
+        assertEquals(List.of(6L), ids(typo));
+        assertTrue(unfinished.hits().get(0).score() < carens.hits().get(0).score());
+        assertTrue(typo.hits().get(0).score() < unfinished.hits().get(0).score());
+    }
+
+    @Test
+    void pagesFollowTheRankingAndTiesBreakById() {
+        SearchIndex index = new SearchIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.put(new SearchIndex.Document(id, List.of(new SearchIndex.Field("Sedan", 1f)), Map.of()));
+        }
+        SearchIndex.Result first = index.search("sedan", 0, 10);
+        SearchIndex.Result third = index.search("sedan", 20, 10);
+        assertEquals(25, first.total());
+        assertEquals(1L, first.hits().get(0).id());
+        assertEquals(List.of(21L, 22L, 23L, 24L, 25L), ids(third));
+        assertEquals(List.of(), ids(index.search("sedan", 30, 10)));
+    }
+
+    @Test
+    void replacingAndRemovingDocumentsUpdatesTermsAndFacets() {
+        SearchIndex index = fleet();
+
+        index.put(car(3, "Maruti Baleno", "Hatchback", "Bengaluru"));
+        assertEquals(List.of(), ids(index.search("swift", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("baleno", 0, 10)));
+
+        index.remove(1);
+        index.remove(1);
+        assertEquals(List.of(4L), ids(index.search("hyundai", 0, 10)));
+        assertEquals(Map.of("SUV", 1, "Hatchback", 1), index.search("sunroof", 0, 10).facets().get("type"));
+        assertEquals(4, index.size());
+
+        // Freed slots are reused without leaking the old document
+        index.put(car(7, "Tata Nexon", "SUV", "Delhi"));
+        assertEquals(List.of(7L), ids(index.search("nexon", 0, 10)));
+        assertEquals(List.of(), ids(index.search("creta", 0, 10)));
+    }
+
+    @Test
+    void tokenizesCaseAndAccentsAway() {
+        assertEquals(List.of("skoda", "octavia", "1", "5l", "tsi"), SearchIndex.tokenize("Škoda Octavia 1.5L-TSI"));
+        assertEquals(List.of(), SearchIndex.tokenize("  --  "));
+        assertEquals(1, SearchIndex.distance("swift", "swfit", 2));
+        assertEquals(3, SearchIndex.distance("swift", "baleno", 2));
+    }
+}
@@ -0,0 +1,64 @@
+package com.autoprime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void firesEachTimerOnItsDeadlineTickAcrossAllLevels() {
+        TimerWheel wheel = new TimerWheel(1000, 0);
+        Random random = new Random(3);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 0; id < 20_000; id++) {
+            // Up to ~12 days out, so timers pass through the third level
+            long deadline = 1000L * (1 + random.nextInt(1_000_000));
+            wheel.schedule(id, deadline);
+            deadlines.put(id, deadline);
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 1000; now <= 1000L * 1_000_001; now += 1000) {
+            long tickNow = now;
+            wheel.advance(now, id -> firedAt.put(id, tickNow));
+        }
+
+        assertEquals(deadlines, firedAt);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledAndRescheduledTimersFireOnlyOnce() {
+        TimerWheel wheel = new TimerWheel(1000, 0);
+        wheel.schedule(1, 5_000);
+        wheel.schedule(2, 5_000);
+        wheel.schedule(2, 90_000);
+        wheel.cancel(1);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(60_000, fired::add);
+        assertEquals(List.of(), fired);
+
+        wheel.advance(100_000, fired::add);
+        assertEquals(List.of(2L), fired);
+    }
+
+    @Test
+    void overdueTimersFireOnTheNextTick() {
+        TimerWheel wheel = new TimerWheel(1000, 50_000);
+        wheel.schedule(7, 10_000);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(50_999, fired::add);
+        assertEquals(List.of(), fired);
+        wheel.advance(51_000, fired::add);
+        assertEquals(List.of(7L), fired);
+    }
+}
@@ -7,7 +7,11 @@
 import { showLoader, hideLoader } from "../components/loader.js";
 import { showNotification } from "../ui/notifications.js";
 import { validateEmail, validatePhone } from "../base/validators.js";
-import { setAuthToken, setUserData } from "../base/storage.js";
+import {
+  setAuthToken,
+  saveRefreshToken,
+  setUserData,
+} from "../base/storage.js";
 import API_CONFIG from "../base/config.js";
 
 // DOM Elements
@@ -443,6 +447,7 @@ async function handleRegistration(e) {
     if (response.ok && data.success) {
       // Store auth token and user data
       setAuthToken(data.token);
+      saveRefreshToken(data.refreshToken);
       setUserData(data.user);
 
       // Show success notification
@@ -21,6 +21,7 @@ export const API_ENDPOINTS = {
   LOGIN: "/auth/login",
   REGISTER: "/auth/register",
   LOGOUT: "/auth/logout",
+  REFRESH_TOKEN: "/auth/refresh",
   FORGOT_PASSWORD: "/auth/forgot-password",
   RESET_PASSWORD: "/auth/reset-password",
 
@@ -80,6 +81,7 @@ export const API_ENDPOINTS = {
 // Storage Keys
 export const STORAGE_KEYS = {
   AUTH_TOKEN: "autoprime_auth_token",
+  REFRESH_TOKEN: "autoprime_refresh_token",
   USER_DATA: "autoprime_user_data",
   REMEMBER_ME: "autoprime_remember_me",
   SEARCH_PARAMS: "autoprime_search_params",
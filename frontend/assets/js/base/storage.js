@@ -186,6 +186,43 @@ export function removeAuthToken() {
   return true;
 }
 
+/**
+ * Save refresh token, alongside the auth token
+ */
+export function saveRefreshToken(token, remember = false) {
+  if (remember) {
+    return setLocalStorage(STORAGE_KEYS.REFRESH_TOKEN, token);
+  } else {
+    return setSessionStorage(STORAGE_KEYS.REFRESH_TOKEN, token);
+  }
+}
+
+/**
+ * Get refresh token
+ */
+export function getRefreshToken() {
+  return (
+    getLocalStorage(STORAGE_KEYS.REFRESH_TOKEN) ||
+    getSessionStorage(STORAGE_KEYS.REFRESH_TOKEN)
+  );
+}
+
+/**
+ * Remove refresh token
+ */
+export function removeRefreshToken() {
+  removeLocalStorage(STORAGE_KEYS.REFRESH_TOKEN);
+  removeSessionStorage(STORAGE_KEYS.REFRESH_TOKEN);
+  return true;
+}
+
+/**
+ * Whether the session was saved to outlast the browser (remember me)
+ */
+export function isSessionRemembered() {
+  return getLocalStorage(STORAGE_KEYS.REFRESH_TOKEN) !== null;
+}
+
 /**
  * Check if user is authenticated
  */
@@ -606,6 +643,10 @@ export default {
   saveAuthToken,
   getAuthToken,
   removeAuthToken,
+  saveRefreshToken,
+  getRefreshToken,
+  removeRefreshToken,
+  isSessionRemembered,
   isAuthenticated,
 
   // User
@@ -6,7 +6,15 @@
  */
 
 import { API_CONFIG, API_ENDPOINTS, ERROR_MESSAGES } from "../base/config.js";
-import { getAuthToken, removeAuthToken } from "../base/storage.js";
+import {
+  getAuthToken,
+  removeAuthToken,
+  saveAuthToken,
+  getRefreshToken,
+  saveRefreshToken,
+  removeRefreshToken,
+  isSessionRemembered,
+} from "../base/storage.js";
 import { replaceEndpointParams, getErrorMessage } from "../base/helpers.js";
 
 // ============================================================
@@ -136,19 +144,72 @@ function handleNetworkError(error) {
   };
 }
 
+// ============================================================
+// Token Refresh
+// ============================================================
+
+// Refresh tokens are single-use and the server ends the whole session when
+// one is presented twice, so concurrent 401s share a single refresh
+let refreshInFlight = null;
+
+/**
+ * Trade the refresh token for a new token pair; resolves to whether it worked
+ */
+function refreshAuthToken() {
+  if (!refreshInFlight) {
+    refreshInFlight = exchangeRefreshToken().finally(() => {
+      refreshInFlight = null;
+    });
+  }
+  return refreshInFlight;
+}
+
+async function exchangeRefreshToken() {
+  const refreshToken = getRefreshToken();
+  if (!refreshToken) {
+    return false;
+  }
+
+  try {
+    const response = await fetch(buildURL(API_ENDPOINTS.REFRESH_TOKEN), {
+      method: "POST",
+      headers: { ...API_CONFIG.HEADERS },
+      body: JSON.stringify({ refreshToken }),
+    });
+
+    if (!response.ok) {
+      // Expired or revoked: the user has to sign in again
+      removeRefreshToken();
+      return false;
+    }
+
+    const data = await response.json();
+    const remember = isSessionRemembered();
+    saveAuthToken(data.token, remember);
+    saveRefreshToken(data.refreshToken, remember);
+    return true;
+  } catch (error) {
+    console.error("Token refresh error:", error);
+    return false;
+  }
+}
+
 // ============================================================
 // Core Request Methods
 // ============================================================
 
 /**
- * Make HTTP request
+ * Make HTTP request; on 401 the token is refreshed once and the request retried
  */
 async function request(method, endpoint, body = null, customHeaders = {}) {
   try {
     const url = buildURL(endpoint);
-    const options = createRequestOptions(method, body, customHeaders);
+    let response = await fetch(url, createRequestOptions(method, body, customHeaders));
+
+    if (response.status === 401 && (await refreshAuthToken())) {
+      response = await fetch(url, createRequestOptions(method, body, customHeaders));
+    }
 
-    const response = await fetch(url, options);
     return await handleResponse(response);
   } catch (error) {
     return handleNetworkError(error);
@@ -226,8 +287,12 @@ export async function register(userData) {
  * Logout
  */
 export async function logout() {
-  const response = await post(API_ENDPOINTS.LOGOUT);
-  removeAuthToken(); // Always clear token
+  // The refresh token ends the session even once the access token has expired
+  const response = await post(API_ENDPOINTS.LOGOUT, {
+    refreshToken: getRefreshToken(),
+  });
+  removeAuthToken(); // Always clear tokens
+  removeRefreshToken();
   return response;
 }
 
@@ -67,6 +67,9 @@ class AuthService {
       if (data.token) {
         this.setToken(data.token);
       }
+      if (data.refreshToken) {
+        this.setRefreshToken(data.refreshToken);
+      }
       if (data.user) {
         this.setUser(data.user);
       }
@@ -107,6 +110,9 @@ class AuthService {
       if (data.token) {
         this.setToken(data.token);
       }
+      if (data.refreshToken) {
+        this.setRefreshToken(data.refreshToken);
+      }
       if (data.user) {
         this.setUser(data.user);
       }
@@ -131,6 +137,7 @@ class AuthService {
       const response = await fetch(`${this.baseURL}/logout`, {
         method: "POST",
         headers: this.getAuthHeaders(),
+        body: JSON.stringify({ refreshToken: this.getRefreshToken() }),
       });
 
       const data = await response.json();
@@ -163,7 +170,10 @@ class AuthService {
     try {
       const response = await fetch(`${this.baseURL}/refresh`, {
         method: "POST",
-        headers: this.getAuthHeaders(),
+        headers: {
+          "Content-Type": "application/json",
+        },
+        body: JSON.stringify({ refreshToken: this.getRefreshToken() }),
       });
 
       const data = await response.json();
@@ -172,9 +182,13 @@ class AuthService {
         throw new Error(data.message || "Token refresh failed");
       }
 
+      // The refresh token is single-use; the response carries its successor
       if (data.token) {
         this.setToken(data.token);
       }
+      if (data.refreshToken) {
+        this.setRefreshToken(data.refreshToken);
+      }
 
       return data;
     } catch (error) {
@@ -338,6 +352,31 @@ class AuthService {
     }
   }
 
+  /**
+   * Set refresh token
+   * @param {string} refreshToken - Single-use refresh token
+   */
+  setRefreshToken(refreshToken) {
+    try {
+      localStorage.setItem("refreshToken", refreshToken);
+    } catch (error) {
+      console.error("Error saving refresh token:", error);
+    }
+  }
+
+  /**
+   * Get refresh token
+   * @returns {string|null} Refresh token
+   */
+  getRefreshToken() {
+    try {
+      return localStorage.getItem("refreshToken");
+    } catch (error) {
+      console.error("Error getting refresh token:", error);
+      return null;
+    }
+  }
+
   /**
    * Set user data
    * @param {Object} user - User object
@@ -370,6 +409,7 @@ class AuthService {
   clearAuth() {
     try {
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
       localStorage.removeItem("user");
     } catch (error) {
       console.error("Error clearing auth:", error);